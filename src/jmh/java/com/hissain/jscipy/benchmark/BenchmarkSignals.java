@@ -0,0 +1,67 @@
+package com.hissain.jscipy.benchmark;
+
+import java.util.Random;
+
+/**
+ * Deterministic inputs shared by the benchmarks, so that runs against the
+ * stored baseline measure the same work.
+ */
+final class BenchmarkSignals {
+
+    static final double SAMPLE_RATE = 1000.0;
+
+    private BenchmarkSignals() {
+    }
+
+    /**
+     * Two tones plus white noise, seeded.
+     */
+    static double[] noisyTones(int n) {
+        Random random = new Random(1234);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            double t = i / SAMPLE_RATE;
+            x[i] = Math.sin(2 * Math.PI * 50 * t) + 0.5 * Math.sin(2 * Math.PI * 120 * t)
+                    + 0.2 * random.nextGaussian();
+        }
+        return x;
+    }
+
+    /**
+     * Second-order sections of an even-order Butterworth low-pass filter, by
+     * the bilinear transform with prewarping as in
+     * {@code scipy.signal.butter(order, cutoff, fs=SAMPLE_RATE, output='sos')}.
+     * Sections are in no particular order.
+     */
+    static double[][] butterSos(int order, double cutoff) {
+        double k = 2 * SAMPLE_RATE;
+        double wc = k * Math.tan(Math.PI * cutoff / SAMPLE_RATE);
+        double[][] sos = new double[order / 2][];
+        for (int i = 0; i < sos.length; i++) {
+            // Analog pole wc * exp(j * theta) in the left half-plane, mapped by z = (k + s) / (k - s)
+            double theta = Math.PI * (2 * i + order + 1) / (2 * order);
+            double re = wc * Math.cos(theta);
+            double im = wc * Math.sin(theta);
+            double den = (k - re) * (k - re) + im * im;
+            double zRe = ((k + re) * (k - re) - im * im) / den;
+            double zIm = 2 * k * im / den;
+            double a1 = -2 * zRe;
+            double a2 = zRe * zRe + zIm * zIm;
+            // Double zero at z = -1, scaled for unit gain at DC
+            double g = (1 + a1 + a2) / 4;
+            sos[i] = new double[] { g, 2 * g, g, 1, a1, a2 };
+        }
+        return sos;
+    }
+
+    /**
+     * Strictly increasing sample positions {@code 0, 1, ..., n - 1}.
+     */
+    static double[] ramp(int n) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i;
+        }
+        return x;
+    }
+}
@@ -0,0 +1,52 @@
+package com.hissain.jscipy.benchmark;
+
+import com.hissain.jscipy.Signal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Causal IIR filtering per design family and order. Bessel is left out as it
+ * has no causal facade.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CausalFilterBenchmark {
+
+    @Param({ "butter", "cheby1", "cheby2", "ellip" })
+    public String family;
+
+    @Param({ "2", "4", "8" })
+    public int order;
+
+    @Param({ "10000" })
+    public int n;
+
+    private double[] signal;
+
+    @Setup
+    public void setup() {
+        signal = BenchmarkSignals.noisyTones(n);
+    }
+
+    @Benchmark
+    public double[] lfilter() {
+        double fs = BenchmarkSignals.SAMPLE_RATE;
+        switch (family) {
+            case "butter":
+                return Signal.lfilter(signal, fs, 80.0, order);
+            case "cheby1":
+                return Signal.cheby1_lfilter(signal, fs, 80.0, order, 1.0);
+            case "cheby2":
+                return Signal.cheby2_lfilter(signal, fs, 80.0, order, 40.0);
+            case "ellip":
+                return Signal.ellip_lfilter(signal, fs, 80.0, order, 1.0, 40.0);
+            default:
+                throw new IllegalArgumentException("Unknown family: " + family);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.hissain.jscipy.benchmark;
+
+import com.hissain.jscipy.Signal;
+import com.hissain.jscipy.signal.ConvolutionMode;
+import com.hissain.jscipy.signal.filter.FIR;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Direct-form convolution and correlation in one and two dimensions, FIR
+ * design and the smoothing filters built on sliding windows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvolutionBenchmark {
+
+    @Param({ "1000", "20000" })
+    public int n;
+
+    @Param({ "15", "101" })
+    public int kernel;
+
+    private double[] signal;
+    private double[] taps;
+    private float[] singleSignal;
+    private float[] singleTaps;
+    private double[][] image;
+    private double[][] smoothing;
+
+    @Setup
+    public void setup() {
+        signal = BenchmarkSignals.noisyTones(n);
+        taps = Signal.firwin_lowpass(kernel, 80.0, BenchmarkSignals.SAMPLE_RATE);
+        singleSignal = toFloat(signal);
+        singleTaps = toFloat(taps);
+        int side = (int) Math.sqrt(n);
+        image = new double[side][side];
+        for (int i = 0; i < side; i++) {
+            System.arraycopy(signal, i * side, image[i], 0, side);
+        }
+        // Outer product of the taps' first few values, a small separable kernel
+        int k = Math.min(kernel, 7);
+        smoothing = new double[k][k];
+        for (int i = 0; i < k; i++) {
+            for (int j = 0; j < k; j++) {
+                smoothing[i][j] = taps[kernel / 2 - k / 2 + i] * taps[kernel / 2 - k / 2 + j];
+            }
+        }
+    }
+
+    @Benchmark
+    public double[] convolve() {
+        return Signal.convolve(signal, taps, ConvolutionMode.SAME);
+    }
+
+    @Benchmark
+    public float[] convolveFloat() {
+        return Signal.convolve(singleSignal, singleTaps, ConvolutionMode.SAME);
+    }
+
+    @Benchmark
+    public double[] correlate() {
+        return Signal.correlate(signal, taps, ConvolutionMode.SAME);
+    }
+
+    @Benchmark
+    public double[][] convolve2d() {
+        return Signal.convolve2d(image, smoothing, ConvolutionMode.SAME);
+    }
+
+    @Benchmark
+    public double[][] correlate2d() {
+        return Signal.correlate2d(image, smoothing, ConvolutionMode.SAME);
+    }
+
+    @Benchmark
+    public double[] firwin() {
+        return Signal.firwin_lowpass(kernel, 80.0, BenchmarkSignals.SAMPLE_RATE);
+    }
+
+    @Benchmark
+    public double[] firwinHighpass() {
+        return Signal.firwin_highpass(kernel, 80.0, BenchmarkSignals.SAMPLE_RATE);
+    }
+
+    @Benchmark
+    public double[] firwinBandpass() {
+        return Signal.firwin_bandpass(kernel, 100.0, 140.0, BenchmarkSignals.SAMPLE_RATE);
+    }
+
+    @Benchmark
+    public double[] firwinBandstop() {
+        return Signal.firwin_bandstop(kernel, 100.0, 140.0, BenchmarkSignals.SAMPLE_RATE);
+    }
+
+    @Benchmark
+    public double[] firwinMultiband() {
+        return Signal.firwin(kernel, new double[] { 50.0, 100.0, 200.0 }, BenchmarkSignals.SAMPLE_RATE, true);
+    }
+
+    @Benchmark
+    public double[] remez() {
+        return Signal.remez(kernel, new double[] { 0, 80.0, 120.0, 500.0 }, new double[] { 1, 0 }, null,
+                BenchmarkSignals.SAMPLE_RATE);
+    }
+
+    @Benchmark
+    public double[] firls() {
+        return Signal.firls(kernel, new double[] { 0, 80.0, 120.0, 500.0 }, new double[] { 1, 1, 0, 0 }, null,
+                BenchmarkSignals.SAMPLE_RATE);
+    }
+
+    @Benchmark
+    public FIR.KaiserOrder kaiserord() {
+        return Signal.kaiserord(60.0, 40.0 / kernel);
+    }
+
+    @Benchmark
+    public double[] medfilt() {
+        return Signal.medfilt(signal, kernel);
+    }
+
+    @Benchmark
+    public double[] savgol() {
+        return Signal.savgol_filter(signal, kernel, 3);
+    }
+
+    @Benchmark
+    public double[] savgolDerivative() {
+        return Signal.savgol_filter(signal, kernel, 3, 1, 1.0 / BenchmarkSignals.SAMPLE_RATE);
+    }
+
+    @Benchmark
+    public double[] padSignal() {
+        return Signal.padSignal(signal, kernel);
+    }
+
+    private static float[] toFloat(double[] x) {
+        float[] out = new float[x.length];
+        for (int i = 0; i < x.length; i++) {
+            out[i] = (float) x[i];
+        }
+        return out;
+    }
+}
@@ -0,0 +1,119 @@
+package com.hissain.jscipy.benchmark;
+
+import com.hissain.jscipy.Signal;
+import com.hissain.jscipy.signal.JComplex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FFT family. Power-of-two sizes take the radix-2 path, the others the
+ * direct DFT fallback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FftBenchmark {
+
+    @Param({ "256", "4096", "65536", "1000", "3000" })
+    public int n;
+
+    private double[] signal;
+    private float[] single;
+    private JComplex[] spectrum;
+    private JComplex[] halfSpectrum;
+    private double[][] image;
+    private JComplex[][] imageSpectrum;
+    private double[] cosineSpectrum;
+
+    @Setup
+    public void setup() {
+        signal = BenchmarkSignals.noisyTones(n);
+        single = new float[n];
+        for (int i = 0; i < n; i++) {
+            single[i] = (float) signal[i];
+        }
+        spectrum = Signal.fft(signal);
+        halfSpectrum = Signal.rfft(signal);
+        int side = (int) Math.sqrt(Math.min(n, 4096));
+        image = new double[side][side];
+        for (int i = 0; i < side; i++) {
+            System.arraycopy(signal, i * side, image[i], 0, side);
+        }
+        imageSpectrum = Signal.fft2(image);
+        cosineSpectrum = Signal.dct(signal);
+    }
+
+    @Benchmark
+    public JComplex[] fft() {
+        return Signal.fft(signal);
+    }
+
+    @Benchmark
+    public JComplex[] ifft() {
+        return Signal.ifft(spectrum);
+    }
+
+    @Benchmark
+    public JComplex[] rfft() {
+        return Signal.rfft(signal);
+    }
+
+    @Benchmark
+    public JComplex[] rfftFloat() {
+        return Signal.rfft(single);
+    }
+
+    @Benchmark
+    public double[] irfft() {
+        return Signal.irfft(halfSpectrum, n);
+    }
+
+    @Benchmark
+    public JComplex[][] fft2() {
+        return Signal.fft2(image);
+    }
+
+    @Benchmark
+    public JComplex[][] ifft2() {
+        return Signal.ifft2(imageSpectrum);
+    }
+
+    @Benchmark
+    public JComplex[] hilbert() {
+        return Signal.hilbert(signal);
+    }
+
+    @Benchmark
+    public double[] envelope() {
+        return Signal.envelope(signal);
+    }
+
+    @Benchmark
+    public double[] instantaneousPhase() {
+        return Signal.instantaneous_phase(signal);
+    }
+
+    @Benchmark
+    public double[] instantaneousFrequency() {
+        return Signal.instantaneous_frequency(signal, BenchmarkSignals.SAMPLE_RATE);
+    }
+
+    @Benchmark
+    public double[] dct() {
+        return Signal.dct(signal);
+    }
+
+    @Benchmark
+    public double[] dctOrtho() {
+        return Signal.dct(signal, true);
+    }
+
+    @Benchmark
+    public double[] idct() {
+        return Signal.idct(cosineSpectrum);
+    }
+}
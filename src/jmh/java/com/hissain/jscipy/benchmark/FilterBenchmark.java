@@ -0,0 +1,111 @@
+package com.hissain.jscipy.benchmark;
+
+import com.hissain.jscipy.Signal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Zero-phase IIR filtering per design family, band type and order. Causal
+ * filtering is measured by {@link CausalFilterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark {
+
+    @Param({ "butter", "cheby1", "cheby2", "ellip", "bessel" })
+    public String family;
+
+    @Param({ "2", "4", "8" })
+    public int order;
+
+    @Param({ "10000" })
+    public int n;
+
+    private double[] signal;
+
+    @Setup
+    public void setup() {
+        signal = BenchmarkSignals.noisyTones(n);
+    }
+
+    @Benchmark
+    public double[] filtfilt() {
+        double fs = BenchmarkSignals.SAMPLE_RATE;
+        switch (family) {
+            case "butter":
+                return Signal.filtfilt(signal, fs, 80.0, order);
+            case "cheby1":
+                return Signal.cheby1_filtfilt(signal, fs, 80.0, order, 1.0);
+            case "cheby2":
+                return Signal.cheby2_filtfilt(signal, fs, 80.0, order, 40.0);
+            case "ellip":
+                return Signal.ellip_filtfilt(signal, fs, 80.0, order, 1.0, 40.0);
+            case "bessel":
+                return Signal.bessel_filtfilt(signal, fs, 80.0, order);
+            default:
+                throw new IllegalArgumentException("Unknown family: " + family);
+        }
+    }
+
+    @Benchmark
+    public double[] filtfiltHighpass() {
+        double fs = BenchmarkSignals.SAMPLE_RATE;
+        switch (family) {
+            case "butter":
+                return Signal.filtfilt_highpass(signal, fs, 80.0, order);
+            case "cheby1":
+                return Signal.cheby1_filtfilt_highpass(signal, fs, 80.0, order, 1.0);
+            case "cheby2":
+                return Signal.cheby2_filtfilt_highpass(signal, fs, 80.0, order, 40.0);
+            case "ellip":
+                return Signal.ellip_filtfilt_highpass(signal, fs, 80.0, order, 1.0, 40.0);
+            case "bessel":
+                return Signal.bessel_filtfilt_highpass(signal, fs, 80.0, order);
+            default:
+                throw new IllegalArgumentException("Unknown family: " + family);
+        }
+    }
+
+    @Benchmark
+    public double[] filtfiltBandpass() {
+        double fs = BenchmarkSignals.SAMPLE_RATE;
+        switch (family) {
+            case "butter":
+                return Signal.filtfilt_bandpass(signal, fs, 120.0, 40.0, order);
+            case "cheby1":
+                return Signal.cheby1_filtfilt_bandpass(signal, fs, 120.0, 40.0, order, 1.0);
+            case "cheby2":
+                return Signal.cheby2_filtfilt_bandpass(signal, fs, 120.0, 40.0, order, 40.0);
+            case "ellip":
+                return Signal.ellip_filtfilt_bandpass(signal, fs, 120.0, 40.0, order, 1.0, 40.0);
+            case "bessel":
+                return Signal.bessel_filtfilt_bandpass(signal, fs, 100.0, 140.0, order);
+            default:
+                throw new IllegalArgumentException("Unknown family: " + family);
+        }
+    }
+
+    @Benchmark
+    public double[] filtfiltBandstop() {
+        double fs = BenchmarkSignals.SAMPLE_RATE;
+        switch (family) {
+            case "butter":
+                return Signal.filtfilt_bandstop(signal, fs, 120.0, 40.0, order);
+            case "cheby1":
+                return Signal.cheby1_filtfilt_bandstop(signal, fs, 120.0, 40.0, order, 1.0);
+            case "cheby2":
+                return Signal.cheby2_filtfilt_bandstop(signal, fs, 120.0, 40.0, order, 40.0);
+            case "ellip":
+                return Signal.ellip_filtfilt_bandstop(signal, fs, 120.0, 40.0, order, 1.0, 40.0);
+            case "bessel":
+                return Signal.bessel_filtfilt_bandstop(signal, fs, 100.0, 140.0, order);
+            default:
+                throw new IllegalArgumentException("Unknown family: " + family);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.hissain.jscipy.benchmark;
+
+import com.hissain.jscipy.Math;
+import com.hissain.jscipy.math.GridInterpolationMethod;
+import com.hissain.jscipy.math.InterpolationKind;
+import com.hissain.jscipy.math.Interpolator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resampling, interpolation and polynomials from the {@link Math} facade.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MathBenchmark {
+
+    @Param({ "100", "1000" })
+    public int n;
+
+    private double[] x;
+    private double[] y;
+    private double[] newX;
+    private double[] poly;
+    private Interpolator fitted;
+    private double[][] grid;
+    private double[] gridValues;
+    private double[] gridPoints;
+
+    @Setup
+    public void setup() {
+        x = BenchmarkSignals.ramp(n);
+        y = BenchmarkSignals.noisyTones(n);
+        newX = new double[4 * n];
+        for (int i = 0; i < newX.length; i++) {
+            newX[i] = (n - 1) * (double) i / (newX.length - 1);
+        }
+        poly = new double[] { 1e-9, -2e-6, 3e-3, -0.5, 2.0 };
+        fitted = Math.interp1d(x, y, InterpolationKind.CUBIC);
+        // An n by 32 grid sampled at 4n scattered points
+        grid = new double[][] { x, BenchmarkSignals.ramp(32) };
+        gridValues = new double[n * 32];
+        for (int i = 0; i < gridValues.length; i++) {
+            gridValues[i] = y[i / 32] * (i % 32);
+        }
+        gridPoints = new double[2 * newX.length];
+        for (int i = 0; i < newX.length; i++) {
+            gridPoints[2 * i] = newX[i];
+            gridPoints[2 * i + 1] = 31.0 * (i % 97) / 96;
+        }
+    }
+
+    @Benchmark
+    public double[] resample() {
+        return Math.resample(y, 3 * n);
+    }
+
+    @Benchmark
+    public double[] interpLinear() {
+        return Math.interp1d_linear(x, y, newX);
+    }
+
+    @Benchmark
+    public double[] interpCubic() {
+        return Math.interp1d_cubic(x, y, newX);
+    }
+
+    @Benchmark
+    public double[] interpQuadratic() {
+        return Math.interp1d_quadratic(x, y, newX);
+    }
+
+    @Benchmark
+    public double[] interpBspline() {
+        return Math.interp1d_bspline(x, y, newX, 3);
+    }
+
+    @Benchmark
+    public Interpolator interp1dFit() {
+        return Math.interp1d(x, y, InterpolationKind.CUBIC);
+    }
+
+    @Benchmark
+    public double[] interp1dEvaluate() {
+        return fitted.evaluate(newX);
+    }
+
+    @Benchmark
+    public double[] interpnLinear() {
+        return Math.interpn(grid, gridValues, gridPoints, GridInterpolationMethod.LINEAR);
+    }
+
+    @Benchmark
+    public double[] interpnCubic() {
+        return Math.interpn(grid, gridValues, gridPoints, GridInterpolationMethod.CUBIC);
+    }
+
+    @Benchmark
+    public double[] polyfit() {
+        return Math.polyfit(x, y, 4);
+    }
+
+    @Benchmark
+    public double[] polyval() {
+        return Math.polyval(poly, newX);
+    }
+
+    @Benchmark
+    public double polyvalScalar() {
+        return Math.polyval(poly, 0.5 * n);
+    }
+
+    @Benchmark
+    public double[] polyder() {
+        return Math.polyder(poly);
+    }
+}
@@ -0,0 +1,136 @@
+package com.hissain.jscipy.benchmark;
+
+import com.hissain.jscipy.Signal;
+import com.hissain.jscipy.signal.filter.SosFilt;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Second-order section filtering. Multi-channel runs are parameterized over
+ * the channel count, the sample layout and the parallel flag; single-channel
+ * runs cover the lattice, float and block-parallel variants over a length.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SosBenchmark {
+
+    /** An 8th order low-pass, four sections. */
+    private static final double[][] SOS = BenchmarkSignals.butterSos(8, 80.0);
+
+    @State(Scope.Benchmark)
+    public static class Channels {
+
+        @Param({ "1", "8", "64" })
+        public int channels;
+
+        @Param({ "planar", "interleaved" })
+        public String layout;
+
+        @Param({ "false", "true" })
+        public boolean parallel;
+
+        @Param({ "10000" })
+        public int n;
+
+        private double[][] planar;
+        private double[] interleaved;
+
+        @Setup
+        public void setup() {
+            double[] signal = BenchmarkSignals.noisyTones(n);
+            planar = new double[channels][];
+            interleaved = new double[channels * n];
+            for (int c = 0; c < channels; c++) {
+                planar[c] = signal.clone();
+                for (int t = 0; t < n; t++) {
+                    interleaved[t * channels + c] = signal[t];
+                }
+            }
+        }
+
+        boolean isPlanar() {
+            switch (layout) {
+                case "planar":
+                    return true;
+                case "interleaved":
+                    return false;
+                default:
+                    throw new IllegalArgumentException("Unknown layout: " + layout);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Single {
+
+        @Param({ "10000", "1000000" })
+        public int n;
+
+        private double[] signal;
+        private float[] single;
+
+        @Setup
+        public void setup() {
+            signal = BenchmarkSignals.noisyTones(n);
+            single = new float[n];
+            for (int i = 0; i < n; i++) {
+                single[i] = (float) signal[i];
+            }
+        }
+    }
+
+    @Benchmark
+    public Object sosfiltChannels(Channels state) {
+        if (state.isPlanar()) {
+            return SosFilt.sosfilt(state.planar, SOS, state.parallel);
+        }
+        return SosFilt.sosfilt(state.interleaved, state.channels, SOS, state.parallel);
+    }
+
+    @Benchmark
+    public Object sosfiltfiltChannels(Channels state) {
+        if (state.isPlanar()) {
+            return SosFilt.sosfiltfilt(state.planar, SOS, state.parallel);
+        }
+        return SosFilt.sosfiltfilt(state.interleaved, state.channels, SOS, state.parallel);
+    }
+
+    @Benchmark
+    public double[] sosfilt(Single state) {
+        return Signal.sosfilt(state.signal, SOS);
+    }
+
+    @Benchmark
+    public float[] sosfiltFloat(Single state) {
+        return Signal.sosfilt(state.single, SOS);
+    }
+
+    @Benchmark
+    public double[] sosfiltLattice(Single state) {
+        return Signal.sosfilt_lattice(state.signal, SOS);
+    }
+
+    @Benchmark
+    public float[] sosfiltLatticeFloat(Single state) {
+        return SosFilt.sosfilt_lattice(state.single, SOS);
+    }
+
+    @Benchmark
+    public double[] sosfiltfilt(Single state) {
+        return Signal.sosfiltfilt(state.signal, SOS);
+    }
+
+    @Benchmark
+    public float[] sosfiltfiltFloat(Single state) {
+        return Signal.sosfiltfilt(state.single, SOS);
+    }
+
+    @Benchmark
+    public double[] sosfiltfiltParallel(Single state) {
+        return Signal.sosfiltfilt_parallel(state.signal, SOS, 1 << 16, 1e-12);
+    }
+}
@@ -0,0 +1,135 @@
+package com.hissain.jscipy.benchmark;
+
+import com.hissain.jscipy.Signal;
+import com.hissain.jscipy.signal.DetrendType;
+import com.hissain.jscipy.signal.FindPeaks;
+import com.hissain.jscipy.signal.JComplex;
+import com.hissain.jscipy.signal.fft.Periodogram;
+import com.hissain.jscipy.signal.fft.Spectrogram;
+import com.hissain.jscipy.signal.fft.Welch;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Segment-based spectral estimators and the time-domain helpers that feed
+ * them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpectralBenchmark {
+
+    @Param({ "4096", "65536" })
+    public int n;
+
+    private double[] signal;
+    private float[] single;
+    private JComplex[][] stftMatrix;
+    private int[] breakpoints;
+    private FindPeaks.PeakParams peakParams;
+    private int[] peaks;
+    private FindPeaks.ProminenceResult prominences;
+
+    @Setup
+    public void setup() {
+        signal = BenchmarkSignals.noisyTones(n);
+        single = new float[n];
+        for (int i = 0; i < n; i++) {
+            single[i] = (float) signal[i];
+        }
+        stftMatrix = Signal.stft(signal);
+        breakpoints = new int[] { n / 4, n / 2, 3 * n / 4 };
+        peakParams = new FindPeaks.PeakParams();
+        peakParams.height = 0.5;
+        peakParams.distance = 5;
+        peakParams.prominence = 0.2;
+        peakParams.width = 1.0;
+        peaks = Signal.find_peaks(signal);
+        prominences = Signal.peakProminences(signal, peaks);
+    }
+
+    @Benchmark
+    public Welch.WelchResult welch() {
+        return Signal.welch(signal, BenchmarkSignals.SAMPLE_RATE, 256);
+    }
+
+    @Benchmark
+    public Welch.WelchResult welchFloat() {
+        return Signal.welch(single, BenchmarkSignals.SAMPLE_RATE, 256);
+    }
+
+    @Benchmark
+    public Periodogram.PeriodogramResult periodogram() {
+        return Signal.periodogram(signal, BenchmarkSignals.SAMPLE_RATE);
+    }
+
+    @Benchmark
+    public Spectrogram.SpectrogramResult spectrogram() {
+        return Signal.spectrogram(signal, BenchmarkSignals.SAMPLE_RATE);
+    }
+
+    @Benchmark
+    public JComplex[][] stft() {
+        return Signal.stft(signal);
+    }
+
+    @Benchmark
+    public double[] istft() {
+        return Signal.istft(stftMatrix);
+    }
+
+    @Benchmark
+    public double[] detrend() {
+        return Signal.detrend(signal, DetrendType.LINEAR);
+    }
+
+    @Benchmark
+    public double[] detrendBreakpoints() {
+        return Signal.detrend(signal, DetrendType.LINEAR, breakpoints);
+    }
+
+    @Benchmark
+    public double[] detrendPolynomial() {
+        return Signal.detrend(signal, 3, breakpoints);
+    }
+
+    @Benchmark
+    public int[] findPeaks() {
+        return Signal.find_peaks(signal, 0.5, 5, 0.2);
+    }
+
+    @Benchmark
+    public int[] findPeaksUnconditioned() {
+        return Signal.find_peaks(signal);
+    }
+
+    @Benchmark
+    public FindPeaks.PeakResult findPeaksWithProperties() {
+        return Signal.find_peaks(signal, peakParams);
+    }
+
+    @Benchmark
+    public FindPeaks.PeakResult findPeaksParallel() {
+        return Signal.find_peaks_parallel(signal, peakParams, 1 << 14);
+    }
+
+    @Benchmark
+    public FindPeaks.ProminenceResult peakProminences() {
+        return Signal.peakProminences(signal, peaks, 101);
+    }
+
+    @Benchmark
+    public FindPeaks.WidthResult peakWidths() {
+        return Signal.peakWidths(signal, peaks, 0.5);
+    }
+
+    @Benchmark
+    public FindPeaks.WidthResult peakWidthsFromProminences() {
+        return Signal.peakWidths(signal, peaks, 0.5, prominences.prominences, prominences.leftBases,
+                prominences.rightBases, -1);
+    }
+}
@@ -0,0 +1,81 @@
+package com.hissain.jscipy.benchmark;
+
+import com.hissain.jscipy.Signal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Window functions and waveform generators.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WaveformBenchmark {
+
+    @Param({ "1000", "65536" })
+    public int n;
+
+    private double[] t;
+
+    @Setup
+    public void setup() {
+        t = BenchmarkSignals.ramp(n);
+        for (int i = 0; i < n; i++) {
+            t[i] /= BenchmarkSignals.SAMPLE_RATE;
+        }
+    }
+
+    @Benchmark
+    public double[] hanning() {
+        return Signal.hanning(n);
+    }
+
+    @Benchmark
+    public double[] hamming() {
+        return Signal.hamming(n, false);
+    }
+
+    @Benchmark
+    public double[] blackman() {
+        return Signal.blackman(n);
+    }
+
+    @Benchmark
+    public double[] kaiser() {
+        return Signal.kaiser(n, 8.6);
+    }
+
+    @Benchmark
+    public double[] chirp() {
+        return Signal.chirp(t, 10.0, t[n - 1], 200.0);
+    }
+
+    @Benchmark
+    public double[] chirpLogarithmic() {
+        return Signal.chirp(t, 10.0, t[n - 1], 200.0, "logarithmic");
+    }
+
+    @Benchmark
+    public double[] square() {
+        return Signal.square(t, 0.3);
+    }
+
+    @Benchmark
+    public double[] sawtooth() {
+        return Signal.sawtooth(t, 0.5);
+    }
+
+    @Benchmark
+    public double[] gausspulse() {
+        return Signal.gausspulse(t, 50.0, 0.5);
+    }
+
+    @Benchmark
+    public double[] unitImpulse() {
+        return Signal.unitImpulse(n, n / 2);
+    }
+}
@@ -1,8 +1,12 @@
 package com.hissain.jscipy;
 
+import com.hissain.jscipy.math.GridInterpolationMethod;
 import com.hissain.jscipy.math.Interpolation;
+import com.hissain.jscipy.math.InterpolationKind;
+import com.hissain.jscipy.math.Interpolator;
 import com.hissain.jscipy.math.Resample;
 import com.hissain.jscipy.math.Poly;
+import com.hissain.jscipy.math.RegularGridInterpolator;
 
 /**
  * A facade class providing static utility methods for mathematical operations.
@@ -75,6 +79,35 @@ public class Math {
         return new Interpolation().bspline(x, y, newX, k);
     }
 
+    /**
+     * Fits an interpolant to the given data points, like SciPy's interp1d
+     * returning a callable. The result can be evaluated, differentiated and
+     * integrated many times, and shared across threads.
+     *
+     * @param x    The x-coordinates of the data points.
+     * @param y    The y-coordinates of the data points.
+     * @param kind The kind of interpolant.
+     * @return The fitted interpolant.
+     */
+    public static Interpolator interp1d(double[] x, double[] y, InterpolationKind kind) {
+        return Interpolation.fit(x, y, kind);
+    }
+
+    /**
+     * Interpolates on a regular grid in any number of dimensions, like SciPy's
+     * interpn. To evaluate the same grid many times, build a
+     * {@link RegularGridInterpolator} once instead.
+     *
+     * @param grid   The grid points along each axis, each strictly increasing.
+     * @param values The values in row-major order, the last axis fastest.
+     * @param xi     The query points, d coordinates each, one after the other.
+     * @param method The interpolation method.
+     * @return The interpolated values, one per query point.
+     */
+    public static double[] interpn(double[][] grid, double[] values, double[] xi, GridInterpolationMethod method) {
+        return new RegularGridInterpolator(grid, values, method).evaluate(xi);
+    }
+
     // --- Polynomials ---
 
     /**
@@ -17,6 +17,7 @@ import com.hissain.jscipy.signal.filter.Chebyshev2;
 import com.hissain.jscipy.signal.filter.Elliptic;
 import com.hissain.jscipy.signal.fft.DCT;
 import com.hissain.jscipy.signal.fft.FFT;
+import com.hissain.jscipy.signal.fft.Hilbert;
 import com.hissain.jscipy.signal.fft.Spectrogram;
 import com.hissain.jscipy.signal.fft.Welch;
 import com.hissain.jscipy.signal.filter.SosFilt;
@@ -528,6 +529,45 @@ public class Signal {
         return FIR.firwin_bandstop(numtaps, low, high, fs);
     }
 
+    /**
+     * Design an equiripple FIR filter with the Parks-McClellan algorithm.
+     *
+     * @param numtaps The number of taps.
+     * @param bands   Band edges in Hz, pairs of (low, high).
+     * @param desired Desired gain in each band.
+     * @param weight  Relative weight of each band, or null for equal weights.
+     * @param fs      Sampling frequency (Hz).
+     * @return Filter coefficients.
+     */
+    public static double[] remez(int numtaps, double[] bands, double[] desired, double[] weight, double fs) {
+        return FIR.remez(numtaps, bands, desired, weight, fs);
+    }
+
+    /**
+     * Design a least-squares FIR filter for a piecewise-linear response.
+     *
+     * @param numtaps The number of taps (odd).
+     * @param bands   Band edges in Hz, pairs of (low, high).
+     * @param desired Desired gain at each band edge.
+     * @param weight  Relative weight of each band, or null for equal weights.
+     * @param fs      Sampling frequency (Hz).
+     * @return Filter coefficients.
+     */
+    public static double[] firls(int numtaps, double[] bands, double[] desired, double[] weight, double fs) {
+        return FIR.firls(numtaps, bands, desired, weight, fs);
+    }
+
+    /**
+     * Estimate the number of taps and Kaiser beta for a window-method design.
+     *
+     * @param ripple Attenuation in dB.
+     * @param width  Transition width normalized to the Nyquist frequency.
+     * @return The tap count and beta.
+     */
+    public static FIR.KaiserOrder kaiserord(double ripple, double width) {
+        return FIR.kaiserord(ripple, width);
+    }
+
     // --- SOS Filtering ---
 
     /**
@@ -542,6 +582,92 @@ public class Signal {
         return SosFilt.sosfilt(signal, sos);
     }
 
+    /**
+     * Filter single-precision data using cascaded second-order sections.
+     * Filter state is kept in double precision.
+     *
+     * @param signal The input signal.
+     * @param sos    Array of second-order sections of shape [n_sections][6].
+     * @return The filtered signal.
+     */
+    public static float[] sosfilt(float[] signal, double[][] sos) {
+        return SosFilt.sosfilt(signal, sos);
+    }
+
+    /**
+     * Filter data using cascaded second-order sections realized as
+     * lattice-ladder structures, which are robust for high-order cascades.
+     *
+     * @param signal The input signal.
+     * @param sos    Array of second-order sections of shape [n_sections][6].
+     * @return The filtered signal.
+     */
+    public static double[] sosfilt_lattice(double[] signal, double[][] sos) {
+        return SosFilt.sosfilt_lattice(signal, sos);
+    }
+
+    /**
+     * Filter several equal-length channels using the same second-order sections.
+     * Channels are processed in lock-step so coefficient loads are shared.
+     *
+     * @param signals Planar input of shape [channels][n].
+     * @param sos     Array of second-order sections of shape [n_sections][6].
+     * @return The filtered channels, shape [channels][n].
+     */
+    public static double[][] sosfilt(double[][] signals, double[][] sos) {
+        return SosFilt.sosfilt(signals, sos);
+    }
+
+    /**
+     * Apply a digital filter forward and backward using second-order sections.
+     * Matches {@code scipy.signal.sosfiltfilt} with default odd padding.
+     *
+     * @param signal The input signal.
+     * @param sos    Array of second-order sections of shape [n_sections][6].
+     * @return The filtered signal.
+     */
+    public static double[] sosfiltfilt(double[] signal, double[][] sos) {
+        return SosFilt.sosfiltfilt(signal, sos);
+    }
+
+    /**
+     * Zero-phase filtering of single-precision data with second-order sections.
+     *
+     * @param signal The input signal.
+     * @param sos    Array of second-order sections of shape [n_sections][6].
+     * @return The filtered signal.
+     */
+    public static float[] sosfiltfilt(float[] signal, double[][] sos) {
+        return SosFilt.sosfiltfilt(signal, sos);
+    }
+
+    /**
+     * Apply a zero-phase SOS filter to several equal-length channels.
+     *
+     * @param signals Planar input of shape [channels][n].
+     * @param sos     Array of second-order sections of shape [n_sections][6].
+     * @return The filtered channels, shape [channels][n].
+     */
+    public static double[][] sosfiltfilt(double[][] signals, double[][] sos) {
+        return SosFilt.sosfiltfilt(signals, sos);
+    }
+
+    /**
+     * Zero-phase SOS filtering of a long signal in parallel blocks. Each block
+     * is warmed up over an overlap sized from the filter's impulse-response
+     * decay, so the result deviates from {@link #sosfiltfilt(double[], double[][])}
+     * by roughly {@code tolerance * max|x|}.
+     *
+     * @param signal    The input signal.
+     * @param sos       Array of second-order sections of shape [n_sections][6].
+     * @param blockSize Number of output samples per block.
+     * @param tolerance Relative decay level that sizes the warm-up overlap.
+     * @return The filtered signal.
+     */
+    public static double[] sosfiltfilt_parallel(double[] signal, double[][] sos, int blockSize, double tolerance) {
+        return SosFilt.sosfiltfilt_parallel(signal, sos, blockSize, tolerance);
+    }
+
     // --- Utilities ---
 
     /**
@@ -583,6 +709,32 @@ public class Signal {
         return new Detrend().detrend(signal, type);
     }
 
+    /**
+     * Removes a piecewise linear or constant trend, fitting each segment
+     * between breakpoints separately (scipy's {@code bp} argument).
+     *
+     * @param signal The input signal.
+     * @param type   The type of detrending (LINEAR or CONSTANT).
+     * @param bp     Breakpoint indices; null for none.
+     * @return The detrended signal.
+     */
+    public static double[] detrend(double[] signal, DetrendType type, int[] bp) {
+        return new Detrend().detrend(signal, type, bp);
+    }
+
+    /**
+     * Removes a piecewise polynomial trend of the given order, fitting each
+     * segment between breakpoints separately.
+     *
+     * @param signal The input signal.
+     * @param order  The polynomial order.
+     * @param bp     Breakpoint indices; null for none.
+     * @return The detrended signal.
+     */
+    public static double[] detrend(double[] signal, int order, int[] bp) {
+        return new Detrend().detrend(signal, order, bp);
+    }
+
     // --- Find Peaks ---
 
     /**
@@ -604,6 +756,35 @@ public class Signal {
         return new FindPeaks().findPeaks(x, params).peaks;
     }
 
+    /**
+     * Finds peaks in a signal with the full set of {@code find_peaks} filters
+     * (height, threshold, distance, prominence, width, plateau size).
+     *
+     * @param x      The input signal.
+     * @param params The filters; fields left at their defaults are not applied.
+     * @return The peak indices and, for every filter that was applied, the
+     *         corresponding peak properties.
+     */
+    public static FindPeaks.PeakResult find_peaks(double[] x, FindPeaks.PeakParams params) {
+        return new FindPeaks().findPeaks(x, params);
+    }
+
+    /**
+     * Finds peaks in a long signal in parallel blocks. The result is identical
+     * to {@link #find_peaks(double[], FindPeaks.PeakParams)}; prominences are
+     * computed per block only when {@code params.wlen} limits their window.
+     *
+     * @param x         The input signal.
+     * @param params    The filters; fields left at their defaults are not
+     *                  applied.
+     * @param blockSize Number of samples per block.
+     * @return The peak indices and, for every filter that was applied, the
+     *         corresponding peak properties.
+     */
+    public static FindPeaks.PeakResult find_peaks_parallel(double[] x, FindPeaks.PeakParams params, int blockSize) {
+        return new FindPeaks().findPeaksParallel(x, params, blockSize);
+    }
+
     /**
      * Finds peaks in a signal with default parameters.
      *
@@ -682,6 +863,48 @@ public class Signal {
 
     // --- Hilbert Transform ---
 
+    /**
+     * Computes the analytic signal using the Hilbert transform.
+     *
+     * @param x The real-valued input signal.
+     * @return The complex analytic signal.
+     */
+    public static JComplex[] hilbert(double[] x) {
+        return new Hilbert().hilbert(x);
+    }
+
+    /**
+     * Computes the amplitude envelope |hilbert(x)| without allocating a
+     * complex spectrum.
+     *
+     * @param x The real-valued input signal.
+     * @return The envelope, same length as x.
+     */
+    public static double[] envelope(double[] x) {
+        return new Hilbert().envelope(x);
+    }
+
+    /**
+     * Computes the unwrapped instantaneous phase of the analytic signal.
+     *
+     * @param x The real-valued input signal.
+     * @return The instantaneous phase in radians.
+     */
+    public static double[] instantaneous_phase(double[] x) {
+        return new Hilbert().instantaneousPhase(x);
+    }
+
+    /**
+     * Computes the instantaneous frequency of the analytic signal.
+     *
+     * @param x  The real-valued input signal.
+     * @param fs The sampling frequency.
+     * @return The instantaneous frequency, of length x.length - 1.
+     */
+    public static double[] instantaneous_frequency(double[] x, double fs) {
+        return new Hilbert().instantaneousFrequency(x, fs);
+    }
+
     // --- Window Functions ---
 
     /**
@@ -810,6 +1033,17 @@ public class Signal {
         return new FFT().rfft(x);
     }
 
+    /**
+     * Computes the positive frequency components of the FFT of
+     * single-precision data.
+     *
+     * @param x The input signal.
+     * @return The positive frequency components of the FFT.
+     */
+    public static JComplex[] rfft(float[] x) {
+        return new FFT().rfft(x);
+    }
+
     /**
      * Computes the inverse FFT of a real-valued signal (IRFFT).
      *
@@ -856,6 +1090,19 @@ public class Signal {
         return new Welch().welch(x, fs, nperseg);
     }
 
+    /**
+     * Compute Power Spectral Density of single-precision data using Welch's
+     * method. Uses default Hanning window and 50% overlap.
+     *
+     * @param x       Input signal.
+     * @param fs      Sampling frequency.
+     * @param nperseg Length of each segment.
+     * @return WelchResult containing frequency array (f) and PSD array (Pxx).
+     */
+    public static Welch.WelchResult welch(float[] x, double fs, int nperseg) {
+        return new Welch().welch(x, fs, nperseg);
+    }
+
     /**
      * Applies a Savitzky-Golay filter to an array.
      *
@@ -911,6 +1158,19 @@ public class Signal {
         return new Convolve().convolve(signal, window, mode);
     }
 
+    /**
+     * Convolves two single-precision signals using the specified mode.
+     * Accumulation is done in double precision.
+     *
+     * @param signal The first signal.
+     * @param window The second signal (window).
+     * @param mode   The convolution mode (e.g., ConvolutionMode.SAME).
+     * @return The convolved signal.
+     */
+    public static float[] convolve(float[] signal, float[] window, ConvolutionMode mode) {
+        return new Convolve().convolve(signal, window, mode);
+    }
+
     /**
      * Cross-correlate two 1-dimensional sequences.
      * <p>
@@ -0,0 +1,212 @@
+package com.hissain.jscipy.math;
+
+import java.util.Arrays;
+
+/**
+ * Interpolating B-spline of degree k with clamped knots, as SciPy's
+ * {@code interp1d} builds for {@code kind='quadratic'} and higher: internal
+ * knots at the data points for odd degrees and at midpoints for even ones.
+ * <p>
+ * Fitting solves the banded collocation system in O(n k^2) time and
+ * O(n k) memory. Values come from de Boor's algorithm. The derivative and the
+ * antiderivative are themselves B-splines on the same knots, of degree
+ * {@code k - 1} and {@code k + 1}; their coefficients are computed once when
+ * the spline is fitted, so all three cost O(k^2) per point after an interval
+ * lookup. Instances are immutable and thread-safe.
+ */
+public final class BSpline implements Interpolator {
+
+    private final int k;
+    private final double[] t;
+    private final double[] c;
+    /** Derivative knots {@code t[1 .. t.length - 2]} and coefficients. */
+    private final double[] dt;
+    private final double[] dc;
+    /** Antiderivative coefficients, on t with one more knot at each end. */
+    private final double[] ic;
+    private final double[] it;
+    /** Knots {@code t[k .. c.length]}, the ends of the polynomial pieces. */
+    private final Breakpoints breakpoints;
+
+    /**
+     * Fits the interpolating spline.
+     *
+     * @param x The x-coordinates, strictly increasing.
+     * @param y The y-coordinates.
+     * @param k The degree, at least 0.
+     * @throws IllegalArgumentException if the lengths differ, fewer than
+     *                                  {@code k + 1} points are given, x is not
+     *                                  strictly increasing or the system is
+     *                                  singular.
+     */
+    public BSpline(double[] x, double[] y, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Degree must be non-negative.");
+        }
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("x and y must have the same length");
+        }
+        if (x.length < k + 1 || x.length < 2) {
+            throw new IllegalArgumentException("x and y must have at least " + Math.max(2, k + 1) + " points");
+        }
+        for (int i = 1; i < x.length; i++) {
+            if (!(x[i] > x[i - 1])) {
+                throw new IllegalArgumentException("x must be strictly increasing");
+            }
+        }
+        this.k = k;
+        this.t = knots(x, k);
+        this.breakpoints = new Breakpoints(Arrays.copyOfRange(t, k, x.length + 1));
+        this.c = y.clone();
+        new Collocation(x, k, t, breakpoints).solve(c, 0, 1);
+
+        int dim = c.length;
+        this.dt = Arrays.copyOfRange(t, 1, t.length - 1);
+        this.dc = new double[Math.max(0, dim - 1)];
+        for (int i = 0; k > 0 && i < dim - 1; i++) {
+            dc[i] = k * (c[i + 1] - c[i]) / (t[i + k + 1] - t[i + 1]);
+        }
+        this.it = new double[t.length + 2];
+        it[0] = t[0];
+        System.arraycopy(t, 0, it, 1, t.length);
+        it[it.length - 1] = t[t.length - 1];
+        this.ic = new double[dim + 1];
+        for (int i = 0; i < dim; i++) {
+            ic[i + 1] = ic[i] + c[i] * (t[i + k + 1] - t[i]) / (k + 1);
+        }
+    }
+
+    /**
+     * Clamped knot vector: k + 1 copies of each end, and {@code n - k}
+     * internal knots, where n + 1 is the number of points.
+     */
+    static double[] knots(double[] x, int k) {
+        int n = x.length - 1;
+        double[] t = new double[n + k + 2];
+        for (int i = 0; i <= k; i++) {
+            t[i] = x[0];
+            t[t.length - 1 - i] = x[n];
+        }
+        int internalKnots = n - k;
+        for (int i = 0; i < internalKnots; i++) {
+            if (k % 2 == 0) {
+                // Even degree: midpoints, starting between x[k / 2] and x[k / 2 + 1]
+                int idx = k / 2 + i;
+                t[k + 1 + i] = (x[idx] + x[idx + 1]) / 2.0;
+            } else {
+                // Odd degree: data points, starting at x[(k + 1) / 2]
+                t[k + 1 + i] = x[(k + 1) / 2 + i];
+            }
+        }
+        return t;
+    }
+
+    /**
+     * @return The degree.
+     */
+    public int getDegree() {
+        return k;
+    }
+
+    /**
+     * @return A copy of the knot vector.
+     */
+    public double[] getKnots() {
+        return t.clone();
+    }
+
+    /**
+     * @return A copy of the B-spline coefficients.
+     */
+    public double[] getCoefficients() {
+        return c.clone();
+    }
+
+    /**
+     * @throws IllegalArgumentException if v is outside the range of x.
+     */
+    @Override
+    public double value(double v) {
+        return deBoor(t, c, k, k + interval(v, 0), v, new double[k + 1]);
+    }
+
+    /**
+     * @throws IllegalArgumentException if a point is outside the range of x.
+     */
+    @Override
+    public double[] evaluate(double[] newX) {
+        double[] out = new double[newX.length];
+        evaluate(newX, out);
+        return out;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a point is outside the range of x.
+     */
+    @Override
+    public void evaluate(double[] newX, double[] out) {
+        Blocks.forEach(newX.length, (from, to) -> evaluate(newX, out, from, to));
+    }
+
+    private void evaluate(double[] newX, double[] out, int from, int to) {
+        double[] scratch = new double[k + 1];
+        int interval = 0;
+        for (int i = from; i < to; i++) {
+            interval = interval(newX[i], interval);
+            out[i] = deBoor(t, c, k, k + interval, newX[i], scratch);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if v is outside the range of x.
+     */
+    @Override
+    public double derivative(double v) {
+        int interval = interval(v, 0);
+        if (k == 0) {
+            return 0.0;
+        }
+        // Knot t[mu] of this spline is knot mu - 1 of the derivative
+        return deBoor(dt, dc, k - 1, k - 1 + interval, v, new double[k]);
+    }
+
+    /**
+     * @throws IllegalArgumentException if a or b is outside the range of x.
+     */
+    @Override
+    public double integral(double a, double b) {
+        return antiderivative(b) - antiderivative(a);
+    }
+
+    /** Integral from x[0] to v; knot t[mu] is knot mu + 1 of the antiderivative. */
+    private double antiderivative(double v) {
+        return deBoor(it, ic, k + 1, k + 1 + interval(v, 0), v, new double[k + 2]);
+    }
+
+    /** Index of the polynomial piece holding v, counted from knot t[k]. */
+    private int interval(double v, int hint) {
+        if (v < t[0] || v > t[t.length - 1]) {
+            throw new IllegalArgumentException(
+                    "Value " + v + " is outside the interpolation range [" + t[0] + ", " + t[t.length - 1] + "]");
+        }
+        return breakpoints.interval(v, hint);
+    }
+
+    /**
+     * de Boor's algorithm: the spline of degree k with knots t and
+     * coefficients c at v, where {@code t[mu] <= v <= t[mu + 1]}.
+     */
+    private static double deBoor(double[] t, double[] c, int k, int mu, double v, double[] d) {
+        for (int j = 0; j <= k; j++) {
+            d[j] = c[j + mu - k];
+        }
+        for (int r = 1; r <= k; r++) {
+            for (int j = k; j >= r; j--) {
+                int i = j + mu - k;
+                double alpha = (v - t[i]) / (t[i + 1 + k - r] - t[i]);
+                d[j] = (1.0 - alpha) * d[j - 1] + alpha * d[j];
+            }
+        }
+        return d[k];
+    }
+}
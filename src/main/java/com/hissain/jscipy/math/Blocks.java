@@ -0,0 +1,40 @@
+package com.hissain.jscipy.math;
+
+import java.util.stream.IntStream;
+
+/**
+ * Splits evaluation of many query points into blocks, run on the common
+ * fork-join pool once there are enough points to pay for it.
+ */
+final class Blocks {
+
+    /** Point counts at least this large are evaluated in parallel. */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int PARALLEL_BLOCK = 1 << 14;
+
+    /** Evaluates the points in {@code [from, to)}. */
+    interface Range {
+        void run(int from, int to);
+    }
+
+    private Blocks() {
+    }
+
+    /**
+     * Runs {@code range} over {@code [0, n)}, in parallel blocks for large n.
+     *
+     * @param n     The number of points.
+     * @param range Evaluates one block; blocks are disjoint.
+     */
+    static void forEach(int n, Range range) {
+        if (n >= PARALLEL_THRESHOLD) {
+            int blocks = (n + PARALLEL_BLOCK - 1) / PARALLEL_BLOCK;
+            IntStream.range(0, blocks).parallel().forEach(b -> {
+                int from = b * PARALLEL_BLOCK;
+                range.run(from, Math.min(n, from + PARALLEL_BLOCK));
+            });
+        } else {
+            range.run(0, n);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.hissain.jscipy.math;
+
+/**
+ * Interval lookup in a sorted array of breakpoints.
+ * <p>
+ * {@link #interval(double, int)} starts from a hint, normally the previous
+ * answer, and gallops outwards, so a sorted run of queries is a linear merge
+ * walk and an arbitrary query costs O(log n). On a uniform grid the index is
+ * computed directly and corrected by at most a step or two. Either way the
+ * answer is exactly the one a binary search gives.
+ */
+final class Breakpoints {
+
+    private final double[] x;
+    private final int last;
+    private final boolean uniform;
+    private final double x0;
+    private final double invStep;
+
+    /**
+     * @param x Sorted breakpoints, at least two.
+     */
+    Breakpoints(double[] x) {
+        this.x = x;
+        this.last = x.length - 1;
+        this.x0 = x[0];
+        double step = (x[last] - x[0]) / last;
+        boolean even = step > 0;
+        for (int i = 1; i < last && even; i++) {
+            even = Math.abs(x[i] - (x0 + i * step)) <= 0.25 * step;
+        }
+        this.uniform = even;
+        this.invStep = even ? 1.0 / step : 0.0;
+    }
+
+    /**
+     * @return Whether the index is computed rather than searched.
+     */
+    boolean isUniform() {
+        return uniform;
+    }
+
+    /**
+     * The interval holding v: the largest {@code i <= x.length - 2} with
+     * {@code x[i] <= v}, or 0 if there is none.
+     *
+     * @param v    The query.
+     * @param hint Where to start searching, e.g. the previous result.
+     * @return The interval index.
+     */
+    int interval(double v, int hint) {
+        int end = last - 1;
+        int i;
+        if (uniform) {
+            double guess = (v - x0) * invStep;
+            i = guess <= 0 ? 0 : guess >= end ? end : (int) guess;
+        } else {
+            i = hint < 0 ? 0 : hint > end ? end : hint;
+        }
+        if (x[i] <= v) {
+            if (i == end || v < x[i + 1]) {
+                return i;
+            }
+            // Gallop right from x[i + 1] <= v
+            int lo = i + 1;
+            int hi;
+            for (int step = 1;; step <<= 1) {
+                hi = lo + step;
+                if (hi >= last) {
+                    hi = last;
+                    break;
+                }
+                if (x[hi] > v) {
+                    break;
+                }
+                lo = hi;
+            }
+            return search(lo, hi, v);
+        }
+        if (i == 0) {
+            return 0;
+        }
+        // Gallop left from x[i] > v
+        int hi = i;
+        int lo;
+        for (int step = 1;; step <<= 1) {
+            lo = hi - step;
+            if (lo <= 0) {
+                lo = 0;
+                break;
+            }
+            if (x[lo] <= v) {
+                break;
+            }
+            hi = lo;
+        }
+        return search(lo, hi, v);
+    }
+
+    /** Largest i in [lo, hi) with x[i] <= v, given x[lo] <= v (or lo == 0). */
+    private int search(int lo, int hi, double v) {
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            if (x[mid] <= v) {
+                lo = mid;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
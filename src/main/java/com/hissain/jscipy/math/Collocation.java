@@ -0,0 +1,119 @@
+package com.hissain.jscipy.math;
+
+/**
+ * Factored collocation matrix {@code A[i][j] = B_j(x[i])} of an interpolating
+ * B-spline of degree k, for solving for the coefficients of any number of
+ * right-hand sides.
+ * <p>
+ * Row i is non-zero only in the k + 1 columns of the B-splines whose support
+ * holds x[i], and with the knots used here those lie within k of the
+ * diagonal. The matrix is stored by diagonals, n(2k + 1) entries, and
+ * factored by banded Gaussian elimination in O(n k^2); each solve is then
+ * O(n k). No pivoting is needed: collocation matrices are totally positive,
+ * for which elimination without pivoting is stable (de Boor and Pinkus,
+ * 1977).
+ */
+final class Collocation {
+
+    private final int n;
+    private final int k;
+    private final int width;
+    /** Row i, column j at {@code i * width + j - i + k}; multipliers below the diagonal. */
+    private final double[] band;
+
+    /**
+     * @param x           The interpolation points, strictly increasing.
+     * @param k           The degree.
+     * @param t           The knots.
+     * @param breakpoints Knots {@code t[k .. x.length]}.
+     * @throws IllegalArgumentException if the matrix is singular.
+     */
+    Collocation(double[] x, int k, double[] t, Breakpoints breakpoints) {
+        this.n = x.length;
+        this.k = k;
+        this.width = 2 * k + 1;
+        this.band = new double[n * width];
+        double[] basis = new double[k + 1];
+        double[] left = new double[k + 1];
+        double[] right = new double[k + 1];
+        int interval = 0;
+        for (int i = 0; i < n; i++) {
+            interval = breakpoints.interval(x[i], interval);
+            int mu = k + interval;
+            if (mu < i || mu > i + k) {
+                throw new IllegalArgumentException("Collocation matrix is singular.");
+            }
+            basis(t, k, mu, x[i], basis, left, right);
+            // Column mu - k + r sits at offset (mu - k + r) - i + k of row i
+            System.arraycopy(basis, 0, band, i * width + mu - i, k + 1);
+        }
+
+        for (int p = 0; p < n; p++) {
+            int pivotStart = p * width - p + k;
+            double pivot = band[pivotStart + p];
+            if (pivot == 0.0) {
+                throw new IllegalArgumentException("Collocation matrix is singular.");
+            }
+            int last = Math.min(n - 1, p + k);
+            for (int r = p + 1; r <= last; r++) {
+                int rowStart = r * width - r + k;
+                double factor = band[rowStart + p] / pivot;
+                band[rowStart + p] = factor;
+                if (factor == 0.0) {
+                    continue;
+                }
+                for (int col = p + 1; col <= last; col++) {
+                    band[rowStart + col] -= factor * band[pivotStart + col];
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces a right-hand side by the coefficients, in place.
+     *
+     * @param b      Holds the n values {@code b[offset + i * stride]}.
+     * @param offset Index of the first value.
+     * @param stride Distance between values.
+     */
+    void solve(double[] b, int offset, int stride) {
+        for (int p = 0; p < n; p++) {
+            double v = b[offset + p * stride];
+            for (int r = p + 1, last = Math.min(n - 1, p + k); r <= last; r++) {
+                b[offset + r * stride] -= band[r * width - r + k + p] * v;
+            }
+        }
+        for (int p = n - 1; p >= 0; p--) {
+            int rowStart = p * width - p + k;
+            double sum = b[offset + p * stride];
+            for (int col = p + 1, last = Math.min(n - 1, p + k); col <= last; col++) {
+                sum -= band[rowStart + col] * b[offset + col * stride];
+            }
+            b[offset + p * stride] = sum / band[rowStart + p];
+        }
+    }
+
+    /**
+     * The k + 1 B-splines of degree k that can be non-zero on
+     * {@code [t[mu], t[mu + 1]]}, {@code B_{mu - k}} to {@code B_mu}, at v, by
+     * the recurrence of de Boor's BSPLVB.
+     *
+     * @param b     Receives the values, k + 1 of them.
+     * @param left  Scratch, k + 1 long.
+     * @param right Scratch, k + 1 long.
+     */
+    static void basis(double[] t, int k, int mu, double v, double[] b, double[] left, double[] right) {
+        b[0] = 1.0;
+        for (int j = 1; j <= k; j++) {
+            left[j] = v - t[mu + 1 - j];
+            right[j] = t[mu + j] - v;
+            double saved = 0.0;
+            for (int r = 0; r < j; r++) {
+                double term = b[r] / (right[r + 1] + left[j - r]);
+                b[r] = saved + right[r + 1] * term;
+                saved = left[j - r] * term;
+            }
+            b[j] = saved;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.hissain.jscipy.math;
+
+/**
+ * Natural cubic spline through a set of points.
+ * <p>
+ * The spline is the one of Commons Math's {@code SplineInterpolator}, and
+ * values are bit-identical to its {@code PolynomialSplineFunction}, but the
+ * piecewise polynomials are stored in one flat array of four coefficients per
+ * interval. Batched evaluation looks intervals up with {@link Breakpoints}:
+ * sorted queries are answered by a merge walk, uniform grids by a direct
+ * index, anything else by galloping search from the previous interval. Long
+ * query arrays are split across threads. Derivatives and integrals are
+ * evaluated from the same coefficients, the latter with the integral of every
+ * full interval summed up front.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+public final class CubicSpline implements Interpolator {
+
+    private final double[] x;
+    /** Interval i has {@code a, b, c, d} at {@code 4 * i}, for {@code a + b t + c t^2 + d t^3}. */
+    private final double[] coefficients;
+    /** Integral from x[0] to x[i]. */
+    private final double[] cumulative;
+    private final Breakpoints breakpoints;
+
+    /**
+     * @param x The x-coordinates, strictly increasing.
+     * @param y The y-coordinates.
+     * @throws IllegalArgumentException if the lengths differ, fewer than three
+     *                                  points are given or x is not strictly
+     *                                  increasing.
+     */
+    public CubicSpline(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("x and y must have the same length");
+        }
+        if (x.length < 3) {
+            throw new IllegalArgumentException("x and y must have at least 3 points for cubic interpolation");
+        }
+        for (int i = 1; i < x.length; i++) {
+            if (!(x[i] > x[i - 1])) {
+                throw new IllegalArgumentException("x must be strictly increasing");
+            }
+        }
+        this.x = x.clone();
+        this.coefficients = naturalSpline(this.x, y);
+        this.cumulative = new double[x.length];
+        for (int i = 0; i + 1 < x.length; i++) {
+            cumulative[i + 1] = cumulative[i] + antiderivative(x[i + 1], i);
+        }
+        this.breakpoints = new Breakpoints(this.x);
+    }
+
+    /**
+     * Tridiagonal solve for the natural spline, in Commons Math's operation
+     * order.
+     */
+    private static double[] naturalSpline(double[] x, double[] y) {
+        int n = x.length - 1;
+        double[] h = new double[n];
+        for (int i = 0; i < n; i++) {
+            h[i] = x[i + 1] - x[i];
+        }
+        double[] mu = new double[n];
+        double[] z = new double[n + 1];
+        for (int i = 1; i < n; i++) {
+            double g = 2d * (x[i + 1] - x[i - 1]) - h[i - 1] * mu[i - 1];
+            mu[i] = h[i] / g;
+            z[i] = (3d * (y[i + 1] * h[i - 1] - y[i] * (x[i + 1] - x[i - 1]) + y[i - 1] * h[i])
+                    / (h[i - 1] * h[i]) - h[i - 1] * z[i - 1]) / g;
+        }
+
+        double[] coefficients = new double[4 * n];
+        double cNext = 0;
+        for (int j = n - 1; j >= 0; j--) {
+            double c = z[j] - mu[j] * cNext;
+            coefficients[4 * j] = y[j];
+            coefficients[4 * j + 1] = (y[j + 1] - y[j]) / h[j] - h[j] * (cNext + 2d * c) / 3d;
+            coefficients[4 * j + 2] = c;
+            coefficients[4 * j + 3] = (cNext - c) / (3d * h[j]);
+            cNext = c;
+        }
+        return coefficients;
+    }
+
+    /**
+     * @return The first x-coordinate.
+     */
+    public double getLowerBound() {
+        return x[0];
+    }
+
+    /**
+     * @return The last x-coordinate.
+     */
+    public double getUpperBound() {
+        return x[x.length - 1];
+    }
+
+    /**
+     * Evaluates the spline at one point.
+     *
+     * @param v The point, within the range of x.
+     * @return The spline value.
+     * @throws IllegalArgumentException if v is outside the range of x.
+     */
+    @Override
+    public double value(double v) {
+        checkRange(v);
+        return evaluate(v, breakpoints.interval(v, 0));
+    }
+
+    /**
+     * Evaluates the spline at many points.
+     *
+     * @param newX The points, within the range of x.
+     * @return The spline values.
+     * @throws IllegalArgumentException if a point is outside the range of x.
+     */
+    @Override
+    public double[] evaluate(double[] newX) {
+        double[] out = new double[newX.length];
+        evaluate(newX, out);
+        return out;
+    }
+
+    /**
+     * Evaluates the spline at many points into a caller-supplied array.
+     *
+     * @param newX The points, within the range of x.
+     * @param out  Receives the values; at least as long as newX.
+     * @throws IllegalArgumentException if a point is outside the range of x.
+     */
+    @Override
+    public void evaluate(double[] newX, double[] out) {
+        Blocks.forEach(newX.length, (from, to) -> evaluate(newX, out, from, to));
+    }
+
+    private void evaluate(double[] newX, double[] out, int from, int to) {
+        int interval = 0;
+        for (int i = from; i < to; i++) {
+            double v = newX[i];
+            checkRange(v);
+            interval = breakpoints.interval(v, interval);
+            out[i] = evaluate(v, interval);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if v is outside the range of x.
+     */
+    @Override
+    public double derivative(double v) {
+        checkRange(v);
+        int interval = breakpoints.interval(v, 0);
+        int k = 4 * interval;
+        double t = v - x[interval];
+        return coefficients[k + 1] + t * (2 * coefficients[k + 2] + t * 3 * coefficients[k + 3]);
+    }
+
+    /**
+     * @throws IllegalArgumentException if a or b is outside the range of x.
+     */
+    @Override
+    public double integral(double a, double b) {
+        checkRange(a);
+        checkRange(b);
+        int ia = breakpoints.interval(a, 0);
+        int ib = breakpoints.interval(b, ia);
+        return cumulative[ib] + antiderivative(b, ib) - cumulative[ia] - antiderivative(a, ia);
+    }
+
+    /** Integral of the piece of the given interval from its start to v. */
+    private double antiderivative(double v, int interval) {
+        int k = 4 * interval;
+        double t = v - x[interval];
+        return t * (coefficients[k] + t * (coefficients[k + 1] / 2
+                + t * (coefficients[k + 2] / 3 + t * coefficients[k + 3] / 4)));
+    }
+
+    private double evaluate(double v, int interval) {
+        int k = 4 * interval;
+        double t = v - x[interval];
+        return coefficients[k] + t * (coefficients[k + 1] + t * (coefficients[k + 2] + t * coefficients[k + 3]));
+    }
+
+    private void checkRange(double v) {
+        if (v < x[0] || v > x[x.length - 1]) {
+            throw new IllegalArgumentException(
+                    "Value " + v + " is outside the interpolation range [" + x[0] + ", " + x[x.length - 1] + "]");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.hissain.jscipy.math;
+
+/**
+ * Enum representing the method of {@link RegularGridInterpolator}.
+ */
+public enum GridInterpolationMethod {
+    /**
+     * Value of the nearest grid point; halfway between two, the lower one.
+     */
+    NEAREST,
+    /**
+     * Multilinear: linear along each axis.
+     */
+    LINEAR,
+    /**
+     * Tensor-product cubic spline with not-a-knot ends, as SciPy's
+     * {@code method='cubic'}. Needs at least 4 points on every axis.
+     */
+    CUBIC
+}
@@ -0,0 +1,19 @@
+package com.hissain.jscipy.math;
+
+/**
+ * Enum representing the kind of a fitted interpolant.
+ */
+public enum InterpolationKind {
+    /**
+     * Piecewise linear, constant beyond the end points.
+     */
+    LINEAR,
+    /**
+     * Quadratic B-spline, as SciPy's {@code interp1d(kind='quadratic')}.
+     */
+    QUADRATIC,
+    /**
+     * Natural cubic spline.
+     */
+    CUBIC
+}
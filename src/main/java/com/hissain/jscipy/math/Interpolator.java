@@ -0,0 +1,53 @@
+package com.hissain.jscipy.math;
+
+/**
+ * A fitted one-dimensional interpolant, built once by
+ * {@link Interpolation#fit(double[], double[], InterpolationKind)} and
+ * evaluated any number of times.
+ * <p>
+ * Implementations are immutable and thread-safe, so one instance can be
+ * shared by all threads evaluating the same data.
+ */
+public interface Interpolator {
+
+    /**
+     * Evaluates the interpolant at one point.
+     *
+     * @param v The point.
+     * @return The interpolated value.
+     */
+    double value(double v);
+
+    /**
+     * Evaluates the interpolant at many points.
+     *
+     * @param newX The points.
+     * @return The interpolated values.
+     */
+    double[] evaluate(double[] newX);
+
+    /**
+     * Evaluates the interpolant at many points into a caller-supplied array.
+     *
+     * @param newX The points.
+     * @param out  Receives the values; at least as long as newX.
+     */
+    void evaluate(double[] newX, double[] out);
+
+    /**
+     * First derivative of the interpolant.
+     *
+     * @param v The point.
+     * @return The slope at v.
+     */
+    double derivative(double v);
+
+    /**
+     * Definite integral of the interpolant.
+     *
+     * @param a Lower limit.
+     * @param b Upper limit.
+     * @return The integral from a to b; negative if b &lt; a.
+     */
+    double integral(double a, double b);
+}
@@ -0,0 +1,140 @@
+package com.hissain.jscipy.math;
+
+/**
+ * Piecewise linear interpolant through a set of points, taking the nearest
+ * end value beyond them.
+ * <p>
+ * Intervals are looked up with {@link Breakpoints}, so sorted queries are a
+ * merge walk; a query on a breakpoint uses the interval ending there, so at a
+ * repeated x (a step) it takes the y of the first repeat. Long
+ * query arrays are split across threads. Instances are immutable and
+ * thread-safe.
+ */
+public final class PiecewiseLinear implements Interpolator {
+
+    private final double[] x;
+    private final double[] y;
+    /** Integral from x[0] to x[i]. */
+    private final double[] cumulative;
+    private final Breakpoints breakpoints;
+
+    /**
+     * @param x The x-coordinates, strictly increasing.
+     * @param y The y-coordinates.
+     * @throws IllegalArgumentException if the lengths differ, fewer than two
+     *                                  points are given or x is not strictly
+     *                                  increasing.
+     */
+    public PiecewiseLinear(double[] x, double[] y) {
+        this(x, y, true);
+    }
+
+    /**
+     * @param strict Whether x must be strictly increasing rather than only
+     *               non-decreasing. {@link Interpolation#linear} accepts
+     *               repeated x values as steps.
+     */
+    PiecewiseLinear(double[] x, double[] y, boolean strict) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("x and y must have the same length");
+        }
+        if (x.length < 2) {
+            throw new IllegalArgumentException("x and y must have at least 2 points");
+        }
+        for (int i = 1; i < x.length; i++) {
+            if (strict ? !(x[i] > x[i - 1]) : !(x[i] >= x[i - 1])) {
+                throw new IllegalArgumentException(
+                        strict ? "x must be strictly increasing" : "x must be non-decreasing");
+            }
+        }
+        this.x = x.clone();
+        this.y = y.clone();
+        this.cumulative = new double[x.length];
+        for (int i = 1; i < x.length; i++) {
+            cumulative[i] = cumulative[i - 1] + 0.5 * (x[i] - x[i - 1]) * (y[i] + y[i - 1]);
+        }
+        this.breakpoints = new Breakpoints(this.x);
+    }
+
+    @Override
+    public double value(double v) {
+        return value(v, segment(v, 0));
+    }
+
+    @Override
+    public double[] evaluate(double[] newX) {
+        double[] out = new double[newX.length];
+        evaluate(newX, out);
+        return out;
+    }
+
+    @Override
+    public void evaluate(double[] newX, double[] out) {
+        Blocks.forEach(newX.length, (from, to) -> evaluate(newX, out, from, to));
+    }
+
+    private void evaluate(double[] newX, double[] out, int from, int to) {
+        int hint = 0;
+        for (int i = from; i < to; i++) {
+            double v = newX[i];
+            int j = segment(v, hint);
+            if (j >= 0) {
+                hint = j;
+            }
+            out[i] = value(v, j);
+        }
+    }
+
+    @Override
+    public double derivative(double v) {
+        int j = segment(v, 0);
+        if (j < 0) {
+            return Double.isNaN(v) ? Double.NaN : 0.0;
+        }
+        return (y[j + 1] - y[j]) / (x[j + 1] - x[j]);
+    }
+
+    @Override
+    public double integral(double a, double b) {
+        return antiderivative(b) - antiderivative(a);
+    }
+
+    /** Integral from x[0] to v. */
+    private double antiderivative(double v) {
+        int last = x.length - 1;
+        if (v <= x[0]) {
+            return y[0] * (v - x[0]);
+        }
+        if (!(v <= x[last])) {
+            return cumulative[last] + y[last] * (v - x[last]);
+        }
+        int j = segment(v, 0);
+        return cumulative[j] + 0.5 * (v - x[j]) * (y[j] + value(v, j));
+    }
+
+    /**
+     * The interval used for v, or -1 beyond the end points (and for NaN).
+     */
+    private int segment(double v, int hint) {
+        if (v <= x[0] || !(v <= x[x.length - 1])) {
+            return -1;
+        }
+        int i = breakpoints.interval(v, hint);
+        if (v != x[i]) {
+            return i;
+        }
+        // Step back over repeats of v so the interval has non-zero length
+        int j = i - 1;
+        while (x[j] == v) {
+            j--;
+        }
+        return j;
+    }
+
+    private double value(double v, int j) {
+        if (j < 0) {
+            return v <= x[0] ? y[0] : y[y.length - 1];
+        }
+        return y[j] + (y[j + 1] - y[j]) * (v - x[j]) / (x[j + 1] - x[j]);
+    }
+}
@@ -0,0 +1,297 @@
+package com.hissain.jscipy.math;
+
+import java.util.Arrays;
+
+/**
+ * Explicit Runge-Kutta method of order 5(4) with adaptive steps
+ * (Dormand-Prince), like SciPy's {@code solve_ivp(method='RK45')}.
+ * <p>
+ * Each step is checked against the embedded 4th order solution, and the step
+ * size is adapted so that the local error estimate stays within
+ * {@code atol + rtol * |y|}: smooth stretches are crossed in a few long steps,
+ * fast ones in many short ones. The last stage of an accepted step is the
+ * derivative at its end, so it is reused as the first stage of the next (First
+ * Same As Last), and a step costs 6 evaluations of f. Values at requested
+ * times come from the method's 4th order dense output, so they do not force
+ * extra steps.
+ */
+public class RK45Solver {
+
+    // Dormand-Prince tableau
+    private static final double C2 = 1.0 / 5, C3 = 3.0 / 10, C4 = 4.0 / 5, C5 = 8.0 / 9;
+    private static final double A21 = 1.0 / 5;
+    private static final double A31 = 3.0 / 40, A32 = 9.0 / 40;
+    private static final double A41 = 44.0 / 45, A42 = -56.0 / 15, A43 = 32.0 / 9;
+    private static final double A51 = 19372.0 / 6561, A52 = -25360.0 / 2187, A53 = 64448.0 / 6561,
+            A54 = -212.0 / 729;
+    private static final double A61 = 9017.0 / 3168, A62 = -355.0 / 33, A63 = 46732.0 / 5247, A64 = 49.0 / 176,
+            A65 = -5103.0 / 18656;
+    private static final double B1 = 35.0 / 384, B3 = 500.0 / 1113, B4 = 125.0 / 192, B5 = -2187.0 / 6784,
+            B6 = 11.0 / 84;
+    /** Difference between the 5th and 4th order weights, stage 7 included. */
+    private static final double E1 = -71.0 / 57600, E3 = 71.0 / 16695, E4 = -71.0 / 1920, E5 = 17253.0 / 339200,
+            E6 = -22.0 / 525, E7 = 1.0 / 40;
+    /** Dense output: y(t + x h) = y + h sum_j x^(j + 1) sum_i P[i][j] k_i. */
+    private static final double[][] P = {
+            { 1, -8048581381.0 / 2820520608.0, 8663915743.0 / 2820520608.0, -12715105075.0 / 11282082432.0 },
+            { 0, 0, 0, 0 },
+            { 0, 131558114200.0 / 32700410799.0, -68118460800.0 / 10900136933.0, 87487479700.0 / 32700410799.0 },
+            { 0, -1754552775.0 / 470086768.0, 14199869525.0 / 1410260304.0, -10690763975.0 / 1880347072.0 },
+            { 0, 127303824393.0 / 49829197408.0, -318862633887.0 / 49829197408.0, 701980252875.0 / 199316789632.0 },
+            { 0, -282668133.0 / 205662961.0, 2019193451.0 / 616988883.0, -1453857185.0 / 822651844.0 },
+            { 0, 40617522.0 / 29380423.0, -110615467.0 / 29380423.0, 69997945.0 / 29380423.0 } };
+
+    private static final double SAFETY = 0.9;
+    private static final double MIN_FACTOR = 0.2;
+    private static final double MAX_FACTOR = 10;
+    /** Order of the error estimate. */
+    private static final int ERROR_ORDER = 4;
+
+    private final double rtol;
+    private final double atol;
+    private final double maxStep;
+
+    /**
+     * Result class to hold the solution, with the cost of computing it.
+     */
+    public static class Solution extends RK4Solver.Solution {
+        /** Number of evaluations of f. */
+        public final int evaluations;
+        /** Number of accepted steps. */
+        public final int steps;
+
+        /**
+         * Constructs a new Solution object.
+         *
+         * @param t           Array of time points.
+         * @param y           Array of solution values corresponding to time points.
+         * @param evaluations Number of evaluations of f.
+         * @param steps       Number of accepted steps.
+         */
+        public Solution(double[] t, double[] y, int evaluations, int steps) {
+            super(t, y);
+            this.evaluations = evaluations;
+            this.steps = steps;
+        }
+    }
+
+    /**
+     * Creates a solver with SciPy's default tolerances, rtol = 1e-3 and
+     * atol = 1e-6.
+     */
+    public RK45Solver() {
+        this(1e-3, 1e-6);
+    }
+
+    /**
+     * @param rtol Relative tolerance; raised to 100 machine epsilons if lower.
+     * @param atol Absolute tolerance.
+     * @throws IllegalArgumentException if a tolerance is negative.
+     */
+    public RK45Solver(double rtol, double atol) {
+        this(rtol, atol, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * @param rtol    Relative tolerance; raised to 100 machine epsilons if lower.
+     * @param atol    Absolute tolerance.
+     * @param maxStep Largest step size allowed.
+     * @throws IllegalArgumentException if a tolerance is negative or maxStep is
+     *                                  not positive.
+     */
+    public RK45Solver(double rtol, double atol, double maxStep) {
+        if (!(rtol >= 0) || !(atol >= 0)) {
+            throw new IllegalArgumentException("Tolerances must be non-negative.");
+        }
+        if (!(maxStep > 0)) {
+            throw new IllegalArgumentException("Maximum step must be positive.");
+        }
+        this.rtol = Math.max(rtol, 100 * Math.ulp(1.0));
+        this.atol = atol;
+        this.maxStep = maxStep;
+    }
+
+    /**
+     * Solve ODE from t0 to tf, returning the solution at the end of every
+     * accepted step. tf may be before t0.
+     *
+     * @param f  The differential equation dy/dt = f(t, y)
+     * @param y0 Initial condition
+     * @param t0 Initial time
+     * @param tf Final time
+     * @return Solution object containing t and y arrays, starting at t0 and
+     *         ending at tf
+     * @throws ArithmeticException if the step size has to become smaller than
+     *                             the spacing of doubles at t, e.g. because f
+     *                             returned NaN.
+     */
+    public Solution solve(RK4Solver.DifferentialEquation f, double y0, double t0, double tf) {
+        return integrate(f, y0, t0, tf, null);
+    }
+
+    /**
+     * Solve ODE over the span of the given time points, returning the solution
+     * at each of them. Steps are chosen by the error control alone; the time
+     * points are filled in by dense output.
+     *
+     * @param f     The differential equation dy/dt = f(t, y)
+     * @param y0    Initial condition, at tEval[0]
+     * @param tEval Time points where solution is desired, monotonic
+     * @return Solution object containing tEval and y at each of its points
+     * @throws IllegalArgumentException if tEval is empty or not monotonic.
+     * @throws ArithmeticException      if the step size has to become smaller
+     *                                  than the spacing of doubles at t, e.g.
+     *                                  because f returned NaN.
+     */
+    public Solution solve(RK4Solver.DifferentialEquation f, double y0, double[] tEval) {
+        if (tEval.length == 0) {
+            throw new IllegalArgumentException("tEval must not be empty.");
+        }
+        double direction = Math.signum(tEval[tEval.length - 1] - tEval[0]);
+        for (int i = 1; i < tEval.length; i++) {
+            double step = tEval[i] - tEval[i - 1];
+            if (!(direction * step >= 0) || (direction == 0 && step != 0)) {
+                throw new IllegalArgumentException("tEval must be monotonic.");
+            }
+        }
+        return integrate(f, y0, tEval[0], tEval[tEval.length - 1], tEval);
+    }
+
+    private Solution integrate(RK4Solver.DifferentialEquation f, double y0, double t0, double tf, double[] tEval) {
+        double direction = tf >= t0 ? 1 : -1;
+        double span = Math.abs(tf - t0);
+
+        double[] outT;
+        double[] outY;
+        int count = 1;
+        if (tEval != null) {
+            outT = tEval.clone();
+            outY = new double[tEval.length];
+            outY[0] = y0;
+            // Leading points at t0 itself
+            while (count < tEval.length && tEval[count] == t0) {
+                outY[count++] = y0;
+            }
+        } else {
+            outT = new double[16];
+            outY = new double[16];
+            outT[0] = t0;
+            outY[0] = y0;
+        }
+
+        double t = t0;
+        double y = y0;
+        double k1 = f.compute(t, y);
+        int evaluations = 1;
+        int steps = 0;
+        double hAbs = 0;
+        double[] q = new double[4];
+        if (span > 0) {
+            hAbs = initialStep(f, t, y, k1, direction, span);
+            evaluations++;
+        }
+
+        while (direction * (tf - t) > 0) {
+            double minStep = 10 * Math.abs(Math.nextAfter(t, direction * Double.POSITIVE_INFINITY) - t);
+            hAbs = Math.min(hAbs, maxStep);
+            if (!(hAbs >= minStep)) {
+                // Also catches a NaN step, e.g. from f returning NaN
+                hAbs = minStep;
+            }
+            boolean rejected = false;
+            double h;
+            double tNew;
+            double yNew;
+            double k2, k3, k4, k5, k6, k7;
+            while (true) {
+                if (hAbs < minStep) {
+                    throw new ArithmeticException(
+                            "Required step size is less than spacing between numbers at t = " + t);
+                }
+                h = hAbs * direction;
+                tNew = t + h;
+                if (direction * (tNew - tf) > 0) {
+                    tNew = tf;
+                }
+                h = tNew - t;
+                hAbs = Math.abs(h);
+
+                k2 = f.compute(t + C2 * h, y + h * A21 * k1);
+                k3 = f.compute(t + C3 * h, y + h * (A31 * k1 + A32 * k2));
+                k4 = f.compute(t + C4 * h, y + h * (A41 * k1 + A42 * k2 + A43 * k3));
+                k5 = f.compute(t + C5 * h, y + h * (A51 * k1 + A52 * k2 + A53 * k3 + A54 * k4));
+                k6 = f.compute(t + h, y + h * (A61 * k1 + A62 * k2 + A63 * k3 + A64 * k4 + A65 * k5));
+                yNew = y + h * (B1 * k1 + B3 * k3 + B4 * k4 + B5 * k5 + B6 * k6);
+                k7 = f.compute(tNew, yNew);
+                evaluations += 6;
+
+                double scale = atol + Math.max(Math.abs(y), Math.abs(yNew)) * rtol;
+                double error = h * (E1 * k1 + E3 * k3 + E4 * k4 + E5 * k5 + E6 * k6 + E7 * k7);
+                double errorNorm = Math.abs(error) / scale;
+                if (errorNorm < 1) {
+                    double factor = errorNorm == 0 ? MAX_FACTOR
+                            : Math.min(MAX_FACTOR, SAFETY * Math.pow(errorNorm, -1.0 / (ERROR_ORDER + 1)));
+                    if (rejected) {
+                        factor = Math.min(1, factor);
+                    }
+                    hAbs *= factor;
+                    break;
+                }
+                // Written so that a NaN error norm shrinks the step too
+                double factor = SAFETY * Math.pow(errorNorm, -1.0 / (ERROR_ORDER + 1));
+                hAbs *= factor > MIN_FACTOR ? factor : MIN_FACTOR;
+                rejected = true;
+            }
+            steps++;
+
+            if (tEval != null) {
+                // Dense output for the requested points in (t, tNew]
+                for (int j = 0; j < 4; j++) {
+                    q[j] = k1 * P[0][j] + k3 * P[2][j] + k4 * P[3][j] + k5 * P[4][j] + k6 * P[5][j] + k7 * P[6][j];
+                }
+                while (count < tEval.length && direction * (tEval[count] - tNew) <= 0) {
+                    double x = (tEval[count] - t) / h;
+                    outY[count] = tEval[count] == tNew ? yNew
+                            : y + h * x * (q[0] + x * (q[1] + x * (q[2] + x * q[3])));
+                    count++;
+                }
+            } else {
+                if (count == outT.length) {
+                    outT = Arrays.copyOf(outT, 2 * count);
+                    outY = Arrays.copyOf(outY, 2 * count);
+                }
+                outT[count] = tNew;
+                outY[count++] = yNew;
+            }
+
+            t = tNew;
+            y = yNew;
+            k1 = k7;
+        }
+
+        if (tEval == null) {
+            outT = Arrays.copyOf(outT, count);
+            outY = Arrays.copyOf(outY, count);
+        }
+        return new Solution(outT, outY, evaluations, steps);
+    }
+
+    /**
+     * Initial step size from the size of y and of its first two derivatives,
+     * as in Hairer, Norsett and Wanner, Solving ODEs I, II.4. Costs one
+     * evaluation of f.
+     */
+    private double initialStep(RK4Solver.DifferentialEquation f, double t0, double y0, double f0, double direction,
+            double span) {
+        double scale = atol + Math.abs(y0) * rtol;
+        double d0 = Math.abs(y0) / scale;
+        double d1 = Math.abs(f0) / scale;
+        double h0 = d0 < 1e-5 || d1 < 1e-5 ? 1e-6 : 0.01 * d0 / d1;
+        h0 = Math.min(h0, span);
+        double f1 = f.compute(t0 + h0 * direction, y0 + h0 * direction * f0);
+        double d2 = Math.abs(f1 - f0) / scale / h0;
+        double h1 = d1 <= 1e-15 && d2 <= 1e-15 ? Math.max(1e-6, h0 * 1e-3)
+                : Math.pow(0.01 / Math.max(d1, d2), 1.0 / (ERROR_ORDER + 1));
+        return Math.min(Math.min(100 * h0, h1), span);
+    }
+}
@@ -1,5 +1,11 @@
 package com.hissain.jscipy.math;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
 /**
  * Runge-Kutta 4th Order Method for solving ODEs
  * Usage similar to Python's scipy.integrate.odeint
@@ -11,6 +17,9 @@ package com.hissain.jscipy.math;
  */
 public class RK4Solver {
 
+    /** Ensemble members integrated together by one task. */
+    private static final int ENSEMBLE_CHUNK = 1 << 10;
+
     /**
      * Functional interface for defining the differential equation dy/dt = f(t, y)
      */
@@ -19,6 +28,46 @@ public class RK4Solver {
         double compute(double t, double y);
     }
 
+    /**
+     * Functional interface for defining a system of differential equations
+     * dy/dt = f(t, y), with y a vector.
+     */
+    @FunctionalInterface
+    public interface DifferentialSystem {
+        /**
+         * Computes the derivative. The arrays are owned by the solver and
+         * reused between calls, so they must not be kept.
+         *
+         * @param t    The time.
+         * @param y    The state; must not be modified.
+         * @param dydt Receives the derivative of each component of y.
+         */
+        void derivative(double t, double[] y, double[] dydt);
+    }
+
+    /**
+     * Functional interface for defining a system of differential equations
+     * for a batch of consecutive ensemble members at once, with states stored
+     * as structure of arrays: component j of the batch's member m is at
+     * {@code y[j * members + m]}. Loops over members are then over contiguous
+     * memory.
+     */
+    @FunctionalInterface
+    public interface EnsembleSystem {
+        /**
+         * Computes the derivative of every member. The arrays are owned by the
+         * solver and reused between calls, so they must not be kept.
+         *
+         * @param t       The time.
+         * @param y       The states; must not be modified.
+         * @param dydt    Receives the derivatives, in the layout of y.
+         * @param first   Index in the ensemble of the batch's first member,
+         *                e.g. to look up per-member parameters.
+         * @param members The number of members in the batch.
+         */
+        void derivative(double t, double[] y, double[] dydt, int first, int members);
+    }
+
     /**
      * Result class to hold the solution
      */
@@ -40,6 +89,49 @@ public class RK4Solver {
         }
     }
 
+    /**
+     * Result class to hold the solution of a system, with the states of all
+     * time points in one flat array.
+     */
+    public static class SystemSolution {
+        /** Array of time points */
+        public final double[] t;
+        /** States in time order, {@code y[i * dimension + j]} is component j at t[i] */
+        public final double[] y;
+        /** Number of components of the state */
+        public final int dimension;
+
+        /**
+         * Constructs a new SystemSolution object.
+         *
+         * @param t         Array of time points.
+         * @param y         States in time order, dimension values each.
+         * @param dimension Number of components of the state.
+         */
+        public SystemSolution(double[] t, double[] y, int dimension) {
+            this.t = t;
+            this.y = y;
+            this.dimension = dimension;
+        }
+
+        /**
+         * @param i Index of the time point.
+         * @param j Index of the component.
+         * @return Component j of the state at t[i].
+         */
+        public double get(int i, int j) {
+            return y[i * dimension + j];
+        }
+
+        /**
+         * @param i Index of the time point.
+         * @return A copy of the state at t[i].
+         */
+        public double[] state(int i) {
+            return Arrays.copyOfRange(y, i * dimension, (i + 1) * dimension);
+        }
+    }
+
     /**
      * Solve ODE using RK4 method
      * 
@@ -123,4 +215,301 @@ public class RK4Solver {
         return new Solution(tSpan, y);
     }
 
+    /**
+     * Result class to hold the solution of an ensemble, with the states of all
+     * members in one flat array per time point.
+     */
+    public static class EnsembleSolution {
+        /** Array of stored time points */
+        public final double[] t;
+        /**
+         * States of stored time points in time order,
+         * {@code y[(i * dimension + j) * members + m]} is component j of member
+         * m at t[i]
+         */
+        public final double[] y;
+        /** Number of components of each state */
+        public final int dimension;
+        /** Number of members */
+        public final int members;
+
+        /**
+         * Constructs a new EnsembleSolution object.
+         *
+         * @param t         Array of stored time points.
+         * @param y         States of stored time points, in time order.
+         * @param dimension Number of components of each state.
+         * @param members   Number of members.
+         */
+        public EnsembleSolution(double[] t, double[] y, int dimension, int members) {
+            this.t = t;
+            this.y = y;
+            this.dimension = dimension;
+            this.members = members;
+        }
+
+        /**
+         * @param i Index of the stored time point.
+         * @param m Index of the member.
+         * @param j Index of the component.
+         * @return Component j of the state of member m at t[i].
+         */
+        public double get(int i, int m, int j) {
+            return y[(i * dimension + j) * members + m];
+        }
+    }
+
+    /**
+     * Solve a system of ODEs using RK4 method
+     *
+     * @param f  The system dy/dt = f(t, y)
+     * @param y0 Initial state
+     * @param t0 Initial time
+     * @param tf Final time
+     * @param h  Step size
+     * @return SystemSolution object containing t and the flat states
+     * @throws IllegalArgumentException if the states do not fit in one array.
+     */
+    public SystemSolution solve(DifferentialSystem f, double[] y0, double t0, double tf, double h) {
+        int n = (int) Math.ceil((tf - t0) / h) + 1;
+        int dim = y0.length;
+        double[] t = new double[n];
+        double[] y = new double[flatLength(n, dim)];
+        Stepper stepper = new Stepper(f, y0);
+
+        t[0] = t0;
+        System.arraycopy(y0, 0, y, 0, dim);
+        for (int i = 0; i < n - 1; i++) {
+            stepper.step(t[i], h);
+            System.arraycopy(stepper.state, 0, y, (i + 1) * dim, dim);
+            t[i + 1] = t[i] + h;
+        }
+
+        return new SystemSolution(t, y, dim);
+    }
+
+    /**
+     * Solve a system of ODEs using RK4 method with specified time points.
+     * Uses internal sub-stepping for improved accuracy when time points are sparse.
+     *
+     * @param f     The system dy/dt = f(t, y)
+     * @param y0    Initial state
+     * @param tSpan Array of time points where solution is desired
+     * @return SystemSolution object containing t and the flat states
+     * @throws IllegalArgumentException if the states do not fit in one array.
+     */
+    public SystemSolution solve(DifferentialSystem f, double[] y0, double[] tSpan) {
+        return solve(f, y0, tSpan, 100);
+    }
+
+    /**
+     * Solve a system of ODEs using RK4 method with specified time points and
+     * sub-stepping. The states are stored in one flat array and the stages use
+     * scratch arrays allocated once, so there is no allocation per step.
+     *
+     * @param f        The system dy/dt = f(t, y)
+     * @param y0       Initial state
+     * @param tSpan    Array of time points where solution is desired
+     * @param subSteps Number of internal steps between each user-specified time
+     *                 point. Use 1 for no sub-stepping.
+     * @return SystemSolution object containing t and the flat states
+     * @throws IllegalArgumentException if the states do not fit in one array.
+     */
+    public SystemSolution solve(DifferentialSystem f, double[] y0, double[] tSpan, int subSteps) {
+        int n = tSpan.length;
+        int dim = y0.length;
+        double[] y = new double[flatLength(n, dim)];
+        Stepper stepper = new Stepper(f, y0);
+
+        System.arraycopy(y0, 0, y, 0, dim);
+        for (int i = 0; i < n - 1; i++) {
+            double t = tSpan[i];
+            double intervalH = (tSpan[i + 1] - tSpan[i]) / subSteps;
+            for (int s = 0; s < subSteps; s++) {
+                stepper.step(t, intervalH);
+                t += intervalH;
+            }
+            System.arraycopy(stepper.state, 0, y, (i + 1) * dim, dim);
+        }
+
+        return new SystemSolution(tSpan, y, dim);
+    }
+
+    /**
+     * Solve the same system of ODEs from many initial states, on the common
+     * pool. See
+     * {@link #solveEnsemble(EnsembleSystem, int, double[], double[], int, boolean, ForkJoinPool)}.
+     *
+     * @param f         The system dy/dt = f(t, y), for a batch of members
+     * @param dimension Number of components of each state
+     * @param y0        Initial states, component j of member m at
+     *                  {@code y0[j * members + m]}
+     * @param tSpan     Array of time points where solution is desired
+     * @param subSteps  Number of internal steps between each user-specified
+     *                  time point. Use 1 for no sub-stepping.
+     * @param finalOnly Whether to keep only the states at the last time point
+     * @return EnsembleSolution object containing the stored time points and
+     *         states
+     * @throws IllegalArgumentException if dimension is not positive, the
+     *                                  length of y0 is not a multiple of it,
+     *                                  tSpan is empty or the states do not fit
+     *                                  in one array.
+     */
+    public EnsembleSolution solveEnsemble(EnsembleSystem f, int dimension, double[] y0, double[] tSpan, int subSteps,
+            boolean finalOnly) {
+        return solveEnsemble(f, dimension, y0, tSpan, subSteps, finalOnly, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Solve the same system of ODEs from many initial states, for example a
+     * Monte Carlo parameter sweep. Members are integrated in lock-step in
+     * batches of up to 1024, with states as structure of arrays so that the
+     * RK4 stage updates and the derivative loops run over contiguous memory;
+     * the batches are tasks on the given pool. Each batch allocates its state
+     * and stage arrays once, and each member gets the same results as a
+     * separate {@link #solve(DifferentialSystem, double[], double[], int)}.
+     *
+     * @param f         The system dy/dt = f(t, y), for a batch of members
+     * @param dimension Number of components of each state
+     * @param y0        Initial states, component j of member m at
+     *                  {@code y0[j * members + m]}
+     * @param tSpan     Array of time points where solution is desired
+     * @param subSteps  Number of internal steps between each user-specified
+     *                  time point. Use 1 for no sub-stepping.
+     * @param finalOnly Whether to keep only the states at the last time point,
+     *                  which needs memory for one state per member instead of
+     *                  one per member and time point
+     * @param pool      The pool to run the batches on
+     * @return EnsembleSolution object containing the stored time points and
+     *         states
+     * @throws IllegalArgumentException if dimension is not positive, the
+     *                                  length of y0 is not a multiple of it,
+     *                                  tSpan is empty or the states do not fit
+     *                                  in one array.
+     */
+    public EnsembleSolution solveEnsemble(EnsembleSystem f, int dimension, double[] y0, double[] tSpan, int subSteps,
+            boolean finalOnly, ForkJoinPool pool) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("Dimension must be positive.");
+        }
+        if (y0.length % dimension != 0) {
+            throw new IllegalArgumentException("Length of y0 must be a multiple of the dimension.");
+        }
+        if (tSpan.length == 0) {
+            throw new IllegalArgumentException("tSpan must not be empty.");
+        }
+        int members = y0.length / dimension;
+        double[] t = finalOnly ? new double[] { tSpan[tSpan.length - 1] } : tSpan;
+        double[] y = new double[flatLength(t.length, y0.length)];
+
+        int chunks = (members + ENSEMBLE_CHUNK - 1) / ENSEMBLE_CHUNK;
+        if (chunks <= 1) {
+            integrateChunk(f, dimension, members, y0, tSpan, subSteps, finalOnly, y, 0, members);
+        } else {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+            for (int c = 0; c < chunks; c++) {
+                int from = c * ENSEMBLE_CHUNK;
+                int size = Math.min(ENSEMBLE_CHUNK, members - from);
+                tasks.add(ForkJoinTask.adapt(
+                        () -> integrateChunk(f, dimension, members, y0, tSpan, subSteps, finalOnly, y, from, size)));
+            }
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        }
+        return new EnsembleSolution(t, y, dimension, members);
+    }
+
+    /**
+     * Integrates members {@code [from, from + size)}, copying their states
+     * between the ensemble layout and a batch of their own.
+     */
+    private static void integrateChunk(EnsembleSystem f, int dim, int members, double[] y0, double[] tSpan,
+            int subSteps, boolean finalOnly, double[] out, int from, int size) {
+        double[] batch = new double[dim * size];
+        for (int j = 0; j < dim; j++) {
+            System.arraycopy(y0, j * members + from, batch, j * size, size);
+        }
+        Stepper stepper = new Stepper((t, y, dydt) -> f.derivative(t, y, dydt, from, size), batch);
+        int n = tSpan.length;
+        if (!finalOnly || n == 1) {
+            store(stepper.state, dim, size, out, 0, members, from);
+        }
+        for (int i = 0; i < n - 1; i++) {
+            double t = tSpan[i];
+            double intervalH = (tSpan[i + 1] - tSpan[i]) / subSteps;
+            for (int s = 0; s < subSteps; s++) {
+                stepper.step(t, intervalH);
+                t += intervalH;
+            }
+            if (!finalOnly) {
+                store(stepper.state, dim, size, out, i + 1, members, from);
+            } else if (i == n - 2) {
+                store(stepper.state, dim, size, out, 0, members, from);
+            }
+        }
+    }
+
+    private static void store(double[] batch, int dim, int size, double[] out, int slot, int members, int from) {
+        for (int j = 0; j < dim; j++) {
+            System.arraycopy(batch, j * size, out, (slot * dim + j) * members + from, size);
+        }
+    }
+
+    private static int flatLength(int steps, int dim) {
+        long length = (long) steps * dim;
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Solution of " + steps + " time points x " + dim
+                    + " components does not fit in one array");
+        }
+        return (int) length;
+    }
+
+    /**
+     * RK4 steps of a system in place on one state, with the stages in scratch
+     * arrays. The arithmetic is that of the scalar solver, component by
+     * component.
+     */
+    private static final class Stepper {
+        private final DifferentialSystem f;
+        private final double[] state;
+        private final double[] k1;
+        private final double[] k2;
+        private final double[] k3;
+        private final double[] k4;
+        private final double[] stage;
+
+        Stepper(DifferentialSystem f, double[] y0) {
+            int dim = y0.length;
+            this.f = f;
+            this.state = y0.clone();
+            this.k1 = new double[dim];
+            this.k2 = new double[dim];
+            this.k3 = new double[dim];
+            this.k4 = new double[dim];
+            this.stage = new double[dim];
+        }
+
+        void step(double t, double h) {
+            int dim = state.length;
+            f.derivative(t, state, k1);
+            for (int j = 0; j < dim; j++) {
+                k1[j] *= h;
+                stage[j] = state[j] + k1[j] / 2.0;
+            }
+            f.derivative(t + h / 2.0, stage, k2);
+            for (int j = 0; j < dim; j++) {
+                k2[j] *= h;
+                stage[j] = state[j] + k2[j] / 2.0;
+            }
+            f.derivative(t + h / 2.0, stage, k3);
+            for (int j = 0; j < dim; j++) {
+                k3[j] *= h;
+                stage[j] = state[j] + k3[j];
+            }
+            f.derivative(t + h, stage, k4);
+            for (int j = 0; j < dim; j++) {
+                k4[j] *= h;
+                state[j] = state[j] + (k1[j] + 2 * k2[j] + 2 * k3[j] + k4[j]) / 6.0;
+            }
+        }
+    }
 }
@@ -0,0 +1,253 @@
+package com.hissain.jscipy.math;
+
+import java.util.Arrays;
+
+/**
+ * Interpolation on a rectilinear grid in any number of dimensions, like
+ * SciPy's {@code RegularGridInterpolator}.
+ * <p>
+ * Values are one flat array in row-major order, the last axis varying
+ * fastest, so the value at grid index {@code (i0, ..., id)} is at
+ * {@code sum(i * stride)}. Query points are flat too, one point of d
+ * coordinates after the other. A point costs one interval lookup per axis,
+ * with {@link Breakpoints} so that nearby consecutive points are found by a
+ * short walk, and a tensor contraction over the 2^d (linear) or 4^d (cubic)
+ * surrounding values: a dot product over contiguous values along the last
+ * axis, then over the partial sums one axis at a time. For the cubic method
+ * the tensor-product spline coefficients are solved for once, axis by axis,
+ * when the interpolator is built. Long query arrays are split across
+ * threads.
+ * <p>
+ * Instances are immutable and thread-safe.
+ */
+public final class RegularGridInterpolator {
+
+    private static final int CUBIC_DEGREE = 3;
+
+    private final GridInterpolationMethod method;
+    private final int dims;
+    private final double[][] grid;
+    private final int[] strides;
+    /** The values, or for the cubic method the spline coefficients. */
+    private final double[] coefficients;
+    /** Per axis: the grid points, or for the cubic method the knots t[3 .. n]. */
+    private final Breakpoints[] axes;
+    private final double[][] knots;
+    /** Values taking part in one evaluation along each axis. */
+    private final int support;
+
+    /**
+     * @param grid   The grid points along each axis, each strictly increasing.
+     * @param values The values in row-major order, the last axis fastest.
+     * @param method The interpolation method.
+     * @throws IllegalArgumentException if there are no axes, an axis has too
+     *                                  few points for the method or is not
+     *                                  strictly increasing, or the number of
+     *                                  values does not match the grid.
+     */
+    public RegularGridInterpolator(double[][] grid, double[] values, GridInterpolationMethod method) {
+        if (grid.length == 0) {
+            throw new IllegalArgumentException("Grid must have at least one axis");
+        }
+        int minimum = method == GridInterpolationMethod.CUBIC ? CUBIC_DEGREE + 1 : 2;
+        this.method = method;
+        this.dims = grid.length;
+        this.grid = new double[dims][];
+        this.strides = new int[dims];
+        long size = 1;
+        for (int d = dims - 1; d >= 0; d--) {
+            double[] axis = grid[d];
+            if (axis.length < minimum) {
+                throw new IllegalArgumentException(
+                        "Axis " + d + " must have at least " + minimum + " points for " + method + " interpolation");
+            }
+            for (int i = 1; i < axis.length; i++) {
+                if (!(axis[i] > axis[i - 1])) {
+                    throw new IllegalArgumentException("Axis " + d + " must be strictly increasing");
+                }
+            }
+            this.grid[d] = axis.clone();
+            strides[d] = (int) Math.min(size, Integer.MAX_VALUE);
+            size *= axis.length;
+        }
+        if (values.length != size) {
+            throw new IllegalArgumentException("Expected " + size + " values for the grid, got " + values.length);
+        }
+
+        this.axes = new Breakpoints[dims];
+        this.coefficients = values.clone();
+        if (method == GridInterpolationMethod.CUBIC) {
+            this.support = CUBIC_DEGREE + 1;
+            this.knots = new double[dims][];
+            for (int d = 0; d < dims; d++) {
+                double[] axis = this.grid[d];
+                knots[d] = BSpline.knots(axis, CUBIC_DEGREE);
+                axes[d] = new Breakpoints(Arrays.copyOfRange(knots[d], CUBIC_DEGREE, axis.length + 1));
+                solveAlong(d, new Collocation(axis, CUBIC_DEGREE, knots[d], axes[d]));
+            }
+        } else {
+            this.support = method == GridInterpolationMethod.LINEAR ? 2 : 1;
+            this.knots = null;
+            for (int d = 0; d < dims; d++) {
+                axes[d] = new Breakpoints(this.grid[d]);
+            }
+        }
+    }
+
+    /** Replaces every line of coefficients along axis d by its 1-D spline coefficients. */
+    private void solveAlong(int d, Collocation collocation) {
+        int stride = strides[d];
+        int span = stride * grid[d].length;
+        for (int outer = 0; outer < coefficients.length; outer += span) {
+            for (int inner = 0; inner < stride; inner++) {
+                collocation.solve(coefficients, outer + inner, stride);
+            }
+        }
+    }
+
+    /**
+     * @return The number of axes.
+     */
+    public int getDimension() {
+        return dims;
+    }
+
+    /**
+     * Interpolates at one point.
+     *
+     * @param point The d coordinates of the point.
+     * @return The interpolated value.
+     * @throws IllegalArgumentException if the point has the wrong number of
+     *                                  coordinates or is outside the grid.
+     */
+    public double value(double... point) {
+        if (point.length != dims) {
+            throw new IllegalArgumentException("Point must have " + dims + " coordinates");
+        }
+        double[] out = new double[1];
+        evaluate(point, out, 0, 1);
+        return out[0];
+    }
+
+    /**
+     * Interpolates at many points.
+     *
+     * @param points The points, d coordinates each, one after the other.
+     * @return The interpolated values, one per point.
+     * @throws IllegalArgumentException if the length of points is not a
+     *                                  multiple of d or a point is outside the
+     *                                  grid.
+     */
+    public double[] evaluate(double[] points) {
+        double[] out = new double[points.length / dims];
+        evaluate(points, out);
+        return out;
+    }
+
+    /**
+     * Interpolates at many points into a caller-supplied array.
+     *
+     * @param points The points, d coordinates each, one after the other.
+     * @param out    Receives the values; at least one per point.
+     * @throws IllegalArgumentException if the length of points is not a
+     *                                  multiple of d or a point is outside the
+     *                                  grid.
+     */
+    public void evaluate(double[] points, double[] out) {
+        if (points.length % dims != 0) {
+            throw new IllegalArgumentException("Length of points must be a multiple of " + dims);
+        }
+        int n = points.length / dims;
+        Blocks.forEach(n, (from, to) -> evaluate(points, out, from, to));
+    }
+
+    private void evaluate(double[] points, double[] out, int from, int to) {
+        int[] hints = new int[dims];
+        double[] weights = new double[dims * support];
+        double[] partial = new double[pow(support, dims - 1)];
+        int[] counter = new int[dims];
+        double[] basis = new double[support];
+        double[] left = new double[support];
+        double[] right = new double[support];
+        for (int q = from; q < to; q++) {
+            int base = 0;
+            for (int d = 0; d < dims; d++) {
+                double v = points[q * dims + d];
+                double[] axis = grid[d];
+                if (!(v >= axis[0] && v <= axis[axis.length - 1])) {
+                    throw new IllegalArgumentException("Value " + v + " is outside the grid along axis " + d
+                            + " [" + axis[0] + ", " + axis[axis.length - 1] + "]");
+                }
+                int i = axes[d].interval(v, hints[d]);
+                hints[d] = i;
+                switch (method) {
+                    case NEAREST:
+                        base += (v - axis[i] <= axis[i + 1] - v ? i : i + 1) * strides[d];
+                        break;
+                    case LINEAR:
+                        double f = (v - axis[i]) / (axis[i + 1] - axis[i]);
+                        weights[2 * d] = 1.0 - f;
+                        weights[2 * d + 1] = f;
+                        base += i * strides[d];
+                        break;
+                    default:
+                        // Coefficients i .. i + 3 are the ones non-zero on knot interval 3 + i
+                        Collocation.basis(knots[d], CUBIC_DEGREE, CUBIC_DEGREE + i, v, basis, left, right);
+                        System.arraycopy(basis, 0, weights, d * support, support);
+                        base += i * strides[d];
+                        break;
+                }
+            }
+            out[q] = support == 1 ? coefficients[base] : contract(base, weights, partial, counter);
+        }
+    }
+
+    /**
+     * Sum over the support block starting at base of the coefficients times
+     * the weights of their index along every axis.
+     */
+    private double contract(int base, double[] weights, double[] partial, int[] counter) {
+        int last = dims - 1;
+        int lines = partial.length;
+        int w = last * support;
+        int offset = base;
+        // Dot products along the last axis, over contiguous coefficients
+        for (int line = 0; line < lines; line++) {
+            double sum = 0.0;
+            for (int j = 0; j < support; j++) {
+                sum += weights[w + j] * coefficients[offset + j];
+            }
+            partial[line] = sum;
+            // Next line: an odometer over axes last - 1 .. 0
+            for (int d = last - 1; d >= 0; d--) {
+                if (++counter[d] < support) {
+                    offset += strides[d];
+                    break;
+                }
+                counter[d] = 0;
+                offset -= (support - 1) * strides[d];
+            }
+        }
+        // Then the partial sums, one axis at a time
+        for (int d = last - 1; d >= 0; d--) {
+            lines /= support;
+            w = d * support;
+            for (int line = 0; line < lines; line++) {
+                double sum = 0.0;
+                for (int j = 0; j < support; j++) {
+                    sum += weights[w + j] * partial[line * support + j];
+                }
+                partial[line] = sum;
+            }
+        }
+        return partial[0];
+    }
+
+    private static int pow(int base, int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+}
@@ -1,5 +1,7 @@
 package com.hissain.jscipy.signal;
 
+import com.hissain.jscipy.signal.util.VectorOps;
+
 /**
  * Utility class for signal convolution.
  * Provides 1D and 2D convolution operations with various boundary modes.
@@ -28,23 +30,16 @@ public class Convolve {
     public double[] convolve(double[] signal, double[] window, ConvolutionMode mode) {
         int n = signal.length;
         int m = window.length;
-        int resultLen;
-
-        switch (mode) {
-            case FULL:
-                resultLen = n + m - 1;
-                break;
-            case VALID:
-                resultLen = Math.max(n, m) - Math.min(n, m) + 1;
-                break;
-            case SAME:
-            default:
-                resultLen = Math.max(n, m);
-                break;
-        }
+        int resultLen = resultLength(n, m, mode);
 
         double[] result = new double[resultLen];
 
+        // Reversed kernel turns each output sample into a forward dot product
+        double[] reversed = new double[m];
+        for (int i = 0; i < m; i++) {
+            reversed[i] = window[m - 1 - i];
+        }
+
         // For 'same' mode, we need to determine the starting offset in the full
         // convolution
         // effectively centering the result.
@@ -56,12 +51,7 @@ public class Convolve {
         // y[k] = sum_j (signal[j] * window[k-j])
 
         // Offset shift for result index k to mapped full-convolution index
-        int kShift = 0;
-        if (mode == ConvolutionMode.SAME) {
-            kShift = (m - 1) / 2;
-        } else if (mode == ConvolutionMode.VALID) {
-            kShift = m - 1;
-        }
+        int kShift = shift(m, mode);
 
         for (int i = 0; i < resultLen; i++) {
             // k is the index in the "full" convolution that corresponds to result[i]
@@ -77,14 +67,65 @@ public class Convolve {
             int startJ = Math.max(0, k - m + 1);
             int endJ = Math.min(n - 1, k);
 
-            for (int j = startJ; j <= endJ; j++) {
-                sum += signal[j] * window[k - j];
+            // window[k - j] == reversed[m - 1 - k + j]
+            if (endJ >= startJ) {
+                sum = VectorOps.dot(signal, startJ, reversed, m - 1 - k + startJ, endJ - startJ + 1);
             }
             result[i] = sum;
         }
         return result;
     }
 
+    /**
+     * Convolves two single-precision 1D signals. Products are accumulated in
+     * double precision and each output sample is rounded once to float.
+     *
+     * @param signal The input signal.
+     * @param window The kernel/window to convolve with.
+     * @param mode   The convolution mode (FULL, SAME, VALID).
+     * @return The convolved signal.
+     */
+    public float[] convolve(float[] signal, float[] window, ConvolutionMode mode) {
+        int n = signal.length;
+        int m = window.length;
+        float[] result = new float[resultLength(n, m, mode)];
+        int kShift = shift(m, mode);
+
+        for (int i = 0; i < result.length; i++) {
+            int k = i + kShift;
+            double sum = 0;
+            int startJ = Math.max(0, k - m + 1);
+            int endJ = Math.min(n - 1, k);
+            for (int j = startJ; j <= endJ; j++) {
+                sum += (double) signal[j] * window[k - j];
+            }
+            result[i] = (float) sum;
+        }
+        return result;
+    }
+
+    private static int resultLength(int n, int m, ConvolutionMode mode) {
+        switch (mode) {
+            case FULL:
+                return n + m - 1;
+            case VALID:
+                return Math.max(n, m) - Math.min(n, m) + 1;
+            case SAME:
+            default:
+                return Math.max(n, m);
+        }
+    }
+
+    // Offset from a result index to the corresponding full-convolution index
+    private static int shift(int m, ConvolutionMode mode) {
+        if (mode == ConvolutionMode.SAME) {
+            return (m - 1) / 2;
+        } else if (mode == ConvolutionMode.VALID) {
+            return m - 1;
+        }
+        return 0;
+    }
+
     /**
      * Convolves two 2D signals (matrices).
      *
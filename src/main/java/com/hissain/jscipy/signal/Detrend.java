@@ -1,5 +1,8 @@
 package com.hissain.jscipy.signal;
 
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
 /**
  * Implementation for removing trends from signals.
  * <p>
@@ -13,6 +16,9 @@ package com.hissain.jscipy.signal;
  */
 public class Detrend {
 
+    /** Signals at least this long are detrended segment-parallel. */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
     public double[] detrend(double[] signal, DetrendType type) {
         if (signal == null) {
             throw new NullPointerException("Signal cannot be null");
@@ -21,67 +27,332 @@ public class Detrend {
             return new double[0];
         }
 
-        if (type == DetrendType.CONSTANT) {
-            return detrendConstant(signal);
-        } else if (type == DetrendType.LINEAR) {
-            return detrendLinear(signal);
-        } else {
-            // Should theoretically not happen if Enum is used, unless null is passed.
-            if (type == null) {
-                throw new IllegalArgumentException("Detrend type cannot be null.");
-            }
-            throw new IllegalArgumentException("Unsupported detrend type: " + type);
-        }
+        checkType(type);
+        double[] result = signal.clone();
+        detrendInto(result, 0, result.length, type);
+        return result;
     }
 
     public double[] detrend(double[] signal) {
         return detrend(signal, DetrendType.LINEAR);
     }
 
-    private double[] detrendConstant(double[] signal) {
-        double sum = 0;
-        for (double v : signal) {
-            sum += v;
+    /**
+     * Removes a piecewise trend, like {@code scipy.signal.detrend(data, type, bp)}.
+     * With LINEAR, a separate line is fitted between consecutive breakpoints;
+     * CONSTANT ignores the breakpoints and removes the mean, as SciPy does.
+     *
+     * @param signal The input signal.
+     * @param type   The type of detrending (LINEAR or CONSTANT).
+     * @param bp     Breakpoint indices in {@code [0, signal.length]}; null or
+     *               empty for a single segment.
+     * @return The detrended signal.
+     */
+    public double[] detrend(double[] signal, DetrendType type, int[] bp) {
+        checkType(type);
+        if (type == DetrendType.CONSTANT) {
+            return detrend(signal, type);
         }
-        double mean = sum / signal.length;
+        return detrend(signal, 1, bp);
+    }
 
-        double[] result = new double[signal.length];
-        for (int i = 0; i < signal.length; i++) {
-            result[i] = signal[i] - mean;
+    /**
+     * Removes a piecewise polynomial trend: between consecutive breakpoints,
+     * the least-squares polynomial of the given order is fitted and subtracted.
+     * Order 0 removes each segment's mean, order 1 its line.
+     * <p>
+     * Each segment is solved from its own normal equations, with the sample
+     * index mapped to [-1, 1] to keep them well conditioned. Segments with
+     * fewer than {@code order + 1} samples are fitted exactly. Long signals
+     * with several segments are processed in parallel.
+     *
+     * @param signal The input signal.
+     * @param order  The polynomial order, non-negative.
+     * @param bp     Breakpoint indices in {@code [0, signal.length]}; null or
+     *               empty for a single segment.
+     * @return The detrended signal.
+     */
+    public double[] detrend(double[] signal, int order, int[] bp) {
+        if (signal == null) {
+            throw new NullPointerException("Signal cannot be null");
+        }
+        if (order < 0) {
+            throw new IllegalArgumentException("Polynomial order must be non-negative.");
+        }
+        int[] edges = segmentEdges(signal.length, bp);
+        double[] result = signal.clone();
+        int segments = edges.length - 1;
+        IntStream range = IntStream.range(0, segments);
+        if (segments > 1 && signal.length >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
         }
+        range.forEach(s -> removePolynomial(result, edges[s], edges[s + 1] - edges[s], order));
         return result;
     }
 
-    private double[] detrendLinear(double[] signal) {
-        int n = signal.length;
-        if (n < 2) {
-            return new double[n]; // Cannot fit a line with less than 2 points (or result is 0s)
-            // Scipy behavior for 1 point? It probably returns 0.
-            // Let's assume standard least squares works or we handle it.
-            // If n=1, mean is the point, so constant detrend returns 0. Linear also 0.
+    /**
+     * Sorted, de-duplicated segment boundaries including 0 and n, as SciPy
+     * builds them from {@code bp}.
+     */
+    private static int[] segmentEdges(int n, int[] bp) {
+        int[] points = new int[(bp == null ? 0 : bp.length) + 2];
+        points[0] = 0;
+        points[1] = n;
+        for (int i = 0; bp != null && i < bp.length; i++) {
+            if (bp[i] < 0 || bp[i] > n) {
+                throw new IllegalArgumentException("Breakpoints must be in [0, " + n + "]: " + bp[i]);
+            }
+            points[i + 2] = bp[i];
+        }
+        Arrays.sort(points);
+        int count = 1;
+        for (int i = 1; i < points.length; i++) {
+            if (points[i] != points[count - 1]) {
+                points[count++] = points[i];
+            }
+        }
+        return count == 1 ? new int[] { 0, 0 } : Arrays.copyOf(points, count);
+    }
+
+    /**
+     * Fits and subtracts a polynomial over {@code x[offset .. offset + len)}
+     * in place, solving the (order + 1) x (order + 1) normal equations by
+     * Gaussian elimination with partial pivoting.
+     */
+    private static void removePolynomial(double[] x, int offset, int len, int order) {
+        if (len == 0) {
+            return;
+        }
+        int d = Math.min(order, len - 1);
+        int size = d + 1;
+        double scale = len > 1 ? 2.0 / (len - 1) : 0.0;
+
+        // Moments sum(t^k), k = 0..2d, and right-hand side sum(t^j * y)
+        double[] moments = new double[2 * d + 1];
+        double[] rhs = new double[size];
+        for (int i = 0; i < len; i++) {
+            double t = i * scale - 1.0;
+            double y = x[offset + i];
+            double p = 1.0;
+            for (int k = 0; k <= 2 * d; k++) {
+                moments[k] += p;
+                if (k < size) {
+                    rhs[k] += p * y;
+                }
+                p *= t;
+            }
+        }
+
+        double[][] a = new double[size][size];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                a[r][c] = moments[r + c];
+            }
+        }
+        for (int col = 0; col < size; col++) {
+            int pivot = col;
+            for (int r = col + 1; r < size; r++) {
+                if (Math.abs(a[r][col]) > Math.abs(a[pivot][col])) {
+                    pivot = r;
+                }
+            }
+            double[] rowTmp = a[col];
+            a[col] = a[pivot];
+            a[pivot] = rowTmp;
+            double tmp = rhs[col];
+            rhs[col] = rhs[pivot];
+            rhs[pivot] = tmp;
+            for (int r = col + 1; r < size; r++) {
+                double f = a[r][col] / a[col][col];
+                for (int c = col; c < size; c++) {
+                    a[r][c] -= f * a[col][c];
+                }
+                rhs[r] -= f * rhs[col];
+            }
+        }
+        double[] coef = new double[size];
+        for (int r = size - 1; r >= 0; r--) {
+            double sum = rhs[r];
+            for (int c = r + 1; c < size; c++) {
+                sum -= a[r][c] * coef[c];
+            }
+            coef[r] = sum / a[r][r];
+        }
+
+        for (int i = 0; i < len; i++) {
+            double t = i * scale - 1.0;
+            double fit = coef[d];
+            for (int k = d - 1; k >= 0; k--) {
+                fit = fit * t + coef[k];
+            }
+            x[offset + i] -= fit;
         }
+    }
 
-        double sumX = 0;
+    /**
+     * Removes the trend from a range of an array in place, without allocating.
+     * The range is detrended as if it were a signal of its own, so the same
+     * call serves whole signals and the segments of spectral estimators.
+     *
+     * @param segment The array to modify.
+     * @param offset  Index of the first sample of the range.
+     * @param len     Number of samples in the range.
+     * @param type    The type of detrending (LINEAR or CONSTANT).
+     */
+    public void detrendInto(double[] segment, int offset, int len, DetrendType type) {
+        checkType(type);
+        if (len == 0) {
+            return;
+        }
         double sumY = 0;
         double sumXY = 0;
-        double sumXX = 0;
-
-        for (int i = 0; i < n; i++) {
-            double x = i;
-            double y = signal[i];
-            sumX += x;
+        for (int i = 0; i < len; i++) {
+            double y = segment[offset + i];
             sumY += y;
-            sumXY += x * y;
-            sumXX += x * x;
+            sumXY += i * y;
+        }
+        double slope = slope(len, sumY, sumXY, type);
+        double intercept = intercept(len, sumY, slope, type);
+        for (int i = 0; i < len; i++) {
+            segment[offset + i] -= slope * i + intercept;
+        }
+    }
+
+    private static void checkType(DetrendType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Detrend type cannot be null.");
         }
+    }
 
-        double slope = (n * sumXY - sumX * sumY) / (n * sumXX - sumX * sumX);
-        double intercept = (sumY - slope * sumX) / n;
+    /**
+     * Least-squares slope over x = 0..n-1 from the running sums; the sums of x
+     * and x^2 are closed-form.
+     */
+    private static double slope(int n, double sumY, double sumXY, DetrendType type) {
+        if (type == DetrendType.CONSTANT || n < 2) {
+            return 0.0;
+        }
+        double sumX = n * (n - 1.0) / 2.0;
+        double sumXX = (n - 1) * (double) n * (2.0 * n - 1) / 6.0;
+        return (n * sumXY - sumX * sumY) / (n * sumXX - sumX * sumX);
+    }
 
-        double[] result = new double[n];
-        for (int i = 0; i < n; i++) {
-            result[i] = signal[i] - (slope * i + intercept);
+    private static double intercept(int n, double sumY, double slope, DetrendType type) {
+        if (type == DetrendType.CONSTANT || n < 2) {
+            return sumY / n;
+        }
+        return (sumY - slope * (n * (n - 1.0) / 2.0)) / n;
+    }
+
+    /**
+     * Fits the trend of a fixed-length window that slides forward over a
+     * signal, as in the segments of a spectrogram.
+     * <p>
+     * The running sums (sum of y and sum of i * y) are updated when the window
+     * hops, by removing the samples that left and adding those that entered,
+     * so a hop of {@code h} costs O(h) rather than O(length). The sums are
+     * recomputed from scratch every few hops to bound rounding drift. Samples
+     * past the end of the signal count as zeros; the signal must not be
+     * modified between fits. An instance is not thread-safe.
+     */
+    public static class Sliding {
+
+        private static final int REFRESH_HOPS = 32;
+
+        private final int length;
+        private final DetrendType type;
+        private double[] source;
+        private int start = -1;
+        private int hops;
+        private double sumY;
+        private double sumXY;
+        private double slope;
+        private double intercept;
+
+        /**
+         * @param length The window length.
+         * @param type   The type of detrending (LINEAR or CONSTANT).
+         */
+        public Sliding(int length, DetrendType type) {
+            checkType(type);
+            if (length < 1) {
+                throw new IllegalArgumentException("Window length must be positive.");
+            }
+            this.length = length;
+            this.type = type;
+        }
+
+        /**
+         * Fits the trend of {@code x[start .. start + length)}.
+         *
+         * @param x     The signal.
+         * @param start The first sample of the window.
+         */
+        public void fit(double[] x, int start) {
+            int hop = start - this.start;
+            if (x == source && hop > 0 && hop < length && hops < REFRESH_HOPS) {
+                double removedY = 0;
+                double removedXY = 0;
+                for (int i = 0; i < hop; i++) {
+                    double y = sample(x, this.start + i);
+                    removedY += y;
+                    removedXY += i * y;
+                }
+                // Shift the remaining samples' x by -hop, then add the new ones.
+                sumXY = (sumXY - removedXY) - hop * (sumY - removedY);
+                sumY -= removedY;
+                for (int i = length - hop; i < length; i++) {
+                    double y = sample(x, start + i);
+                    sumY += y;
+                    sumXY += i * y;
+                }
+                hops++;
+            } else if (x != source || hop != 0) {
+                sumY = 0;
+                sumXY = 0;
+                for (int i = 0; i < length; i++) {
+                    double y = sample(x, start + i);
+                    sumY += y;
+                    sumXY += i * y;
+                }
+                hops = 0;
+            }
+            this.source = x;
+            this.start = start;
+            this.slope = Detrend.slope(length, sumY, sumXY, type);
+            this.intercept = Detrend.intercept(length, sumY, slope, type);
+        }
+
+        /**
+         * @return The slope of the last fit (zero for CONSTANT).
+         */
+        public double slope() {
+            return slope;
+        }
+
+        /**
+         * @return The intercept of the last fit, at the first window sample.
+         */
+        public double intercept() {
+            return intercept;
+        }
+
+        /**
+         * Writes the first {@code count} detrended samples of the last fitted
+         * window to {@code out}.
+         *
+         * @param out       The destination.
+         * @param outOffset Where to write the first sample.
+         * @param count     Number of samples, at most the window length.
+         */
+        public void subtract(double[] out, int outOffset, int count) {
+            for (int i = 0; i < count; i++) {
+                out[outOffset + i] = sample(source, start + i) - (slope * i + intercept);
+            }
+        }
+
+        private static double sample(double[] x, int i) {
+            return i < x.length ? x[i] : 0.0;
         }
-        return result;
     }
 }
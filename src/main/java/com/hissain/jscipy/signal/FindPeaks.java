@@ -1,6 +1,8 @@
 package com.hissain.jscipy.signal;
 
 import java.util.*;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 /**
  * A utility class for finding peaks in a signal.
@@ -72,92 +74,375 @@ public class FindPeaks {
     public static class PeakParams {
         /** Required height of peaks. Use {@code Double.NaN} for no filter (default). */
         public double height = Double.NaN;
+        /**
+         * Required vertical distance of a peak to both of its neighbouring
+         * samples. Use {@code Double.NaN} for no filter (default).
+         */
+        public double threshold = Double.NaN;
         /**
          * Required prominence of peaks. Use {@code Double.NaN} for no filter (default).
          */
         public double prominence = Double.NaN;
+        /**
+         * Required width of peaks in samples, measured at {@link #relHeight}. Use
+         * {@code Double.NaN} for no filter (default).
+         */
+        public double width = Double.NaN;
+        /**
+         * Required number of samples in the flat top of a peak. Use -1 for no
+         * filter (default).
+         */
+        public int plateauSize = -1;
         /**
          * Required minimal distance between peaks. Use -1 for default (no distance
          * filter).
          */
         public int distance = -1;
+        /**
+         * Window length in samples limiting the prominence evaluation, as in
+         * {@link #peakProminences(double[], int[], int)}. Use -1 for no window
+         * (default).
+         */
+        public int wlen = -1;
+        /**
+         * Relative height at which peak widths are measured, as in
+         * {@link #peakWidths(double[], int[], double, double[], int[], int[], int)}. Default 0.5.
+         */
+        public double relHeight = 0.5;
     }
 
     /**
      * Finds peaks in a given signal based on specified parameters.
+     * <p>
+     * Follows {@code scipy.signal.find_peaks}. Local maxima, including flat
+     * plateaus, which are reported at their middle sample, are found in one
+     * pass that also applies the plateau size, height and threshold filters.
+     * The distance, prominence and width filters follow in that order, on
+     * primitive buffers. Every filter that is set records its values for the
+     * remaining peaks in {@link PeakResult#properties} under the scipy names:
+     * {@code plateau_sizes}, {@code left_edges}, {@code right_edges},
+     * {@code peak_heights}, {@code left_thresholds}, {@code right_thresholds},
+     * {@code prominences}, {@code left_bases}, {@code right_bases},
+     * {@code widths}, {@code width_heights}, {@code left_ips} and
+     * {@code right_ips}. Indices are stored as doubles.
      * 
      * @param x      The input signal (array of double values).
      * @param params Parameters for peak detection, can be null for default
      *               behavior.
      * @return A PeakResult object containing the peak indices and properties.
+     * @throws IllegalArgumentException if a width filter is set with a negative
+     *                                  relative height.
      */
     public PeakResult findPeaks(double[] x, PeakParams params) {
+        return find(x, params, x == null ? 1 : Math.max(1, x.length), false);
+    }
+
+    /**
+     * Finds peaks like {@link #findPeaks(double[], PeakParams)}, splitting a
+     * long signal into blocks that are processed concurrently. The result is
+     * identical to the serial one:
+     * <ul>
+     * <li>Local maxima and the plateau size, height and threshold filters run
+     * per block; a plateau belongs to the block of its first sample and may
+     * extend past the block's end.</li>
+     * <li>The distance filter is split where no suppression can cross: at a
+     * gap of at least {@code distance} between neighbouring peaks, or at a
+     * peak that outranks every peak closer than {@code distance}, which the
+     * serial filter always keeps. Each block boundary is moved to the next
+     * such point; without one, neighbouring blocks are filtered together.</li>
+     * <li>With {@code wlen > 1}, prominences are computed per block over the
+     * block's peaks extended by a halo of {@code wlen / 2} samples on each
+     * side, which covers every prominence window. Without a window the
+     * nearest higher sample can be arbitrarily far away, and prominences are
+     * computed serially.</li>
+     * <li>Widths only read between the bases and run per block.</li>
+     * </ul>
+     *
+     * @param x         The input signal.
+     * @param params    Parameters for peak detection, can be null for default
+     *                  behavior.
+     * @param blockSize Number of samples per block.
+     * @return A PeakResult object containing the peak indices and properties.
+     * @throws IllegalArgumentException if blockSize is not positive or a
+     *                                  width filter is set with a negative
+     *                                  relative height.
+     */
+    public PeakResult findPeaksParallel(double[] x, PeakParams params, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive.");
+        }
+        return find(x, params, blockSize, true);
+    }
+
+    private static PeakResult find(double[] x, PeakParams params, int blockSize, boolean parallel) {
         if (x == null || x.length == 0) {
             return new PeakResult(new int[0], new HashMap<>());
         }
-        int[] peaks = findRawPeaks(x);
-
-        if (params != null) {
-            if (!Double.isNaN(params.height)) {
-                peaks = filterByHeight(x, peaks, params.height);
-            }
-            if (params.distance > 0) {
-                peaks = filterByDistance(x, peaks, params.distance);
+        PeakParams p = params != null ? params : new PeakParams();
+        boolean byProminence = !Double.isNaN(p.prominence);
+        boolean byWidth = !Double.isNaN(p.width);
+        if (byWidth && p.relHeight < 0) {
+            throw new IllegalArgumentException("relHeight must be greater than or equal to 0.");
+        }
+        int n = x.length;
+        int blocks = (int) ((n + (long) blockSize - 1) / blockSize);
+
+        Peaks[] parts = new Peaks[blocks];
+        forEachBlock(blocks, parallel, b -> {
+            int from = b * blockSize;
+            parts[b] = localMaxima(x, from, (int) Math.min(n, (long) from + blockSize), p);
+        });
+        Peaks peaks = Peaks.concat(parts);
+        if (p.distance > 0) {
+            filterByDistance(x, peaks, p.distance, blockStarts(peaks, blockSize, blocks), parallel);
+        }
+        if (byProminence || byWidth) {
+            int m = peaks.size;
+            int[] index = peaks.index;
+            double[] prominences = new double[m];
+            int[] leftBases = new int[m];
+            int[] rightBases = new int[m];
+            if (p.wlen > 1) {
+                int half = p.wlen / 2;
+                int[] starts = blockStarts(peaks, blockSize, blocks);
+                forEachBlock(blocks, parallel, b -> {
+                    int pFrom = starts[b];
+                    int pTo = starts[b + 1];
+                    if (pFrom < pTo) {
+                        int from = Math.max(0, index[pFrom] - half);
+                        int to = (int) Math.min(n, (long) index[pTo - 1] + half + 1);
+                        prominences(x, from, to, index, pFrom, pTo, p.wlen, prominences, leftBases, rightBases);
+                    }
+                });
+            } else if (m > 0) {
+                prominences(x, 0, n, index, 0, m, p.wlen, prominences, leftBases, rightBases);
             }
-            if (!Double.isNaN(params.prominence)) {
-                peaks = filterByProminence(x, peaks, params.prominence);
+            peaks.put("prominences", prominences);
+            peaks.put("left_bases", toDouble(leftBases));
+            peaks.put("right_bases", toDouble(rightBases));
+            if (byProminence) {
+                peaks.retainAtLeast("prominences", p.prominence);
             }
         }
+        if (byWidth) {
+            int m = peaks.size;
+            int[] index = peaks.index;
+            double[] prominences = peaks.columns.get("prominences");
+            double[] leftBases = peaks.columns.get("left_bases");
+            double[] rightBases = peaks.columns.get("right_bases");
+            double[] widths = new double[m];
+            double[] widthHeights = new double[m];
+            double[] leftIps = new double[m];
+            double[] rightIps = new double[m];
+            int[] starts = blockStarts(peaks, blockSize, blocks);
+            forEachBlock(blocks, parallel, b -> {
+                double[] w = new double[4];
+                for (int i = starts[b]; i < starts[b + 1]; i++) {
+                    width(x, 0, index[i], prominences[i], (int) leftBases[i], (int) rightBases[i], p.relHeight, w);
+                    widths[i] = w[0];
+                    widthHeights[i] = w[1];
+                    leftIps[i] = w[2];
+                    rightIps[i] = w[3];
+                }
+            });
+            peaks.put("widths", widths);
+            peaks.put("width_heights", widthHeights);
+            peaks.put("left_ips", leftIps);
+            peaks.put("right_ips", rightIps);
+            peaks.retainAtLeast("widths", p.width);
+        }
+
+        return peaks.toResult();
+    }
 
-        return new PeakResult(peaks, new HashMap<>());
+    private static void forEachBlock(int blocks, boolean parallel, IntConsumer body) {
+        IntStream range = IntStream.range(0, blocks);
+        (parallel && blocks > 1 ? range.parallel() : range).forEach(body);
     }
 
     /**
-     * Finds raw peaks in a signal.
+     * For each sample block, the position of its first peak; entry
+     * {@code blocks} is the number of peaks.
      */
-    private int[] findRawPeaks(double[] signal) {
-        if (signal == null || signal.length < 3) {
-            return new int[0];
-        }
-        List<Integer> peaks = new ArrayList<>();
-
-        for (int i = 1; i < signal.length - 1; i++) {
-            if (signal[i] > signal[i - 1] && signal[i] > signal[i + 1]) {
-                peaks.add(i);
+    private static int[] blockStarts(Peaks peaks, int blockSize, int blocks) {
+        int[] starts = new int[blocks + 1];
+        int k = 0;
+        for (int b = 0; b < blocks; b++) {
+            long from = (long) b * blockSize;
+            while (k < peaks.size && peaks.index[k] < from) {
+                k++;
             }
+            starts[b] = k;
         }
-
-        return peaks.stream().mapToInt(Integer::intValue).toArray();
+        starts[blocks] = peaks.size;
+        return starts;
     }
 
     /**
-     * Filters peaks based on height.
+     * Peaks under construction: their indices and the property columns
+     * recorded so far, all of the same length.
      */
-    private int[] filterByHeight(double[] x, int[] peaks, double height) {
-        List<Integer> filteredPeaks = new ArrayList<>();
-        for (int peak : peaks) {
-            if (x[peak] >= height) {
-                filteredPeaks.add(peak);
+    private static final class Peaks {
+        int[] index;
+        int size;
+        final Map<String, double[]> columns = new HashMap<>();
+
+        Peaks(int[] index, int size) {
+            this.index = index;
+            this.size = size;
+        }
+
+        void put(String key, double[] values) {
+            columns.put(key, values);
+        }
+
+        /** Keeps the peaks whose value in the given column is at least min. */
+        void retainAtLeast(String key, double min) {
+            double[] values = columns.get(key);
+            boolean[] keep = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                keep[i] = values[i] >= min;
             }
+            retain(keep);
+        }
+
+        /** Keeps the peaks with {@code keep[i]}, compacting every column alike. */
+        void retain(boolean[] keep) {
+            int m = 0;
+            for (int i = 0; i < size; i++) {
+                if (keep[i]) {
+                    index[m++] = index[i];
+                }
+            }
+            for (double[] values : columns.values()) {
+                int k = 0;
+                for (int i = 0; i < size; i++) {
+                    if (keep[i]) {
+                        values[k++] = values[i];
+                    }
+                }
+            }
+            size = m;
+        }
+
+        /** Joins per-block results, which carry the same columns, in order. */
+        static Peaks concat(Peaks[] parts) {
+            if (parts.length == 1) {
+                return parts[0];
+            }
+            int total = 0;
+            for (Peaks part : parts) {
+                total += part.size;
+            }
+            Peaks all = new Peaks(new int[Math.max(1, total)], 0);
+            for (String key : parts[0].columns.keySet()) {
+                all.put(key, new double[total]);
+            }
+            for (Peaks part : parts) {
+                System.arraycopy(part.index, 0, all.index, all.size, part.size);
+                for (Map.Entry<String, double[]> e : part.columns.entrySet()) {
+                    System.arraycopy(e.getValue(), 0, all.columns.get(e.getKey()), all.size, part.size);
+                }
+                all.size += part.size;
+            }
+            return all;
+        }
+
+        PeakResult toResult() {
+            Map<String, double[]> properties = new HashMap<>();
+            for (Map.Entry<String, double[]> e : columns.entrySet()) {
+                properties.put(e.getKey(), Arrays.copyOf(e.getValue(), size));
+            }
+            return new PeakResult(Arrays.copyOf(index, size), properties);
         }
-        return filteredPeaks.stream().mapToInt(Integer::intValue).toArray();
     }
 
     /**
-     * Filters peaks based on prominence.
+     * Local maxima of x whose run starts in {@code [from, to)}, as
+     * {@code scipy.signal._peak_finding_utils._local_maxima_1d}: a run of
+     * equal samples with a lower sample on both sides is one peak, at the
+     * middle of the run (rounded down). The plateau size, height and
+     * threshold filters only look at the run and its neighbours, so they are
+     * applied in the same pass.
      */
-    private int[] filterByProminence(double[] x, int[] peaks, double minProminence) {
-        // Calculate prominences using the newly refactored public method
-        ProminenceResult result = peakProminences(x, peaks, -1);
-        double[] prominences = result.prominences;
+    private static Peaks localMaxima(double[] x, int from, int to, PeakParams p) {
+        boolean byPlateau = p.plateauSize >= 0;
+        boolean byHeight = !Double.isNaN(p.height);
+        boolean byThreshold = !Double.isNaN(p.threshold);
+        int[] index = new int[16];
+        int[] left = new int[16];
+        int[] right = new int[16];
+        int size = 0;
+
+        int iMax = x.length - 1;
+        int end = Math.min(to, iMax);
+        // A rise into i marks the start of a run, wherever the scan begins
+        int i = Math.max(1, from);
+        while (i < end) {
+            if (x[i - 1] < x[i]) {
+                int ahead = i + 1;
+                while (ahead < iMax && x[ahead] == x[i]) {
+                    ahead++;
+                }
+                if (x[ahead] < x[i]) {
+                    int peak = (i + ahead - 1) >>> 1;
+                    double h = x[peak];
+                    boolean keep = !(byPlateau && ahead - i < p.plateauSize)
+                            && !(byHeight && h < p.height)
+                            && !(byThreshold && !(Math.min(h - x[peak - 1], h - x[peak + 1]) >= p.threshold));
+                    if (keep) {
+                        if (size == index.length) {
+                            index = Arrays.copyOf(index, 2 * size);
+                            left = Arrays.copyOf(left, 2 * size);
+                            right = Arrays.copyOf(right, 2 * size);
+                        }
+                        index[size] = peak;
+                        left[size] = i;
+                        right[size] = ahead - 1;
+                        size++;
+                    }
+                    i = ahead;
+                }
+            }
+            i++;
+        }
 
-        List<Integer> filteredPeaks = new ArrayList<>();
-        for (int i = 0; i < peaks.length; i++) {
-            if (prominences[i] >= minProminence) {
-                filteredPeaks.add(peaks[i]);
+        Peaks peaks = new Peaks(index, size);
+        if (byPlateau) {
+            double[] sizes = new double[size];
+            for (int k = 0; k < size; k++) {
+                sizes[k] = right[k] - left[k] + 1;
+            }
+            peaks.put("plateau_sizes", sizes);
+            peaks.put("left_edges", toDouble(Arrays.copyOf(left, size)));
+            peaks.put("right_edges", toDouble(Arrays.copyOf(right, size)));
+        }
+        if (byHeight) {
+            double[] heights = new double[size];
+            for (int k = 0; k < size; k++) {
+                heights[k] = x[index[k]];
             }
+            peaks.put("peak_heights", heights);
+        }
+        if (byThreshold) {
+            double[] leftThresholds = new double[size];
+            double[] rightThresholds = new double[size];
+            for (int k = 0; k < size; k++) {
+                leftThresholds[k] = x[index[k]] - x[index[k] - 1];
+                rightThresholds[k] = x[index[k]] - x[index[k] + 1];
+            }
+            peaks.put("left_thresholds", leftThresholds);
+            peaks.put("right_thresholds", rightThresholds);
+        }
+        return peaks;
+    }
+
+    private static double[] toDouble(int[] values) {
+        double[] out = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            out[i] = values[i];
         }
-        return filteredPeaks.stream().mapToInt(Integer::intValue).toArray();
+        return out;
     }
 
     /**
@@ -166,6 +451,11 @@ public class FindPeaks {
      * The prominence of a peak measures how much a peak stands out from the
      * surrounding baseline of the signal and is defined as the vertical distance
      * between the peak and its lowest contour line.
+     * <p>
+     * The nearest higher sample on each side of every peak, and the minimum in
+     * between, come from two monotonic-stack passes over x; ranges cut short by
+     * {@code wlen} are answered by a range-minimum index. The cost is
+     * O(n + peaks * log n) regardless of how far the bases are from the peaks.
      *
      * @param x     The signal data.
      * @param peaks Indices of peaks in x.
@@ -179,58 +469,188 @@ public class FindPeaks {
         double[] prominences = new double[nPeaks];
         int[] leftBases = new int[nPeaks];
         int[] rightBases = new int[nPeaks];
+        if (nPeaks > 0) {
+            prominences(x, 0, x.length, peaks, 0, nPeaks, wlen, prominences, leftBases, rightBases);
+        }
+        return new ProminenceResult(prominences, leftBases, rightBases);
+    }
 
+    /**
+     * Prominences of {@code peaks[pFrom .. pTo)}, written to the same
+     * positions of the output arrays, reading only {@code x[from .. to)}. The
+     * result equals the whole-signal one when that range holds every peak's
+     * {@code wlen} window.
+     */
+    private static void prominences(double[] x, int from, int to, int[] peaks, int pFrom, int pTo, int wlen,
+            double[] prominences, int[] leftBases, int[] rightBases) {
+        int nPeaks = pTo - pFrom;
+
+        // For every peak: the lowest point (and its leftmost / rightmost index)
+        // between the peak and the nearest strictly higher sample on each side.
+        int[] order = positionOrder(peaks, pFrom, pTo);
+        double[] leftMin = new double[nPeaks];
+        int[] leftBase = new int[nPeaks];
+        int[] leftLimit = new int[nPeaks];
+        double[] rightMin = new double[nPeaks];
+        int[] rightBase = new int[nPeaks];
+        int[] rightLimit = new int[nPeaks];
+        sweepToHigher(x, from, to, peaks, pFrom, order, true, leftMin, leftBase, leftLimit);
+        sweepToHigher(x, from, to, peaks, pFrom, order, false, rightMin, rightBase, rightLimit);
+
+        RangeMin rmq = null;
         for (int i = 0; i < nPeaks; i++) {
-            int peak = peaks[i];
-            double peakHeight = x[peak];
+            int peak = peaks[pFrom + i];
 
             // Define search range based on wlen
-            int iMin = 0;
-            int iMax = x.length - 1;
+            int iMin = from;
+            int iMax = to - 1;
             if (wlen > 1) {
                 int halfWin = wlen / 2;
-                iMin = Math.max(0, peak - halfWin);
-                iMax = Math.min(x.length - 1, peak + halfWin);
+                iMin = Math.max(from, peak - halfWin);
+                iMax = Math.min(to - 1, peak + halfWin);
             }
 
-            // Find left base
-            double leftMin = peakHeight; // Start with peak height
-            int leftBase = peak;
-
-            // Search left
-            for (int j = peak - 1; j >= iMin; j--) {
-                if (x[j] > peakHeight) {
-                    break;
+            // The window cuts the search short of the higher sample: query the range
+            if (leftLimit[i] < iMin || rightLimit[i] > iMax) {
+                if (rmq == null) {
+                    rmq = new RangeMin(x, from, to);
                 }
-                if (x[j] <= leftMin) {
-                    leftMin = x[j];
-                    leftBase = j;
+                if (leftLimit[i] < iMin) {
+                    leftMin[i] = rmq.min(iMin, peak);
+                    leftBase[i] = rmq.first(iMin, peak, leftMin[i]);
+                }
+                if (rightLimit[i] > iMax) {
+                    rightMin[i] = rmq.min(peak, iMax);
+                    rightBase[i] = rmq.last(peak, iMax, rightMin[i]);
                 }
             }
 
-            // Find right base
-            double rightMin = peakHeight;
-            int rightBase = peak;
+            prominences[pFrom + i] = x[peak] - Math.max(leftMin[i], rightMin[i]);
+            leftBases[pFrom + i] = leftBase[i];
+            rightBases[pFrom + i] = rightBase[i];
+        }
+    }
 
-            for (int j = peak + 1; j <= iMax; j++) {
-                if (x[j] > peakHeight) {
-                    break;
-                }
-                if (x[j] <= rightMin) {
-                    rightMin = x[j];
-                    rightBase = j;
+    /**
+     * Positions {@code 0 .. pTo - pFrom - 1} of {@code peaks[pFrom .. pTo)}
+     * in ascending index order (stable), without boxing.
+     */
+    private static int[] positionOrder(int[] peaks, int pFrom, int pTo) {
+        int n = pTo - pFrom;
+        int[] order = new int[n];
+        boolean sorted = true;
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+            sorted &= i == 0 || peaks[pFrom + i - 1] <= peaks[pFrom + i];
+        }
+        if (!sorted) {
+            long[] keys = new long[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = ((long) peaks[pFrom + i] << 32) | i;
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < n; i++) {
+                order[i] = (int) keys[i];
+            }
+        }
+        return order;
+    }
+
+    /**
+     * One monotonic-stack pass over {@code x[from .. to)}, leftwards-looking
+     * if {@code fromLeft}.
+     * Each stack entry carries the minimum of the samples it covers, back to
+     * the previous (strictly higher) entry; popping merges those segments, so
+     * every sample learns the minimum between itself and its nearest strictly
+     * higher sample in O(1) amortized. Ties keep the outermost index, as the
+     * linear scans do. For each peak this yields the minimum, its index, and
+     * the far end of that range.
+     */
+    private static void sweepToHigher(double[] x, int from, int to, int[] peaks, int pFrom, int[] order,
+            boolean fromLeft, double[] minOut, int[] baseOut, int[] limitOut) {
+        int n = to - from;
+        int[] stackIdx = new int[64];
+        double[] stackMin = new double[64];
+        int[] stackArg = new int[64];
+        int top = 0;
+        int k = fromLeft ? 0 : order.length - 1;
+        for (int step = 0; step < n; step++) {
+            int i = fromLeft ? from + step : to - 1 - step;
+            double xi = x[i];
+            double m = xi;
+            int arg = i;
+            while (top > 0 && x[stackIdx[top - 1]] <= xi) {
+                top--;
+                if (stackMin[top] <= m) {
+                    m = stackMin[top];
+                    arg = stackArg[top];
                 }
             }
+            int limit = top > 0 ? stackIdx[top - 1] + (fromLeft ? 1 : -1) : (fromLeft ? from : to - 1);
+            if (top == stackIdx.length) {
+                stackIdx = Arrays.copyOf(stackIdx, 2 * top);
+                stackMin = Arrays.copyOf(stackMin, 2 * top);
+                stackArg = Arrays.copyOf(stackArg, 2 * top);
+            }
+            stackIdx[top] = i;
+            stackMin[top] = m;
+            stackArg[top] = arg;
+            top++;
+
+            while (k >= 0 && k < order.length && peaks[pFrom + order[k]] == i) {
+                minOut[order[k]] = m;
+                baseOut[order[k]] = arg;
+                limitOut[order[k]] = limit;
+                k += fromLeft ? 1 : -1;
+            }
+        }
+    }
+
+    /**
+     * Prominence of one peak, searching {@code [iMin, iMax]}. Sample
+     * {@code k} is read from {@code x[k - origin]}, so a window of a longer
+     * stream can be passed with absolute indices.
+     *
+     * @param bases Receives the left and right base indices.
+     */
+    static double prominence(double[] x, int origin, int peak, int iMin, int iMax, int[] bases) {
+        double peakHeight = x[peak - origin];
+
+        // Find left base
+        double leftMin = peakHeight; // Start with peak height
+        int leftBase = peak;
+
+        // Search left
+        for (int j = peak - 1; j >= iMin; j--) {
+            double v = x[j - origin];
+            if (v > peakHeight) {
+                break;
+            }
+            if (v <= leftMin) {
+                leftMin = v;
+                leftBase = j;
+            }
+        }
 
-            // Calculate prominence
-            double refLevel = Math.max(leftMin, rightMin);
+        // Find right base
+        double rightMin = peakHeight;
+        int rightBase = peak;
 
-            prominences[i] = peakHeight - refLevel;
-            leftBases[i] = leftBase;
-            rightBases[i] = rightBase;
+        for (int j = peak + 1; j <= iMax; j++) {
+            double v = x[j - origin];
+            if (v > peakHeight) {
+                break;
+            }
+            if (v <= rightMin) {
+                rightMin = v;
+                rightBase = j;
+            }
         }
 
-        return new ProminenceResult(prominences, leftBases, rightBases);
+        bases[0] = leftBase;
+        bases[1] = rightBase;
+        // Calculate prominence
+        return peakHeight - Math.max(leftMin, rightMin);
     }
 
     /**
@@ -266,42 +686,57 @@ public class FindPeaks {
         double[] leftIps = new double[nPeaks];
         double[] rightIps = new double[nPeaks];
 
+        double[] w = new double[4];
         for (int i = 0; i < nPeaks; i++) {
-            int peak = peaks[i];
-            double p = prominences[i];
-            double height = x[peak] - p * relHeight;
-            widthHeights[i] = height;
-
-            int iMin = leftBases[i];
-            int iMax = rightBases[i];
+            width(x, 0, peaks[i], prominences[i], leftBases[i], rightBases[i], relHeight, w);
+            widths[i] = w[0];
+            widthHeights[i] = w[1];
+            leftIps[i] = w[2];
+            rightIps[i] = w[3];
+        }
 
-            // Search Left
-            int j = peak;
-            while (j > iMin && x[j] > height) {
-                j--;
-            }
-            leftIps[i] = interpolate(x, j, j + 1, height);
+        return new WidthResult(widths, widthHeights, leftIps, rightIps);
+    }
 
-            // Search Right
-            j = peak;
-            while (j < iMax && x[j] > height) {
-                j++;
-            }
-            rightIps[i] = interpolate(x, j, j - 1, height);
+    /**
+     * Width of one peak at {@code relHeight} of its prominence, searching
+     * between its bases; samples are read as in
+     * {@link #prominence(double[], int, int, int, int, int[])}.
+     *
+     * @param out Receives width, width height, left and right intersection
+     *            points.
+     */
+    static void width(double[] x, int origin, int peak, double prominence, int leftBase, int rightBase,
+            double relHeight, double[] out) {
+        double height = x[peak - origin] - prominence * relHeight;
+
+        // Search Left
+        int j = peak;
+        while (j > leftBase && x[j - origin] > height) {
+            j--;
+        }
+        double leftIp = interpolate(x, origin, j, j + 1, height);
 
-            widths[i] = rightIps[i] - leftIps[i];
+        // Search Right
+        j = peak;
+        while (j < rightBase && x[j - origin] > height) {
+            j++;
         }
+        double rightIp = interpolate(x, origin, j, j - 1, height);
 
-        return new WidthResult(widths, widthHeights, leftIps, rightIps);
+        out[0] = rightIp - leftIp;
+        out[1] = height;
+        out[2] = leftIp;
+        out[3] = rightIp;
     }
 
     /**
      * Linear interpolation to find the index where the signal crosses yVal.
      * Assumes yVal is between y[i1] and y[i2].
      */
-    private static double interpolate(double[] x, int i1, int i2, double yVal) {
-        double y1 = x[i1];
-        double y2 = x[i2];
+    private static double interpolate(double[] x, int origin, int i1, int i2, double yVal) {
+        double y1 = x[i1 - origin];
+        double y2 = x[i2 - origin];
         if (y1 == y2) {
             return i1;
         }
@@ -310,41 +745,150 @@ public class FindPeaks {
     }
 
     /**
-     * Filters peaks based on minimum distance.
+     * Filters peaks based on minimum distance: in order of decreasing height,
+     * ties going to the earlier peak, each remaining peak removes its
+     * neighbours closer than {@code distance}.
+     * <p>
+     * The peaks are cut into segments that can be filtered independently,
+     * one cut per block boundary given by {@code starts}: the first peak at or
+     * after the boundary that either is followed by a gap of at least
+     * {@code distance}, or outranks every peak closer than {@code distance}.
+     * Such a peak is kept by the serial filter and removes all its
+     * neighbours, so it is shared by both segments and nothing else crosses.
      */
-    private int[] filterByDistance(double[] x, int[] peaks, int distance) {
-        List<PeakWithHeight> peaksWithHeights = new ArrayList<>();
-        for (int peak : peaks) {
-            peaksWithHeights.add(new PeakWithHeight(peak, x[peak]));
-        }
-
-        peaksWithHeights.sort((a, b) -> Double.compare(b.height, a.height));
-
-        List<Integer> finalPeaks = new ArrayList<>();
-        boolean[] removed = new boolean[x.length];
-
-        for (PeakWithHeight pwh : peaksWithHeights) {
-            if (!removed[pwh.position]) {
-                finalPeaks.add(pwh.position);
-                for (int i = pwh.position - distance + 1; i < pwh.position + distance; i++) {
-                    if (i >= 0 && i < x.length) {
-                        removed[i] = true;
-                    }
+    private static void filterByDistance(double[] x, Peaks peaks, int distance, int[] starts, boolean parallel) {
+        int n = peaks.size;
+        int[] index = peaks.index;
+        int blocks = starts.length - 1;
+
+        // Cut c lets segment c end (exclusive) at seeEnd[c] and segment c + 1 start at own[c]
+        int[] own = new int[blocks + 1];
+        int[] seeEnd = new int[blocks + 1];
+        forEachBlock(blocks, parallel, b -> {
+            own[b] = -1;
+            for (int k = starts[b]; b > 0 && k < starts[b + 1]; k++) {
+                if (k + 1 < n && index[k + 1] - index[k] >= distance) {
+                    own[b] = seeEnd[b] = k + 1;
+                    break;
                 }
+                if (outranksNeighbours(x, index, n, k, distance)) {
+                    own[b] = k;
+                    seeEnd[b] = k + 1;
+                    break;
+                }
+            }
+        });
+        int segments = 0;
+        int[] segFrom = new int[blocks + 1];
+        int[] segTo = new int[blocks + 1];
+        int[] segOwnTo = new int[blocks + 1];
+        segFrom[0] = 0;
+        for (int b = 1; b < blocks; b++) {
+            if (own[b] > segFrom[segments]) {
+                segTo[segments] = seeEnd[b];
+                segOwnTo[segments] = own[b];
+                segments++;
+                segFrom[segments] = own[b];
             }
         }
+        segTo[segments] = n;
+        segOwnTo[segments] = n;
+        segments++;
+
+        boolean[] keep = new boolean[n];
+        forEachBlock(segments, parallel,
+                s -> keepByDistance(x, index, segFrom[s], segTo[s], segOwnTo[s], distance, keep));
+        peaks.retain(keep);
+    }
 
-        finalPeaks.sort(Comparator.naturalOrder());
-        return finalPeaks.stream().mapToInt(Integer::intValue).toArray();
+    /**
+     * The serial greedy filter on {@code index[from .. to)}, storing the
+     * outcome for {@code [from, ownTo)} in keep.
+     */
+    private static void keepByDistance(double[] x, int[] index, int from, int to, int ownTo, int distance,
+            boolean[] keep) {
+        int[] order = heightOrder(x, index, from, to);
+        boolean[] kept = new boolean[to - from];
+        Arrays.fill(kept, true);
+        for (int r = 0; r < order.length; r++) {
+            int j = order[r];
+            if (!kept[j - from]) {
+                continue;
+            }
+            for (int k = j - 1; k >= from && index[j] - index[k] < distance; k--) {
+                kept[k - from] = false;
+            }
+            for (int k = j + 1; k < to && index[k] - index[j] < distance; k++) {
+                kept[k - from] = false;
+            }
+        }
+        System.arraycopy(kept, 0, keep, from, ownTo - from);
     }
 
-    private static class PeakWithHeight {
-        int position;
-        double height;
+    /**
+     * Whether peak k ranks above every peak closer than distance: higher in
+     * {@link Double#compare} order, or as high and earlier.
+     */
+    private static boolean outranksNeighbours(double[] x, int[] index, int n, int k, int distance) {
+        double h = x[index[k]];
+        for (int q = k - 1; q >= 0 && index[k] - index[q] < distance; q--) {
+            if (Double.compare(x[index[q]], h) >= 0) {
+                return false;
+            }
+        }
+        for (int q = k + 1; q < n && index[q] - index[k] < distance; q++) {
+            if (Double.compare(x[index[q]], h) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
 
-        PeakWithHeight(int position, double height) {
-            this.position = position;
-            this.height = height;
+    /**
+     * Positions {@code from .. to-1} ordered by decreasing {@code x[index[i]]}
+     * (in {@link Double#compare} order), ties by position, without boxing. The
+     * heights are mapped to 64-bit keys whose unsigned order is the reverse of
+     * that order and sorted by a stable LSD radix sort, one byte per pass;
+     * passes on which all keys share the byte are skipped.
+     */
+    private static int[] heightOrder(double[] x, int[] index, int from, int to) {
+        int n = to - from;
+        long[] keys = new long[n];
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            long bits = Double.doubleToLongBits(x[index[from + i]]);
+            keys[i] = ~(bits ^ ((bits >> 63) | Long.MIN_VALUE));
+            order[i] = from + i;
+        }
+        if (n < 2) {
+            return order;
+        }
+        long[] keyTmp = new long[n];
+        int[] orderTmp = new int[n];
+        int[] counts = new int[257];
+        for (int shift = 0; shift < 64; shift += 8) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                counts[(int) (keys[i] >>> shift & 0xFF) + 1]++;
+            }
+            if (counts[(int) (keys[0] >>> shift & 0xFF) + 1] == n) {
+                continue;
+            }
+            for (int b = 0; b < 256; b++) {
+                counts[b + 1] += counts[b];
+            }
+            for (int i = 0; i < n; i++) {
+                int dst = counts[(int) (keys[i] >>> shift & 0xFF)]++;
+                keyTmp[dst] = keys[i];
+                orderTmp[dst] = order[i];
+            }
+            long[] k = keys;
+            keys = keyTmp;
+            keyTmp = k;
+            int[] o = order;
+            order = orderTmp;
+            orderTmp = o;
         }
+        return order;
     }
 }
@@ -0,0 +1,397 @@
+package com.hissain.jscipy.signal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Incremental peak detection over streaming data.
+ * <p>
+ * Samples are pushed in blocks of any length. A peak is reported, with its
+ * height, plateau edges, thresholds, prominence, bases and width, as soon as
+ * enough lookahead has arrived to confirm it: the end of its plateau and half
+ * a prominence window ({@code wlen / 2} samples) after the peak, and, with a
+ * distance filter, once every taller peak closer than {@code distance} has
+ * been decided. Peaks are reported in index order, and the stream as a whole
+ * yields exactly the peaks of
+ * {@link FindPeaks#findPeaks(double[], FindPeaks.PeakParams)} with the same
+ * parameters, with the properties of
+ * {@link FindPeaks#peakProminences(double[], int[], int)} and
+ * {@link FindPeaks#peakWidths(double[], int[], double, double[], int[], int[], int)}
+ * for the same {@code wlen} and {@code relHeight}.
+ * <p>
+ * A finite {@code wlen} is required; only the samples still needed by
+ * pending peaks are kept, which is about {@code wlen / 2 + distance}
+ * samples. A staircase of ever taller peaks spaced closer than
+ * {@code distance} defers decisions, and memory, until the staircase ends,
+ * since the batch distance filter also depends on all of them. An instance is
+ * not thread-safe.
+ */
+public class PeakStream {
+
+    private static final byte UNDECIDED = 0;
+    private static final byte KEPT = 1;
+    private static final byte REJECTED = 2;
+
+    /**
+     * A confirmed peak. Indices are absolute positions in the stream.
+     */
+    public static class Peak {
+        /** Index of the peak. */
+        public final int index;
+        /** Sample value at the peak. */
+        public final double height;
+        /** First sample of the peak's plateau. */
+        public final int leftEdge;
+        /** Last sample of the peak's plateau. */
+        public final int rightEdge;
+        /** Height above the preceding sample. */
+        public final double leftThreshold;
+        /** Height above the following sample. */
+        public final double rightThreshold;
+        /** Prominence within the {@code wlen} window. */
+        public final double prominence;
+        /** Index of the left base. */
+        public final int leftBase;
+        /** Index of the right base. */
+        public final int rightBase;
+        /** Width at the relative height of the parameters. */
+        public final double width;
+        /** Height at which the width was evaluated. */
+        public final double widthHeight;
+        /** Interpolated left intersection point. */
+        public final double leftIp;
+        /** Interpolated right intersection point. */
+        public final double rightIp;
+
+        Peak(int index, double height, int leftEdge, int rightEdge, double leftThreshold, double rightThreshold,
+                double prominence, int leftBase, int rightBase, double[] w) {
+            this.index = index;
+            this.height = height;
+            this.leftEdge = leftEdge;
+            this.rightEdge = rightEdge;
+            this.leftThreshold = leftThreshold;
+            this.rightThreshold = rightThreshold;
+            this.prominence = prominence;
+            this.leftBase = leftBase;
+            this.rightBase = rightBase;
+            this.width = w[0];
+            this.widthHeight = w[1];
+            this.leftIp = w[2];
+            this.rightIp = w[3];
+        }
+    }
+
+    private final double minHeight;
+    private final double minThreshold;
+    private final int minPlateauSize;
+    private final double minProminence;
+    private final double minWidth;
+    private final double relHeight;
+    private final int distance;
+    private final int half;
+
+    /** Retained samples; sample k is at {@code buf[k - bufStart]}. */
+    private double[] buf = new double[64];
+    private int bufStart;
+    /** Number of samples received. */
+    private int count;
+    /**
+     * Start of the current run of equal samples if it began with a rise, and
+     * so may still become a plateau peak; otherwise -1.
+     */
+    private int runStart = -1;
+    /** Sample before {@code runStart}. */
+    private double runBefore;
+
+    /**
+     * Candidates that passed the plateau size, height and threshold filters,
+     * in index order, in {@code [head, tail)}.
+     */
+    private int[] cIndex = new int[16];
+    private double[] cHeight = new double[16];
+    private byte[] cState = new byte[16];
+    private int[] cLeft = new int[16];
+    private int[] cRight = new int[16];
+    private double[] cLeftThreshold = new double[16];
+    private double[] cRightThreshold = new double[16];
+    private int head;
+    private int tail;
+    /** First candidate not yet decided by the distance filter. */
+    private int decidePos;
+    /** Next candidate to report or discard. */
+    private int emitPos;
+
+    private final int[] bases = new int[2];
+    private final double[] widthOut = new double[4];
+
+    /**
+     * @param params The filters of {@code find_peaks}; {@code params.wlen} must
+     *               be greater than 1.
+     * @throws IllegalArgumentException if wlen is not greater than 1 or
+     *                                  relHeight is negative.
+     */
+    public PeakStream(FindPeaks.PeakParams params) {
+        if (params.wlen <= 1) {
+            throw new IllegalArgumentException("Streaming peak detection requires wlen > 1.");
+        }
+        if (params.relHeight < 0) {
+            throw new IllegalArgumentException("relHeight must be greater than or equal to 0.");
+        }
+        this.minHeight = params.height;
+        this.minThreshold = params.threshold;
+        this.minPlateauSize = params.plateauSize;
+        this.minProminence = params.prominence;
+        this.minWidth = params.width;
+        this.relHeight = params.relHeight;
+        this.distance = params.distance;
+        this.half = params.wlen / 2;
+    }
+
+    /**
+     * Clears all state so the next input starts a new stream.
+     */
+    public void reset() {
+        bufStart = count = 0;
+        runStart = -1;
+        head = tail = decidePos = emitPos = 0;
+    }
+
+    /**
+     * Pushes one block of samples.
+     *
+     * @param block The next samples.
+     * @return The peaks confirmed by this block, in index order.
+     */
+    public List<Peak> process(double[] block) {
+        return process(block, 0, block.length);
+    }
+
+    /**
+     * Pushes a range of samples.
+     *
+     * @param in     Input buffer.
+     * @param offset Start of the block in {@code in}.
+     * @param length Number of samples.
+     * @return The peaks confirmed by this block, in index order.
+     */
+    public List<Peak> process(double[] in, int offset, int length) {
+        List<Peak> out = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            double v = in[offset + i];
+            if (count > 0) {
+                track(v);
+            }
+            append(v);
+            resolve(false);
+            emit(out, false);
+            compact();
+        }
+        return out;
+    }
+
+    /**
+     * Ends the stream, reporting the peaks still waiting for lookahead, and
+     * resets the detector.
+     *
+     * @return The remaining peaks, in index order.
+     */
+    public List<Peak> flush() {
+        List<Peak> out = new ArrayList<>();
+        resolve(true);
+        emit(out, true);
+        reset();
+        return out;
+    }
+
+    private double sample(int k) {
+        return buf[k - bufStart];
+    }
+
+    private void append(double v) {
+        if (count - bufStart == buf.length) {
+            buf = Arrays.copyOf(buf, 2 * buf.length);
+        }
+        buf[count - bufStart] = v;
+        count++;
+    }
+
+    /**
+     * Follows runs of equal samples before {@code v} is appended. A run that
+     * began with a rise and ends with a drop is a peak at its middle, as in
+     * the batch local-maxima pass.
+     */
+    private void track(double v) {
+        double prev = sample(count - 1);
+        if (v == prev) {
+            return;
+        }
+        if (v < prev && runStart >= 0) {
+            int left = runStart;
+            int right = count - 1;
+            int index = (left + right) >>> 1;
+            // Inside a plateau the neighbours equal the peak
+            double leftThreshold = prev - (index > left ? prev : runBefore);
+            double rightThreshold = prev - (index < right ? prev : v);
+            if (!(minPlateauSize >= 0 && right - left + 1 < minPlateauSize)
+                    && !(!Double.isNaN(minHeight) && prev < minHeight)
+                    && !(!Double.isNaN(minThreshold) && !(Math.min(leftThreshold, rightThreshold) >= minThreshold))) {
+                addCandidate(index, prev, left, right, leftThreshold, rightThreshold);
+            }
+        }
+        if (v > prev) {
+            runStart = count;
+            runBefore = prev;
+        } else {
+            runStart = -1;
+        }
+    }
+
+    /**
+     * Lowest index a candidate not yet found can have: the middle of a
+     * plateau is at least its start.
+     */
+    private int nextCandidateBound() {
+        return runStart >= 0 ? runStart : count;
+    }
+
+    private void addCandidate(int index, double height, int left, int right, double leftThreshold,
+            double rightThreshold) {
+        if (tail == cIndex.length) {
+            int size = 2 * cIndex.length;
+            cIndex = Arrays.copyOf(cIndex, size);
+            cHeight = Arrays.copyOf(cHeight, size);
+            cState = Arrays.copyOf(cState, size);
+            cLeft = Arrays.copyOf(cLeft, size);
+            cRight = Arrays.copyOf(cRight, size);
+            cLeftThreshold = Arrays.copyOf(cLeftThreshold, size);
+            cRightThreshold = Arrays.copyOf(cRightThreshold, size);
+        }
+        cIndex[tail] = index;
+        cHeight[tail] = height;
+        cState[tail] = UNDECIDED;
+        cLeft[tail] = left;
+        cRight[tail] = right;
+        cLeftThreshold[tail] = leftThreshold;
+        cRightThreshold[tail] = rightThreshold;
+        tail++;
+    }
+
+    /**
+     * Applies the distance filter as far as possible. A candidate is decided
+     * once all candidates closer than {@code distance} are known and every
+     * taller one among them is decided; it is kept unless one of those was
+     * kept, which is the outcome of the batch greedy filter.
+     */
+    private void resolve(boolean ended) {
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (int c = decidePos; c < tail; c++) {
+                if (cState[c] != UNDECIDED) {
+                    continue;
+                }
+                // All candidates up to index + distance - 1 must be known
+                if (!ended && distance > 0 && nextCandidateBound() < cIndex[c] + distance) {
+                    break;
+                }
+                byte state = decide(c);
+                if (state != UNDECIDED) {
+                    cState[c] = state;
+                    progress = true;
+                }
+            }
+            while (decidePos < tail && cState[decidePos] != UNDECIDED) {
+                decidePos++;
+            }
+        }
+    }
+
+    private byte decide(int c) {
+        if (distance <= 0) {
+            return KEPT;
+        }
+        int index = cIndex[c];
+        double height = cHeight[c];
+        boolean suppressed = false;
+        for (int q = c - 1; q >= head && index - cIndex[q] < distance; q--) {
+            // Earlier candidates win ties, as the stable sort in the batch filter
+            if (cHeight[q] >= height) {
+                if (cState[q] == UNDECIDED) {
+                    return UNDECIDED;
+                }
+                suppressed |= cState[q] == KEPT;
+            }
+        }
+        for (int q = c + 1; q < tail && cIndex[q] - index < distance; q++) {
+            if (cHeight[q] > height) {
+                if (cState[q] == UNDECIDED) {
+                    return UNDECIDED;
+                }
+                suppressed |= cState[q] == KEPT;
+            }
+        }
+        return suppressed ? REJECTED : KEPT;
+    }
+
+    private void emit(List<Peak> out, boolean ended) {
+        while (emitPos < tail) {
+            byte state = cState[emitPos];
+            if (state == UNDECIDED) {
+                return;
+            }
+            int index = cIndex[emitPos];
+            if (state == KEPT) {
+                if (!ended && count <= index + half) {
+                    return;
+                }
+                int iMin = Math.max(0, index - half);
+                int iMax = Math.min(count - 1, index + half);
+                double prominence = FindPeaks.prominence(buf, bufStart, index, iMin, iMax, bases);
+                if (Double.isNaN(minProminence) || prominence >= minProminence) {
+                    FindPeaks.width(buf, bufStart, index, prominence, bases[0], bases[1], relHeight, widthOut);
+                    if (Double.isNaN(minWidth) || widthOut[0] >= minWidth) {
+                        out.add(new Peak(index, cHeight[emitPos], cLeft[emitPos], cRight[emitPos],
+                                cLeftThreshold[emitPos], cRightThreshold[emitPos], prominence, bases[0], bases[1],
+                                widthOut));
+                    }
+                }
+            }
+            emitPos++;
+        }
+    }
+
+    /**
+     * Drops candidates that can no longer influence a decision and samples no
+     * pending peak needs.
+     */
+    private void compact() {
+        int limit = emitPos < tail ? cIndex[emitPos] : nextCandidateBound();
+        int drop = head;
+        while (drop < emitPos && (distance <= 0 || cIndex[drop] + distance <= limit)) {
+            drop++;
+        }
+        if (drop > 0 && drop >= tail / 2) {
+            int n = tail - drop;
+            System.arraycopy(cIndex, drop, cIndex, 0, n);
+            System.arraycopy(cHeight, drop, cHeight, 0, n);
+            System.arraycopy(cState, drop, cState, 0, n);
+            System.arraycopy(cLeft, drop, cLeft, 0, n);
+            System.arraycopy(cRight, drop, cRight, 0, n);
+            System.arraycopy(cLeftThreshold, drop, cLeftThreshold, 0, n);
+            System.arraycopy(cRightThreshold, drop, cRightThreshold, 0, n);
+            decidePos -= drop;
+            emitPos -= drop;
+            tail = n;
+            drop = 0;
+        }
+        head = drop;
+
+        int keepFrom = Math.max(0, Math.min(limit - half, count - 2));
+        int shift = keepFrom - bufStart;
+        if (shift > 0 && shift >= (count - bufStart) / 2) {
+            System.arraycopy(buf, shift, buf, 0, count - keepFrom);
+            bufStart = keepFrom;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.hissain.jscipy.signal;
+
+import java.util.Arrays;
+
+/**
+ * Range-minimum queries over a fixed array, or a fixed range of one.
+ * <p>
+ * Samples are grouped into blocks of {@value #BLOCK}; a segment tree holds the
+ * block minima, so the index takes about {@code n / 8} doubles. Queries scan
+ * at most two partial blocks and walk the tree, which is O(log n). Besides
+ * the minimum itself, the first and last index in a range whose value is at
+ * most a bound can be found, which gives leftmost and rightmost arg-minima.
+ */
+final class RangeMin {
+
+    private static final int BLOCK = 16;
+
+    private final double[] x;
+    /** Indexed range {@code [offset, end)}; queries use indices into x. */
+    private final int offset;
+    private final int end;
+    private final int size;
+    private final double[] tree;
+
+    RangeMin(double[] x) {
+        this(x, 0, x.length);
+    }
+
+    RangeMin(double[] x, int from, int to) {
+        this.x = x;
+        this.offset = from;
+        this.end = to;
+        int blocks = (to - from + BLOCK - 1) / BLOCK;
+        int s = 1;
+        while (s < blocks) {
+            s <<= 1;
+        }
+        this.size = s;
+        this.tree = new double[2 * s];
+        Arrays.fill(tree, Double.POSITIVE_INFINITY);
+        for (int b = 0; b < blocks; b++) {
+            int blockEnd = Math.min(to, from + (b + 1) * BLOCK);
+            double m = x[from + b * BLOCK];
+            for (int i = from + b * BLOCK + 1; i < blockEnd; i++) {
+                m = Math.min(m, x[i]);
+            }
+            tree[s + b] = m;
+        }
+        for (int node = s - 1; node >= 1; node--) {
+            tree[node] = Math.min(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * @return The minimum of {@code x[from .. to]}, inclusive.
+     */
+    double min(int from, int to) {
+        int bFrom = (from - offset) / BLOCK;
+        int bTo = (to - offset) / BLOCK;
+        if (bTo - bFrom < 2) {
+            return scanMin(from, to);
+        }
+        double m = Math.min(scanMin(from, blockStart(bFrom + 1) - 1), scanMin(blockStart(bTo), to));
+        // Full blocks bFrom + 1 .. bTo - 1, bottom-up over the tree
+        int lo = bFrom + 1 + size;
+        int hi = bTo - 1 + size + 1;
+        while (lo < hi) {
+            if ((lo & 1) == 1) {
+                m = Math.min(m, tree[lo++]);
+            }
+            if ((hi & 1) == 1) {
+                m = Math.min(m, tree[--hi]);
+            }
+            lo >>= 1;
+            hi >>= 1;
+        }
+        return m;
+    }
+
+    /**
+     * @return The first index in {@code [from, to]} with {@code x[i] <= bound},
+     *         or -1.
+     */
+    int first(int from, int to, double bound) {
+        int bFrom = (from - offset) / BLOCK;
+        int bTo = (to - offset) / BLOCK;
+        int scanEnd = Math.min(to, blockStart(bFrom + 1) - 1);
+        for (int i = from; i <= scanEnd; i++) {
+            if (x[i] <= bound) {
+                return i;
+            }
+        }
+        if (bTo > bFrom + 1) {
+            int b = firstBlock(1, 0, size - 1, bFrom + 1, bTo - 1, bound);
+            if (b >= 0) {
+                for (int i = blockStart(b);; i++) {
+                    if (x[i] <= bound) {
+                        return i;
+                    }
+                }
+            }
+        }
+        for (int i = Math.max(from, blockStart(bTo)); i <= to; i++) {
+            if (x[i] <= bound) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The last index in {@code [from, to]} with {@code x[i] <= bound},
+     *         or -1.
+     */
+    int last(int from, int to, double bound) {
+        int bFrom = (from - offset) / BLOCK;
+        int bTo = (to - offset) / BLOCK;
+        int start = Math.max(from, blockStart(bTo));
+        for (int i = to; i >= start; i--) {
+            if (x[i] <= bound) {
+                return i;
+            }
+        }
+        if (bTo > bFrom + 1) {
+            int b = lastBlock(1, 0, size - 1, bFrom + 1, bTo - 1, bound);
+            if (b >= 0) {
+                for (int i = Math.min(end, blockStart(b + 1)) - 1;; i--) {
+                    if (x[i] <= bound) {
+                        return i;
+                    }
+                }
+            }
+        }
+        for (int i = Math.min(to, blockStart(bFrom + 1) - 1); i >= from; i--) {
+            if (x[i] <= bound) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int blockStart(int b) {
+        return offset + b * BLOCK;
+    }
+
+    private double scanMin(int from, int to) {
+        double m = x[from];
+        for (int i = from + 1; i <= to; i++) {
+            m = Math.min(m, x[i]);
+        }
+        return m;
+    }
+
+    /** First block in [lo, hi] whose minimum is at most bound, within node's span [nl, nr]. */
+    private int firstBlock(int node, int nl, int nr, int lo, int hi, double bound) {
+        if (nr < lo || nl > hi || tree[node] > bound) {
+            return -1;
+        }
+        if (nl == nr) {
+            return nl;
+        }
+        int mid = (nl + nr) >>> 1;
+        int b = firstBlock(2 * node, nl, mid, lo, hi, bound);
+        return b >= 0 ? b : firstBlock(2 * node + 1, mid + 1, nr, lo, hi, bound);
+    }
+
+    /** Last block in [lo, hi] whose minimum is at most bound, within node's span [nl, nr]. */
+    private int lastBlock(int node, int nl, int nr, int lo, int hi, double bound) {
+        if (nr < lo || nl > hi || tree[node] > bound) {
+            return -1;
+        }
+        if (nl == nr) {
+            return nl;
+        }
+        int mid = (nl + nr) >>> 1;
+        int b = lastBlock(2 * node + 1, mid + 1, nr, lo, hi, bound);
+        return b >= 0 ? b : lastBlock(2 * node, nl, mid, lo, hi, bound);
+    }
+}
@@ -0,0 +1,98 @@
+package com.hissain.jscipy.signal;
+
+import com.hissain.jscipy.signal.util.VectorOps;
+
+/**
+ * Immutable window coefficients together with the sums that spectral
+ * estimators need for scaling.
+ * <p>
+ * The coefficient array never escapes: samples are read with {@link #get(int)}
+ * or applied to a signal with {@link #multiply}, so one instance can be
+ * shared freely between threads. Instances for the standard windows are
+ * obtained from {@link Windows#cached(String, int, boolean)}.
+ */
+public final class Window {
+
+    private final double[] w;
+    private final double sum;
+    private final double sumOfSquares;
+
+    private Window(double[] w) {
+        this.w = w;
+        double s = 0.0;
+        double s2 = 0.0;
+        for (double v : w) {
+            s += v;
+            s2 += v * v;
+        }
+        this.sum = s;
+        this.sumOfSquares = s2;
+    }
+
+    /**
+     * Wraps a copy of arbitrary window coefficients.
+     *
+     * @param coefficients The window coefficients.
+     * @return An immutable window.
+     */
+    public static Window of(double[] coefficients) {
+        return new Window(coefficients.clone());
+    }
+
+    /**
+     * Takes ownership of an array that no caller holds a reference to.
+     */
+    static Window wrap(double[] coefficients) {
+        return new Window(coefficients);
+    }
+
+    /**
+     * @return The number of coefficients.
+     */
+    public int length() {
+        return w.length;
+    }
+
+    /**
+     * @param i The coefficient index.
+     * @return Coefficient {@code i}.
+     */
+    public double get(int i) {
+        return w[i];
+    }
+
+    /**
+     * @return The sum of all coefficients.
+     */
+    public double sum() {
+        return sum;
+    }
+
+    /**
+     * @return The sum of the squared coefficients (window energy).
+     */
+    public double sumOfSquares() {
+        return sumOfSquares;
+    }
+
+    /**
+     * @return A mutable copy of the coefficients.
+     */
+    public double[] toArray() {
+        return w.clone();
+    }
+
+    /**
+     * Writes {@code x[xOffset + i] * w[i]} to {@code out[outOffset + i]} for
+     * the first {@code length} coefficients.
+     *
+     * @param x         The signal.
+     * @param xOffset   Start index in the signal.
+     * @param out       The destination.
+     * @param outOffset Start index in the destination.
+     * @param length    Number of samples, at most {@link #length()}.
+     */
+    public void multiply(double[] x, int xOffset, double[] out, int outOffset, int length) {
+        VectorOps.multiply(x, xOffset, w, 0, out, outOffset, length);
+    }
+}
@@ -1,6 +1,8 @@
 package com.hissain.jscipy.signal;
 
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Collection of window functions.
@@ -12,6 +14,11 @@ import java.util.Arrays;
  */
 public class Windows {
 
+    /** Upper bound on cached windows; further combinations are computed but not stored. */
+    private static final int MAX_CACHED = 256;
+
+    private static final ConcurrentHashMap<String, Window> CACHE = new ConcurrentHashMap<>();
+
     /**
      * Returns a symmetric Hanning window of length M.
      *
@@ -368,6 +375,44 @@ public class Windows {
         return w;
     }
 
+    /**
+     * Returns a shared, immutable window by name, computing it on first use.
+     * Supports the names of {@link #get_window(String, int)}; spectral methods
+     * use periodic ({@code symmetric = false}) windows.
+     *
+     * @param window    The window name (case insensitive).
+     * @param m         The length of the window.
+     * @param symmetric If true, the symmetric variant; otherwise periodic.
+     * @return The cached window with its sum and sum of squares.
+     */
+    public static Window cached(String window, int m, boolean symmetric) {
+        String name = window.toLowerCase();
+        return cached(name + ':' + m + ':' + symmetric, () -> get_window(name, m, symmetric));
+    }
+
+    /**
+     * Returns a shared, immutable Kaiser window, computing it on first use.
+     *
+     * @param m         The length of the window.
+     * @param beta      The shape parameter.
+     * @param symmetric If true, the symmetric variant; otherwise periodic.
+     * @return The cached window with its sum and sum of squares.
+     */
+    public static Window cachedKaiser(int m, double beta, boolean symmetric) {
+        return cached("kaiser:" + m + ':' + beta + ':' + symmetric, () -> kaiser(m, beta, symmetric));
+    }
+
+    private static Window cached(String key, Supplier<double[]> generator) {
+        Window w = CACHE.get(key);
+        if (w != null) {
+            return w;
+        }
+        if (CACHE.size() >= MAX_CACHED) {
+            return Window.wrap(generator.get());
+        }
+        return CACHE.computeIfAbsent(key, k -> Window.wrap(generator.get()));
+    }
+
     /**
      * Get a window by name.
      * Supported: boxcar, triangle, blackman, hamming, hanning, bartlett, flattop,
@@ -378,29 +423,43 @@ public class Windows {
      * @return The window coefficients.
      */
     public static double[] get_window(String window, int M) {
+        return get_window(window, M, true);
+    }
+
+    /**
+     * Get a symmetric or periodic window by name.
+     * Supported: boxcar, triangle, blackman, hamming, hanning, bartlett, flattop,
+     * parzen, bohman.
+     *
+     * @param window    The window name (case insensitive).
+     * @param M         The length of the window.
+     * @param symmetric If true, the symmetric variant; otherwise periodic.
+     * @return The window coefficients.
+     */
+    public static double[] get_window(String window, int M, boolean symmetric) {
         switch (window.toLowerCase()) {
             case "boxcar":
                 double[] w = new double[M];
                 Arrays.fill(w, 1.0);
                 return w;
             case "hamming":
-                return hamming(M);
+                return hamming(M, symmetric);
             case "hanning":
             case "hann":
-                return hanning(M);
+                return hanning(M, symmetric);
             case "blackman":
-                return blackman(M);
+                return blackman(M, symmetric);
             case "bartlett":
-                return bartlett(M);
+                return bartlett(M, symmetric);
             case "triangle":
             case "triang":
-                return triang(M);
+                return triang(M, symmetric);
             case "flattop":
-                return flattop(M);
+                return flattop(M, symmetric);
             case "parzen":
-                return parzen(M);
+                return parzen(M, symmetric);
             case "bohman":
-                return bohman(M);
+                return bohman(M, symmetric);
             case "kaiser":
                 // Default beta? standard usually 14 or 8.6?
                 // SciPy doesn't default here easily without tuple.
@@ -1,6 +1,7 @@
 package com.hissain.jscipy.signal.fft;
 
 import com.hissain.jscipy.signal.JComplex;
+import com.hissain.jscipy.signal.Window;
 import com.hissain.jscipy.signal.Windows;
 
 import org.apache.commons.math3.complex.Complex;
@@ -229,6 +230,23 @@ public class FFT {
         return Arrays.copyOf(fftResult, resultSize);
     }
 
+    /**
+     * Computes the positive frequency components of the FFT of single-precision
+     * data. The samples are widened to double once, directly into the transform
+     * input.
+     * 
+     * @param input The input signal.
+     * @return The positive frequency components of the FFT as an array of
+     *         {@link JComplex} objects.
+     */
+    public JComplex[] rfft(float[] input) {
+        double[] widened = new double[input.length];
+        for (int i = 0; i < input.length; i++) {
+            widened[i] = input[i];
+        }
+        return rfft(widened);
+    }
+
     /**
      * Computes the inverse FFT of a real-valued signal.
      * 
@@ -314,17 +332,12 @@ public class FFT {
         if (boundary == null)
             boundary = "zeros";
 
-        // Generate default Hann window if not provided
-        if (window == null) {
-            window = Windows.hanning(nperseg, false); // hannWindow(nperseg);
-        }
+        // Default Hann window is shared across calls
+        Window w = window == null ? Windows.cached("hann", nperseg, false) : Window.of(window);
 
         // Calculate window scaling factor to match scipy behavior
         // scipy uses: scale = 1.0 / np.sum(window) for 'spectrum' scaling (default)
-        double windowScale = 0.0;
-        for (double w : window) {
-            windowScale += w;
-        }
+        double windowScale = w.sum();
 
         // Validate parameters
         if (nfft < nperseg) {
@@ -363,9 +376,7 @@ public class FFT {
 
             // Extract and window the segment
             double[] segment = new double[nfft];
-            for (int i = 0; i < nperseg && (start + i) < signal.length; i++) {
-                segment[i] = signal[start + i] * window[i];
-            }
+            w.multiply(signal, start, segment, 0, Math.min(nperseg, signal.length - start));
             // Rest of segment is zero-padded if nfft > nperseg
 
             // Compute FFT
@@ -420,17 +431,12 @@ public class FFT {
         if (boundary == null)
             boundary = "zeros";
 
-        // Generate default Hann window if not provided
-        if (window == null) {
-            window = Windows.hanning(nperseg, false); // hannWindow(nperseg);
-        }
+        // Default Hann window is shared across calls
+        Window w = window == null ? Windows.cached("hann", nperseg, false) : Window.of(window);
 
         // Calculate window scaling factor to match stft
         // Use sum of window values for 'spectrum' scaling
-        double windowScale = 0.0;
-        for (double w : window) {
-            windowScale += w;
-        }
+        double windowScale = w.sum();
 
         int hop = nperseg - noverlap;
 
@@ -455,8 +461,9 @@ public class FFT {
 
             // Apply window and overlap-add (no additional scaling needed here)
             for (int i = 0; i < nperseg && (start + i) < outputLengthWithPad; i++) {
-                output[start + i] += timeSegment[i] * window[i];
-                windowSum[start + i] += window[i] * window[i];
+                double wi = w.get(i);
+                output[start + i] += timeSegment[i] * wi;
+                windowSum[start + i] += wi * wi;
             }
         }
 
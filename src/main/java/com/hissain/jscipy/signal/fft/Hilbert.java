@@ -2,6 +2,8 @@ package com.hissain.jscipy.signal.fft;
 
 import com.hissain.jscipy.signal.JComplex;
 
+import java.util.Arrays;
+
 /**
  * Provides a method to compute the analytic signal using the Hilbert transform.
  * The Hilbert transform is a linear operator that takes a function, u(t), and
@@ -16,13 +18,10 @@ import com.hissain.jscipy.signal.JComplex;
  */
 public class Hilbert {
 
-    private final FFT fft;
-
     /**
      * Constructs a Hilbert transformer.
      */
     public Hilbert() {
-        this.fft = new FFT();
     }
 
     /**
@@ -39,38 +38,139 @@ public class Hilbert {
         if (signal == null) {
             throw new NullPointerException("Signal cannot be null");
         }
-        if (signal.length == 0) {
-            return new JComplex[0];
+        int n = signal.length;
+        double[] re = new double[n];
+        double[] im = new double[n];
+        analytic(signal, re, im);
+
+        JComplex[] result = new JComplex[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = new JComplex(re[i], im[i]);
         }
+        return result;
+    }
 
+    /**
+     * Computes the analytic signal into primitive real and imaginary arrays.
+     * <p>
+     * Only the non-negative half of the spectrum is computed (via a half-length
+     * complex FFT for even lengths), negative bins are zeroed in place and a
+     * single inverse transform produces the result. No per-bin objects are
+     * allocated, and non power-of-two lengths stay O(n log n).
+     *
+     * @param signal The real-valued input signal array.
+     * @param re     Output array for the real part (equal to the input), length
+     *               at least n.
+     * @param im     Output array for the imaginary part (the Hilbert transform),
+     *               length at least n.
+     * @throws NullPointerException     if any argument is null.
+     * @throws IllegalArgumentException if an output array is too short.
+     */
+    public void analytic(double[] signal, double[] re, double[] im) {
+        if (signal == null || re == null || im == null) {
+            throw new NullPointerException("Signal and output arrays cannot be null");
+        }
         int n = signal.length;
-        JComplex[] spectrum = fft.fft(signal);
-        double[] h = new double[n];
+        if (re.length < n || im.length < n) {
+            throw new IllegalArgumentException("Output arrays must have length >= " + n);
+        }
+        if (n == 0) {
+            return;
+        }
 
-        if (n % 2 == 0) {
-            h[0] = 1;
-            for (int i = 1; i < n / 2; i++) {
-                h[i] = 2;
-            }
-            h[n / 2] = 1;
-            for (int i = n / 2 + 1; i < n; i++) {
-                h[i] = 0;
-            }
-        } else {
-            h[0] = 1;
-            for (int i = 1; i < (n + 1) / 2; i++) {
-                h[i] = 2;
-            }
-            for (int i = (n + 1) / 2; i < n; i++) {
-                h[i] = 0;
-            }
+        RealFFT.forwardReal(signal, re, im);
+
+        // Analytic spectrum: keep DC (and Nyquist for even n), double the
+        // positive bins and zero the negative ones.
+        int positiveEnd = (n % 2 == 0) ? n / 2 : (n + 1) / 2;
+        for (int k = 1; k < positiveEnd; k++) {
+            re[k] *= 2;
+            im[k] *= 2;
         }
+        int zeroFrom = (n % 2 == 0) ? n / 2 + 1 : (n + 1) / 2;
+        Arrays.fill(re, zeroFrom, n, 0.0);
+        Arrays.fill(im, zeroFrom, n, 0.0);
 
-        JComplex[] weightedSpectrum = new JComplex[n];
+        RealFFT.complex(re, im, n, true);
+        double scale = 1.0 / n;
         for (int i = 0; i < n; i++) {
-            weightedSpectrum[i] = spectrum[i].multiply(h[i]);
+            re[i] *= scale;
+            im[i] *= scale;
         }
+    }
 
-        return fft.ifft(weightedSpectrum);
+    /**
+     * Computes the amplitude envelope, i.e. the magnitude of the analytic
+     * signal.
+     *
+     * @param signal The real-valued input signal array.
+     * @return The envelope, same length as the input.
+     */
+    public double[] envelope(double[] signal) {
+        int n = signal.length;
+        double[] re = new double[n];
+        double[] im = new double[n];
+        analytic(signal, re, im);
+        for (int i = 0; i < n; i++) {
+            re[i] = Math.hypot(re[i], im[i]);
+        }
+        return re;
+    }
+
+    /**
+     * Computes the unwrapped instantaneous phase of the analytic signal, in
+     * radians (equivalent to {@code np.unwrap(np.angle(hilbert(x)))}).
+     *
+     * @param signal The real-valued input signal array.
+     * @return The instantaneous phase, same length as the input.
+     */
+    public double[] instantaneousPhase(double[] signal) {
+        int n = signal.length;
+        double[] re = new double[n];
+        double[] im = new double[n];
+        analytic(signal, re, im);
+
+        double offset = 0;
+        double prev = 0;
+        for (int i = 0; i < n; i++) {
+            double phase = Math.atan2(im[i], re[i]);
+            if (i > 0) {
+                double d = phase - prev;
+                if (Math.abs(d) >= Math.PI) {
+                    // Same rule as np.unwrap: map d into [-pi, pi), keeping +pi for positive jumps
+                    double dd = d + Math.PI;
+                    dd = dd - 2 * Math.PI * Math.floor(dd / (2 * Math.PI)) - Math.PI;
+                    if (dd == -Math.PI && d > 0) {
+                        dd = Math.PI;
+                    }
+                    offset += dd - d;
+                }
+            }
+            prev = phase;
+            re[i] = phase + offset;
+        }
+        return re;
+    }
+
+    /**
+     * Computes the instantaneous frequency as the scaled first difference of
+     * the unwrapped phase.
+     *
+     * @param signal The real-valued input signal array.
+     * @param fs     The sampling frequency.
+     * @return The instantaneous frequency in the units of {@code fs}, of length
+     *         {@code n - 1}.
+     */
+    public double[] instantaneousFrequency(double[] signal, double fs) {
+        double[] phase = instantaneousPhase(signal);
+        if (phase.length < 2) {
+            return new double[0];
+        }
+        double[] freq = new double[phase.length - 1];
+        double scale = fs / (2 * Math.PI);
+        for (int i = 0; i < freq.length; i++) {
+            freq[i] = (phase[i + 1] - phase[i]) * scale;
+        }
+        return freq;
     }
 }
@@ -3,6 +3,7 @@ package com.hissain.jscipy.signal.fft;
 import com.hissain.jscipy.signal.Detrend;
 import com.hissain.jscipy.signal.DetrendType;
 import com.hissain.jscipy.signal.JComplex;
+import com.hissain.jscipy.signal.Window;
 import com.hissain.jscipy.signal.Windows;
 
 /**
@@ -67,25 +68,22 @@ public class Periodogram {
             nfft = n;
         }
 
-        // Generate default Hann window if not provided
-        // SciPy periodogram uses fftbins=True (periodic) by default
-        if (window == null) {
-            window = Windows.hanning(n, false); // sym=false for periodic
-        }
+        // Default Hann window is shared; SciPy periodogram uses fftbins=True (periodic)
+        Window w = window == null ? Windows.cached("hann", n, false) : Window.of(window);
 
-        // Apply detrending if requested
-        double[] signal = x;
+        // Apply detrending if requested, writing straight into the FFT buffer
+        double[] windowed = new double[nfft];
+        int used = Math.min(n, nfft);
         if (detrend != null) {
-            Detrend detrender = new Detrend();
-            signal = detrender.detrend(x, detrend);
+            Detrend.Sliding detrender = new Detrend.Sliding(n, detrend);
+            detrender.fit(x, 0);
+            detrender.subtract(windowed, 0, used);
+        } else {
+            System.arraycopy(x, 0, windowed, 0, used);
         }
 
-        // Apply window
-        double[] windowed = new double[nfft];
-        for (int i = 0; i < n && i < nfft; i++) {
-            windowed[i] = signal[i] * window[i];
-        }
-        // Zero-pad if nfft > n
+        // Apply window in place; zero-pad if nfft > n
+        w.multiply(windowed, 0, windowed, 0, used);
 
         // Compute FFT
         FFT fft = new FFT();
@@ -100,14 +98,8 @@ public class Periodogram {
             frequencies[i] = i * fs / nfft;
         }
 
-        // Calculate window sum squared for density scaling
-        double windowSumSquared = 0.0;
-        for (double w : window) {
-            windowSumSquared += w * w;
-        }
-
         // Density scaling factor: 1 / (fs * sum(window^2))
-        double scale = 1.0 / (fs * windowSumSquared);
+        double scale = 1.0 / (fs * w.sumOfSquares());
 
         // Compute PSD
         double[] psd = new double[numFreqBins];
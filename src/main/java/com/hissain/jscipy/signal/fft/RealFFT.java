@@ -0,0 +1,176 @@
+package com.hissain.jscipy.signal.fft;
+
+import java.util.Arrays;
+
+/**
+ * Primitive-array FFT kernels used by the allocation-light transforms in this
+ * package.
+ * <p>
+ * Transforms operate in place on separate real and imaginary arrays. Power of
+ * two lengths use an iterative radix-2 transform; any other length is handled
+ * with Bluestein's chirp-z algorithm, so every length is O(n log n).
+ */
+final class RealFFT {
+
+    private RealFFT() {
+    }
+
+    /**
+     * In-place complex transform of the first {@code n} entries of
+     * {@code re}/{@code im}. The inverse is unscaled.
+     */
+    static void complex(double[] re, double[] im, int n, boolean inverse) {
+        if (n <= 1) {
+            return;
+        }
+        if ((n & (n - 1)) == 0) {
+            radix2(re, im, n, inverse);
+        } else {
+            bluestein(re, im, n, inverse);
+        }
+    }
+
+    /**
+     * Forward transform of a real signal. On return {@code re[k]}/{@code im[k]}
+     * hold bins {@code 0..n/2}; the remaining entries are scratch. Even lengths
+     * pack the signal into a half-length complex transform.
+     *
+     * @param x  The real input of length n.
+     * @param re Output real parts, length at least n.
+     * @param im Output imaginary parts, length at least n.
+     */
+    static void forwardReal(double[] x, double[] re, double[] im) {
+        int n = x.length;
+        if (n % 2 != 0 || n < 4) {
+            System.arraycopy(x, 0, re, 0, n);
+            Arrays.fill(im, 0, n, 0.0);
+            complex(re, im, n, false);
+            return;
+        }
+
+        int h = n / 2;
+        for (int m = 0; m < h; m++) {
+            re[m] = x[2 * m];
+            im[m] = x[2 * m + 1];
+        }
+        complex(re, im, h, false);
+
+        // Split Z = FFT(even + i*odd) into the spectrum of x, processing k and
+        // h-k together so the unpacking can run in place.
+        double z0r = re[0];
+        double z0i = im[0];
+        for (int k = 1; k <= h / 2; k++) {
+            int j = h - k;
+            double ar = re[k], ai = im[k];
+            double br = re[j], bi = im[j];
+
+            double er = 0.5 * (ar + br);
+            double ei = 0.5 * (ai - bi);
+            // (A - conj(B)) / 2i
+            double or = 0.5 * (ai + bi);
+            double oi = -0.5 * (ar - br);
+
+            double angle = -2 * Math.PI * k / n;
+            double wr = Math.cos(angle);
+            double wi = Math.sin(angle);
+            double tr = wr * or - wi * oi;
+            double ti = wr * oi + wi * or;
+
+            re[j] = er - tr;
+            im[j] = -(ei - ti);
+            re[k] = er + tr;
+            im[k] = ei + ti;
+        }
+        re[0] = z0r + z0i;
+        im[0] = 0;
+        re[h] = z0r - z0i;
+        im[h] = 0;
+    }
+
+    private static void radix2(double[] re, double[] im, int n, boolean inverse) {
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            for (; (j & bit) != 0; bit >>= 1) {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j) {
+                double t = re[i];
+                re[i] = re[j];
+                re[j] = t;
+                t = im[i];
+                im[i] = im[j];
+                im[j] = t;
+            }
+        }
+
+        double sign = inverse ? 1 : -1;
+        for (int len = 2; len <= n; len <<= 1) {
+            int half = len >> 1;
+            double step = sign * 2 * Math.PI / len;
+            for (int k = 0; k < half; k++) {
+                double wr = Math.cos(step * k);
+                double wi = Math.sin(step * k);
+                for (int i = k; i < n; i += len) {
+                    int j = i + half;
+                    double tr = re[j] * wr - im[j] * wi;
+                    double ti = re[j] * wi + im[j] * wr;
+                    re[j] = re[i] - tr;
+                    im[j] = im[i] - ti;
+                    re[i] += tr;
+                    im[i] += ti;
+                }
+            }
+        }
+    }
+
+    private static void bluestein(double[] re, double[] im, int n, boolean inverse) {
+        int m = Integer.highestOneBit(2 * n - 1);
+        if (m < 2 * n - 1) {
+            m <<= 1;
+        }
+        double sign = inverse ? 1 : -1;
+
+        // Chirp c[k] = exp(sign * i*pi*k^2/n); k^2 is reduced mod 2n for accuracy.
+        double[] cr = new double[n];
+        double[] ci = new double[n];
+        long mod = 2L * n;
+        for (int k = 0; k < n; k++) {
+            double angle = sign * Math.PI * (((long) k * k) % mod) / n;
+            cr[k] = Math.cos(angle);
+            ci[k] = Math.sin(angle);
+        }
+
+        double[] ar = new double[m];
+        double[] ai = new double[m];
+        double[] br = new double[m];
+        double[] bi = new double[m];
+        for (int k = 0; k < n; k++) {
+            ar[k] = re[k] * cr[k] - im[k] * ci[k];
+            ai[k] = re[k] * ci[k] + im[k] * cr[k];
+        }
+        br[0] = cr[0];
+        bi[0] = -ci[0];
+        for (int k = 1; k < n; k++) {
+            br[k] = br[m - k] = cr[k];
+            bi[k] = bi[m - k] = -ci[k];
+        }
+
+        radix2(ar, ai, m, false);
+        radix2(br, bi, m, false);
+        for (int k = 0; k < m; k++) {
+            double r = ar[k] * br[k] - ai[k] * bi[k];
+            ai[k] = ar[k] * bi[k] + ai[k] * br[k];
+            ar[k] = r;
+        }
+        radix2(ar, ai, m, true);
+
+        double scale = 1.0 / m;
+        for (int k = 0; k < n; k++) {
+            double r = ar[k] * scale;
+            double i = ai[k] * scale;
+            re[k] = r * cr[k] - i * ci[k];
+            im[k] = r * ci[k] + i * cr[k];
+        }
+    }
+}
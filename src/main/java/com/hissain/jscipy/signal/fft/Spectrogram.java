@@ -4,8 +4,11 @@ import com.hissain.jscipy.signal.Detrend;
 import com.hissain.jscipy.signal.DetrendType;
 import com.hissain.jscipy.signal.JComplex;
 
+import com.hissain.jscipy.signal.Window;
 import com.hissain.jscipy.signal.Windows;
 
+import java.util.Arrays;
+
 /**
  * Implementation of Spectrogram using Short-Time Fourier Transform.
  * Matches scipy.signal.spectrogram behavior.
@@ -103,14 +106,12 @@ public class Spectrogram {
         if (nfft <= 0)
             nfft = nperseg;
 
-        // Generate default Hann window if not provided
-        if (window == null) {
-            window = Windows.hanning(nperseg, false);
-        }
+        // Default Hann window is shared across calls
+        Window w = window == null ? Windows.cached("hann", nperseg, false) : Window.of(window);
 
         // Compute the STFT with detrending applied to each segment
         // (matching scipy.signal.spectrogram behavior)
-        JComplex[][] stftMatrix = stftWithDetrend(x, nperseg, noverlap, nfft, window, "zeros", false, detrend);
+        JComplex[][] stftMatrix = stftWithDetrend(x, nperseg, noverlap, nfft, w, "zeros", false, detrend);
 
         int numFreqBins = stftMatrix.length;
         int numTimeFrames = stftMatrix[0].length;
@@ -148,17 +149,14 @@ public class Spectrogram {
         // Compute power spectral density: |STFT|^2
         // NOTE: stftWithDetrend applies 'spectrum' scaling (divides by sum of window)
         // For density/PSD scaling, we need to account for this
-        double windowSum = 0.0;
-        for (double w : window) {
-            windowSum += w;
-        }
+        double windowSum = w.sum();
         double windowSumSq = windowSum * windowSum;
 
         // Density scaling: 1 / (fs * sum(window^2))
         // But STFT already divided by sum(window), so when squared we have
         // sum(window)^2 in denominator
         // We need to multiply back by sum(window)^2 to get the correct density scaling
-        double windowSumSquared = sumSquared(window);
+        double windowSumSquared = w.sumOfSquares();
         double scale = windowSumSq / (fs * windowSumSquared);
 
         double[][] Sxx = new double[numFreqBins][numSpecFrames];
@@ -181,14 +179,6 @@ public class Spectrogram {
         return new SpectrogramResult(frequencies, times, Sxx);
     }
 
-    private double sumSquared(double[] array) {
-        double sum = 0;
-        for (double v : array) {
-            sum += v * v;
-        }
-        return sum;
-    }
-
     /**
      * Computes the Short-Time Fourier Transform (STFT) with optional detrending.
      * This is used internally by spectrogram to apply detrending to each segment.
@@ -204,13 +194,10 @@ public class Spectrogram {
      * @return A 2D array of complex values [frequency bins][time frames].
      */
     private JComplex[][] stftWithDetrend(double[] x, int nperseg, int noverlap, int nfft,
-            double[] window, String boundary, boolean padded, DetrendType detrend) {
+            Window window, String boundary, boolean padded, DetrendType detrend) {
 
         // Calculate window scaling factor
-        double windowScale = 0.0;
-        for (double w : window) {
-            windowScale += w;
-        }
+        double windowScale = window.sum();
 
         double[] signal = x;
 
@@ -232,30 +219,29 @@ public class Spectrogram {
         int numFreqBins = nfft / 2 + 1;
 
         JComplex[][] stftResult = new JComplex[numFreqBins][numFrames];
-        Detrend detrender = new Detrend();
+        // Segments hop forward, so the trend fit is updated incrementally
+        Detrend.Sliding detrender = detrend != null ? new Detrend.Sliding(nperseg, detrend) : null;
         FFT fft = new FFT(); // Use FFT helper
+        double[] segment = new double[nperseg];
+        // Samples past nperseg stay zero: zero-padding when nfft > nperseg
+        double[] windowedSegment = new double[nfft];
 
         // Process each frame
         for (int frameIdx = 0; frameIdx < numFrames; frameIdx++) {
             int start = frameIdx * hop;
 
-            // Extract the segment (before windowing)
-            double[] segment = new double[nperseg];
-            for (int i = 0; i < nperseg && (start + i) < signal.length; i++) {
-                segment[i] = signal[start + i];
-            }
-
-            // Apply detrending if requested
-            if (detrend != null) {
-                segment = detrender.detrend(segment, detrend);
+            // Extract the segment (before windowing), detrending on the way
+            if (detrender != null) {
+                detrender.fit(signal, start);
+                detrender.subtract(segment, 0, nperseg);
+            } else {
+                int available = Math.max(0, Math.min(nperseg, signal.length - start));
+                System.arraycopy(signal, start, segment, 0, available);
+                Arrays.fill(segment, available, nperseg, 0.0);
             }
 
             // Apply windowing and prepare for FFT
-            double[] windowedSegment = new double[nfft];
-            for (int i = 0; i < nperseg; i++) {
-                windowedSegment[i] = segment[i] * window[i];
-            }
-            // Rest of segment is zero-padded if nfft > nperseg
+            window.multiply(segment, 0, windowedSegment, 0, nperseg);
 
             // Compute FFT
             JComplex[] fftResult = fft.rfft(windowedSegment);
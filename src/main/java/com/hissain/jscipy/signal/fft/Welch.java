@@ -2,6 +2,7 @@ package com.hissain.jscipy.signal.fft;
 
 import com.hissain.jscipy.signal.JComplex;
 
+import com.hissain.jscipy.signal.Window;
 import com.hissain.jscipy.signal.Windows;
 
 /**
@@ -50,8 +51,7 @@ public class Welch {
     public WelchResult welch(double[] x, double fs, int nperseg) {
         int noverlap = nperseg / 2;
         // SciPy uses periodic window for spectral analysis
-        double[] window = Windows.hanning(nperseg, false);
-        return welch(x, fs, window, nperseg, noverlap);
+        return welch(x, fs, Windows.cached("hann", nperseg, false), nperseg, noverlap);
     }
 
     /**
@@ -65,23 +65,96 @@ public class Welch {
      * @return WelchResult containing frequency array (f) and PSD array (Pxx).
      */
     public WelchResult welch(double[] x, double fs, double[] window, int nperseg, int noverlap) {
-        if (x.length < nperseg) {
+        return welch(x, fs, Window.of(window), nperseg, noverlap);
+    }
+
+    /**
+     * Compute Power Spectral Density using Welch's method with a shared window,
+     * e.g. one from {@link Windows#cached(String, int, boolean)}.
+     *
+     * @param x        Input signal.
+     * @param fs       Sampling frequency.
+     * @param window   Window (length must match nperseg).
+     * @param nperseg  Length of each segment.
+     * @param noverlap Number of points to overlap between segments.
+     * @return WelchResult containing frequency array (f) and PSD array (Pxx).
+     */
+    public WelchResult welch(double[] x, double fs, Window window, int nperseg, int noverlap) {
+        return welch(x.length, (start, segment) -> window.multiply(x, start, segment, 0, nperseg),
+                fs, window, nperseg, noverlap);
+    }
+
+    /**
+     * Compute Power Spectral Density of single-precision data using Welch's
+     * method. Uses default Hanning window and 50% overlap.
+     *
+     * @param x       Input signal.
+     * @param fs      Sampling frequency.
+     * @param nperseg Length of each segment.
+     * @return WelchResult containing frequency array (f) and PSD array (Pxx).
+     */
+    public WelchResult welch(float[] x, double fs, int nperseg) {
+        return welch(x, fs, Windows.cached("hann", nperseg, false), nperseg, nperseg / 2);
+    }
+
+    /**
+     * Compute Power Spectral Density of single-precision data using Welch's
+     * method with custom parameters. Segments are widened to double while
+     * they are windowed, so no double-precision copy of the whole signal is
+     * made.
+     *
+     * @param x        Input signal.
+     * @param fs       Sampling frequency.
+     * @param window   Window function array (length must match nperseg).
+     * @param nperseg  Length of each segment.
+     * @param noverlap Number of points to overlap between segments.
+     * @return WelchResult containing frequency array (f) and PSD array (Pxx).
+     */
+    public WelchResult welch(float[] x, double fs, double[] window, int nperseg, int noverlap) {
+        return welch(x, fs, Window.of(window), nperseg, noverlap);
+    }
+
+    /**
+     * Single-precision variant of
+     * {@link #welch(double[], double, Window, int, int)}.
+     *
+     * @param x        Input signal.
+     * @param fs       Sampling frequency.
+     * @param window   Window (length must match nperseg).
+     * @param nperseg  Length of each segment.
+     * @param noverlap Number of points to overlap between segments.
+     * @return WelchResult containing frequency array (f) and PSD array (Pxx).
+     */
+    public WelchResult welch(float[] x, double fs, Window window, int nperseg, int noverlap) {
+        return welch(x.length, (start, segment) -> {
+            for (int j = 0; j < nperseg; j++) {
+                segment[j] = x[start + j] * window.get(j);
+            }
+        }, fs, window, nperseg, noverlap);
+    }
+
+    /**
+     * Copies the windowed segment starting at {@code start} into {@code segment}.
+     */
+    private interface SegmentReader {
+        void read(int start, double[] segment);
+    }
+
+    private WelchResult welch(int length, SegmentReader reader, double fs, Window window, int nperseg,
+            int noverlap) {
+        if (length < nperseg) {
             throw new IllegalArgumentException("Signal length must be >= nperseg");
         }
-        if (window.length != nperseg) {
+        if (window.length() != nperseg) {
             throw new IllegalArgumentException("Window length must match nperseg");
         }
 
         int nfft = nperseg;
         int step = nperseg - noverlap;
-        int numSegments = (x.length - nperseg) / step + 1;
+        int numSegments = (length - nperseg) / step + 1;
 
         // Calculate Window Energy/Scale
-        double winSumSq = 0;
-        for (double v : window) {
-            winSumSq += v * v;
-        }
-        double scale = 1.0 / (fs * winSumSq);
+        double scale = 1.0 / (fs * window.sumOfSquares());
 
         int numFreqs = nfft / 2 + 1;
         double[] f = new double[numFreqs];
@@ -94,12 +167,8 @@ public class Welch {
         FFT fft = new FFT();
 
         for (int i = 0; i < numSegments; i++) {
-            int start = i * step;
             double[] segment = new double[nperseg];
-
-            for (int j = 0; j < nperseg; j++) {
-                segment[j] = x[start + j] * window[j];
-            }
+            reader.read(i * step, segment);
 
             JComplex[] spectrum = fft.rfft(segment);
 
@@ -2,6 +2,15 @@ package com.hissain.jscipy.signal.filter;
 
 import com.hissain.jscipy.signal.Windows;
 
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.RealMatrix;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
 /**
  * Finite Impulse Response (FIR) filter design methods.
  * Matches scipy.signal.firwin
@@ -13,6 +22,30 @@ import com.hissain.jscipy.signal.Windows;
  */
 public class FIR {
 
+    /** Upper bound on cached remez/firls designs. */
+    private static final int MAX_CACHED_DESIGNS = 128;
+
+    private static final ConcurrentHashMap<String, double[]> DESIGN_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Result of {@link #kaiserord(double, double)}.
+     */
+    public static class KaiserOrder {
+        /** Estimated number of taps. */
+        public final int numtaps;
+        /** Kaiser window shape parameter. */
+        public final double beta;
+
+        /**
+         * @param numtaps Estimated number of taps.
+         * @param beta    Kaiser window shape parameter.
+         */
+        public KaiserOrder(int numtaps, double beta) {
+            this.numtaps = numtaps;
+            this.beta = beta;
+        }
+    }
+
     /**
      * Sinc function: sin(pi * x) / (pi * x)
      */
@@ -364,6 +397,212 @@ public class FIR {
         return firwin(numtaps, new double[] { low, high }, fs, true);
     }
 
+    // --- Optimal designs ---
+
+    /**
+     * Design a linear-phase FIR filter with the Parks-McClellan (Remez
+     * exchange) algorithm, minimizing the maximum weighted error in each band.
+     * Matches {@code scipy.signal.remez(numtaps, bands, desired, weight=weight,
+     * fs=fs)} for the default bandpass type.
+     * <p>
+     * Designs are cached by their parameters; each call returns a fresh copy.
+     *
+     * @param numtaps The number of taps.
+     * @param bands   Monotonic band edges in Hz, pairs of (low, high), within
+     *                [0, fs/2].
+     * @param desired Desired gain in each band (length bands.length / 2).
+     * @param weight  Relative weight of each band, or null for equal weights.
+     * @param fs      Sampling frequency (Hz).
+     * @return Filter coefficients.
+     * @throws IllegalArgumentException if the specification is invalid or the
+     *                                  exchange does not converge.
+     */
+    public static double[] remez(int numtaps, double[] bands, double[] desired, double[] weight, double fs) {
+        double[] w = checkBands(numtaps, bands, desired.length, weight, fs);
+        double[] normalized = new double[bands.length];
+        for (int i = 0; i < bands.length; i++) {
+            normalized[i] = bands[i] / fs;
+        }
+        String key = "remez:" + numtaps + Arrays.toString(normalized) + Arrays.toString(desired) + Arrays.toString(w);
+        return cachedDesign(key, () -> new Remez(numtaps, normalized, desired, w, 16).design(25));
+    }
+
+    /**
+     * Design a linear-phase FIR filter by weighted least-squares fit to a
+     * piecewise-linear desired response. Matches
+     * {@code scipy.signal.firls(numtaps, bands, desired, weight=weight, fs=fs)}.
+     * <p>
+     * Designs are cached by their parameters; each call returns a fresh copy.
+     *
+     * @param numtaps The number of taps (must be odd).
+     * @param bands   Monotonic band edges in Hz, pairs of (low, high), within
+     *                [0, fs/2].
+     * @param desired Desired gain at each band edge (same length as bands).
+     * @param weight  Relative weight of each band, or null for equal weights.
+     * @param fs      Sampling frequency (Hz).
+     * @return Filter coefficients.
+     * @throws IllegalArgumentException if the specification is invalid.
+     */
+    public static double[] firls(int numtaps, double[] bands, double[] desired, double[] weight, double fs) {
+        if (numtaps % 2 == 0) {
+            throw new IllegalArgumentException("numtaps must be odd.");
+        }
+        if (desired.length != bands.length) {
+            throw new IllegalArgumentException("desired must have one value per band edge.");
+        }
+        double[] w = checkBands(numtaps, bands, bands.length / 2, weight, fs);
+        double nyq = fs / 2.0;
+        double[] normalized = new double[bands.length];
+        for (int i = 0; i < bands.length; i++) {
+            normalized[i] = bands[i] / nyq;
+        }
+        String key = "firls:" + numtaps + Arrays.toString(normalized) + Arrays.toString(desired) + Arrays.toString(w);
+        return cachedDesign(key, () -> firlsImpl(numtaps, normalized, desired, w));
+    }
+
+    /**
+     * Estimate the Kaiser window parameters for a window-method FIR design.
+     * Matches {@code scipy.signal.kaiserord}.
+     *
+     * @param ripple Upper bound of the deviation (in dB) of the magnitude
+     *               response from 1 in the passband and from 0 in the
+     *               stopband (a positive attenuation such as 60).
+     * @param width  Width of the transition region, normalized so that 1
+     *               corresponds to the Nyquist frequency.
+     * @return The number of taps and the Kaiser beta to pass to
+     *         {@link Windows#kaiser(int, double)}.
+     */
+    public static KaiserOrder kaiserord(double ripple, double width) {
+        double a = Math.abs(ripple);
+        if (a < 8) {
+            throw new IllegalArgumentException("Requested maximum ripple attenuation is too small for the Kaiser formula.");
+        }
+        if (width <= 0) {
+            throw new IllegalArgumentException("Transition width must be positive.");
+        }
+        double beta = kaiser_beta(a);
+        int numtaps = (int) Math.ceil((a - 7.95) / 2.285 / (Math.PI * width) + 1);
+        return new KaiserOrder(numtaps, beta);
+    }
+
+    /**
+     * Kaiser window beta for a desired stopband attenuation. Matches
+     * {@code scipy.signal.kaiser_beta}.
+     *
+     * @param a Attenuation in dB (positive).
+     * @return The shape parameter beta.
+     */
+    public static double kaiser_beta(double a) {
+        if (a > 50) {
+            return 0.1102 * (a - 8.7);
+        } else if (a > 21) {
+            return 0.5842 * Math.pow(a - 21, 0.4) + 0.07886 * (a - 21);
+        }
+        return 0.0;
+    }
+
+    /**
+     * Attenuation in dB of a Kaiser FIR filter. Matches
+     * {@code scipy.signal.kaiser_atten}.
+     *
+     * @param numtaps The number of taps.
+     * @param width   Transition width normalized to the Nyquist frequency.
+     * @return The attenuation in dB.
+     */
+    public static double kaiser_atten(int numtaps, double width) {
+        return 2.285 * (numtaps - 1) * Math.PI * width + 7.95;
+    }
+
+    private static double[] checkBands(int numtaps, double[] bands, int nBands, double[] weight, double fs) {
+        if (numtaps < 1) {
+            throw new IllegalArgumentException("numtaps must be positive.");
+        }
+        if (bands.length == 0 || bands.length % 2 != 0 || bands.length / 2 != nBands) {
+            throw new IllegalArgumentException("bands must contain (low, high) pairs matching desired.");
+        }
+        for (int i = 0; i < bands.length; i++) {
+            if (bands[i] < 0 || bands[i] > fs / 2.0 || (i > 0 && bands[i] < bands[i - 1])) {
+                throw new IllegalArgumentException("bands must be monotonic and within [0, fs/2].");
+            }
+        }
+        if (weight == null) {
+            double[] ones = new double[nBands];
+            Arrays.fill(ones, 1.0);
+            return ones;
+        }
+        if (weight.length != nBands) {
+            throw new IllegalArgumentException("weight must have one value per band.");
+        }
+        return weight;
+    }
+
+    private static double[] cachedDesign(String key, Supplier<double[]> design) {
+        double[] h = DESIGN_CACHE.get(key);
+        if (h == null) {
+            h = design.get();
+            if (DESIGN_CACHE.size() < MAX_CACHED_DESIGNS) {
+                DESIGN_CACHE.putIfAbsent(key, h);
+            }
+        }
+        return h.clone();
+    }
+
+    /**
+     * Least-squares design; band edges normalized to Nyquist = 1.
+     * Solves Q a = b, where Q holds integrals of the weighted cosine products
+     * and b of the desired response against each cosine.
+     */
+    private static double[] firlsImpl(int numtaps, double[] bands, double[] desired, double[] weight) {
+        int m = (numtaps - 1) / 2;
+        int nBands = bands.length / 2;
+
+        // q[k] = sum over bands of weight * integral of cos(k pi f) df
+        double[] q = new double[numtaps];
+        for (int k = 0; k < numtaps; k++) {
+            for (int band = 0; band < nBands; band++) {
+                double lo = bands[2 * band];
+                double hi = bands[2 * band + 1];
+                q[k] += weight[band] * (sinc(hi * k) * hi - sinc(lo * k) * lo);
+            }
+        }
+        RealMatrix qMatrix = new Array2DRowRealMatrix(m + 1, m + 1);
+        for (int i = 0; i <= m; i++) {
+            for (int j = 0; j <= m; j++) {
+                qMatrix.setEntry(i, j, q[Math.abs(i - j)] + q[i + j]);
+            }
+        }
+
+        double[] b = new double[m + 1];
+        for (int band = 0; band < nBands; band++) {
+            double lo = bands[2 * band];
+            double hi = bands[2 * band + 1];
+            double slope = (desired[2 * band + 1] - desired[2 * band]) / (hi - lo);
+            double intercept = desired[2 * band] - lo * slope;
+            for (int n = 0; n <= m; n++) {
+                double upper = hi * (slope * hi + intercept) * sinc(hi * n);
+                double lower = lo * (slope * lo + intercept) * sinc(lo * n);
+                if (n == 0) {
+                    upper -= slope * hi * hi / 2.0;
+                    lower -= slope * lo * lo / 2.0;
+                } else {
+                    double pn2 = (Math.PI * n) * (Math.PI * n);
+                    upper += slope * Math.cos(n * Math.PI * hi) / pn2;
+                    lower += slope * Math.cos(n * Math.PI * lo) / pn2;
+                }
+                b[n] += weight[band] * (upper - lower);
+            }
+        }
+
+        double[] a = new LUDecomposition(qMatrix).getSolver().solve(new ArrayRealVector(b)).toArray();
+        double[] h = new double[numtaps];
+        for (int i = 1; i <= m; i++) {
+            h[m - i] = a[i];
+            h[m + i] = a[i];
+        }
+        h[m] = 2 * a[0];
+        return h;
+    }
+
     // Internal Complex Helper (minimal)
     private static class JComplex {
         double real, imag;
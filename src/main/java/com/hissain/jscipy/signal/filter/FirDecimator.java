@@ -0,0 +1,203 @@
+package com.hissain.jscipy.signal.filter;
+
+import com.hissain.jscipy.signal.util.VectorOps;
+
+import java.util.Arrays;
+
+/**
+ * Streaming FIR decimator: filters with a set of taps and keeps every
+ * M-th output, carrying the filter history across blocks.
+ * <p>
+ * Output {@code k} is {@code sum_j h[j] * x[k * M - j]}, i.e. sample
+ * {@code k * M} of the full convolution of the whole stream with the taps
+ * (the first samples of {@code scipy.signal.upfirdn(h, x, down=M)}). Only
+ * these outputs are computed, which is the same work as the M-branch
+ * polyphase decomposition ({@code numtaps / M} multiply-adds per input
+ * sample), but against one contiguous history so that each output is a
+ * single dot product over all taps.
+ * <p>
+ * Blocks may have any length; splitting a stream differently gives
+ * identical outputs. Several stages can be combined with {@link Chain}. An
+ * instance is not thread-safe.
+ */
+public class FirDecimator {
+
+    private final int factor;
+    private final int numtaps;
+    /** Taps in reverse order, so the oldest history sample meets the last tap. */
+    private final double[] reversedTaps;
+    /**
+     * Last {@code numtaps} inputs, stored twice so that they are always
+     * available contiguously at {@code history[pos + 1 .. pos + numtaps]}.
+     */
+    private final double[] history;
+    private int pos;
+    /** Inputs to consume before the next output is produced. */
+    private int phase;
+
+    /**
+     * Creates a decimator from arbitrary FIR taps.
+     *
+     * @param taps   The filter coefficients.
+     * @param factor The decimation factor M.
+     * @throws IllegalArgumentException if the taps are empty or the factor is
+     *                                  not positive.
+     */
+    public FirDecimator(double[] taps, int factor) {
+        if (taps.length == 0) {
+            throw new IllegalArgumentException("At least one tap is required.");
+        }
+        if (factor < 1) {
+            throw new IllegalArgumentException("Decimation factor must be positive.");
+        }
+        this.factor = factor;
+        this.numtaps = taps.length;
+        this.reversedTaps = new double[numtaps];
+        for (int i = 0; i < numtaps; i++) {
+            reversedTaps[i] = taps[numtaps - 1 - i];
+        }
+        this.history = new double[2 * numtaps];
+        reset();
+    }
+
+    /**
+     * Creates a decimator with a Hamming-window lowpass anti-aliasing filter
+     * cut off at the new Nyquist frequency, as {@code scipy.signal.decimate}
+     * does for FIR filtering.
+     *
+     * @param numtaps The number of taps.
+     * @param factor  The decimation factor M.
+     * @return The decimator.
+     */
+    public static FirDecimator lowpass(int numtaps, int factor) {
+        return new FirDecimator(FIR.firwin_lowpass(numtaps, 1.0 / factor, 2.0), factor);
+    }
+
+    /**
+     * @return The decimation factor M.
+     */
+    public int getFactor() {
+        return factor;
+    }
+
+    /**
+     * Clears the filter history so the next input starts a new stream.
+     */
+    public void reset() {
+        Arrays.fill(history, 0.0);
+        pos = numtaps - 1;
+        phase = 0;
+    }
+
+    /**
+     * Number of outputs the next {@code inputLength} inputs will produce.
+     *
+     * @param inputLength Number of input samples.
+     * @return Number of output samples.
+     */
+    public int outputSize(int inputLength) {
+        return inputLength > phase ? 1 + (inputLength - 1 - phase) / factor : 0;
+    }
+
+    /**
+     * Filters and decimates one block.
+     *
+     * @param block The next input samples.
+     * @return The outputs produced by this block.
+     */
+    public double[] process(double[] block) {
+        double[] out = new double[outputSize(block.length)];
+        process(block, 0, block.length, out, 0);
+        return out;
+    }
+
+    /**
+     * Filters and decimates one block without allocating.
+     *
+     * @param in        Input buffer.
+     * @param offset    Start of the block in {@code in}.
+     * @param length    Number of input samples.
+     * @param out       Output buffer with room for {@link #outputSize(int)}
+     *                  samples.
+     * @param outOffset Where to write the first output.
+     * @return Number of outputs written.
+     */
+    public int process(double[] in, int offset, int length, double[] out, int outOffset) {
+        int written = 0;
+        for (int i = 0; i < length; i++) {
+            pos = pos + 1 == numtaps ? 0 : pos + 1;
+            double x = in[offset + i];
+            history[pos] = x;
+            history[pos + numtaps] = x;
+            if (phase == 0) {
+                out[outOffset + written++] = VectorOps.dot(history, pos + 1, reversedTaps, 0, numtaps);
+                phase = factor - 1;
+            } else {
+                phase--;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Multi-stage decimation: the output of each stage feeds the next, for a
+     * total factor equal to the product of the stage factors. Splitting a
+     * large factor into stages keeps every anti-aliasing filter short.
+     */
+    public static class Chain {
+
+        private final FirDecimator[] stages;
+        private double[][] scratch;
+
+        /**
+         * @param stages The stages, first stage first.
+         */
+        public Chain(FirDecimator... stages) {
+            if (stages.length == 0) {
+                throw new IllegalArgumentException("At least one stage is required.");
+            }
+            this.stages = stages.clone();
+            this.scratch = new double[stages.length][0];
+        }
+
+        /**
+         * @return The overall decimation factor.
+         */
+        public int getFactor() {
+            int total = 1;
+            for (FirDecimator stage : stages) {
+                total *= stage.getFactor();
+            }
+            return total;
+        }
+
+        /**
+         * Resets every stage.
+         */
+        public void reset() {
+            for (FirDecimator stage : stages) {
+                stage.reset();
+            }
+        }
+
+        /**
+         * Runs one block through all stages.
+         *
+         * @param block The next input samples.
+         * @return The outputs of the last stage.
+         */
+        public double[] process(double[] block) {
+            double[] data = block;
+            int length = block.length;
+            for (int s = 0; s < stages.length; s++) {
+                int size = stages[s].outputSize(length);
+                if (scratch[s].length < size) {
+                    scratch[s] = new double[Math.max(size, 2 * scratch[s].length)];
+                }
+                length = stages[s].process(data, 0, length, scratch[s], 0);
+                data = scratch[s];
+            }
+            return Arrays.copyOf(data, length);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.hissain.jscipy.signal.filter;
+
+import com.hissain.jscipy.signal.Windows;
+
+import java.util.Arrays;
+
+/**
+ * Streaming analytic signal built on an odd-length FIR Hilbert transformer.
+ * <p>
+ * The transformer is the ideal Hilbert impulse response
+ * {@code h[m] = 2 / (pi * m)} for odd {@code m} (zero for even {@code m}),
+ * truncated to {@code numtaps = 2D + 1} taps and shaped by a window from
+ * {@link Windows}. Its group delay is exactly {@code D} samples, so the real
+ * branch is the input delayed by {@code D}: output {@code n} is the analytic
+ * sample {@code x[n - D] + j * H{x}[n - D]}.
+ * <p>
+ * Unlike {@link com.hissain.jscipy.signal.fft.Hilbert}, which transforms a
+ * whole signal at once, this processor carries its history between blocks, so
+ * chunk boundaries leave no artifacts and splitting a stream differently gives
+ * identical outputs. The antisymmetric, half-zero taps cost about
+ * {@code numtaps / 4} multiply-adds per sample. Accuracy is limited to the
+ * passband of the transformer: frequencies close to DC or Nyquist are
+ * attenuated, more so for short filters. An instance is not thread-safe.
+ */
+public class FirHilbert {
+
+    private final int numtaps;
+    private final int delay;
+    /** Coefficients for the odd offsets m = 1, 3, 5, ... <= delay. */
+    private final double[] oddTaps;
+    /**
+     * Last {@code numtaps} inputs, stored twice so that they are always
+     * available contiguously at {@code history[pos + 1 .. pos + numtaps]}.
+     */
+    private final double[] history;
+    private int pos;
+    private double re;
+    private double im;
+    private double prevRe;
+    private double prevIm;
+
+    /**
+     * Creates a transformer with a Blackman window.
+     *
+     * @param numtaps The odd number of taps.
+     */
+    public FirHilbert(int numtaps) {
+        this(numtaps, "blackman");
+    }
+
+    /**
+     * Creates a transformer with the named window.
+     *
+     * @param numtaps The odd number of taps.
+     * @param window  A window name accepted by
+     *                {@link Windows#get_window(String, int, boolean)}.
+     * @throws IllegalArgumentException if numtaps is even or less than 3.
+     */
+    public FirHilbert(int numtaps, String window) {
+        double[] taps = design(numtaps, window);
+        this.numtaps = numtaps;
+        this.delay = numtaps / 2;
+        this.oddTaps = new double[(delay + 1) / 2];
+        for (int i = 0; i < oddTaps.length; i++) {
+            oddTaps[i] = taps[delay + 2 * i + 1];
+        }
+        this.history = new double[2 * numtaps];
+        reset();
+    }
+
+    /**
+     * Designs the windowed FIR Hilbert transformer.
+     *
+     * @param numtaps The odd number of taps.
+     * @param window  A window name accepted by
+     *                {@link Windows#get_window(String, int, boolean)}.
+     * @return The taps {@code g[j] = w[j] * h[j - D]}; convolving with them
+     *         yields the Hilbert transform delayed by {@code D = numtaps / 2}.
+     * @throws IllegalArgumentException if numtaps is even or less than 3.
+     */
+    public static double[] design(int numtaps, String window) {
+        if (numtaps < 3 || numtaps % 2 == 0) {
+            throw new IllegalArgumentException("numtaps must be odd and at least 3.");
+        }
+        double[] w = Windows.get_window(window, numtaps, true);
+        int d = numtaps / 2;
+        double[] taps = new double[numtaps];
+        for (int m = 1; m <= d; m += 2) {
+            double h = 2.0 / (Math.PI * m);
+            taps[d + m] = w[d + m] * h;
+            taps[d - m] = -w[d - m] * h;
+        }
+        return taps;
+    }
+
+    /**
+     * @return The number of taps.
+     */
+    public int getNumtaps() {
+        return numtaps;
+    }
+
+    /**
+     * @return The delay D, in samples, of both branches relative to the input.
+     */
+    public int getDelay() {
+        return delay;
+    }
+
+    /**
+     * Clears the history so the next input starts a new stream.
+     */
+    public void reset() {
+        Arrays.fill(history, 0.0);
+        pos = numtaps - 1;
+        re = im = prevRe = prevIm = 0.0;
+    }
+
+    /**
+     * Computes the analytic signal for one block.
+     *
+     * @param in        Input buffer.
+     * @param offset    Start of the block in {@code in}.
+     * @param length    Number of samples.
+     * @param outRe     Receives the delayed input (real part).
+     * @param outIm     Receives the delayed Hilbert transform (imaginary
+     *                  part).
+     * @param outOffset Where to write the first output.
+     */
+    public void process(double[] in, int offset, int length, double[] outRe, double[] outIm, int outOffset) {
+        for (int i = 0; i < length; i++) {
+            step(in[offset + i]);
+            outRe[outOffset + i] = re;
+            outIm[outOffset + i] = im;
+        }
+    }
+
+    /**
+     * Computes the amplitude envelope for one block.
+     *
+     * @param in        Input buffer.
+     * @param offset    Start of the block in {@code in}.
+     * @param length    Number of samples.
+     * @param out       Receives {@code |z[n - D]|}.
+     * @param outOffset Where to write the first output.
+     */
+    public void envelope(double[] in, int offset, int length, double[] out, int outOffset) {
+        for (int i = 0; i < length; i++) {
+            step(in[offset + i]);
+            out[outOffset + i] = Math.sqrt(re * re + im * im);
+        }
+    }
+
+    /**
+     * Computes the instantaneous frequency for one block, as the phase
+     * advance between consecutive analytic samples. The phase of the previous
+     * sample is carried across blocks, so no unwrapping is needed.
+     *
+     * @param in        Input buffer.
+     * @param offset    Start of the block in {@code in}.
+     * @param length    Number of samples.
+     * @param fs        The sampling frequency.
+     * @param out       Receives the frequency at {@code n - D}, in the units of
+     *                  {@code fs}.
+     * @param outOffset Where to write the first output.
+     */
+    public void instantaneousFrequency(double[] in, int offset, int length, double fs, double[] out,
+            int outOffset) {
+        double scale = fs / (2 * Math.PI);
+        for (int i = 0; i < length; i++) {
+            step(in[offset + i]);
+            // arg(z[n] * conj(z[n-1]))
+            double cr = re * prevRe + im * prevIm;
+            double ci = im * prevRe - re * prevIm;
+            out[outOffset + i] = Math.atan2(ci, cr) * scale;
+        }
+    }
+
+    private void step(double x) {
+        pos = pos + 1 == numtaps ? 0 : pos + 1;
+        history[pos] = x;
+        history[pos + numtaps] = x;
+
+        // history[center - m] is x[n - D - m], history[center + m] is x[n - D + m]
+        int center = pos + 1 + delay;
+        double acc = 0.0;
+        for (int i = 0, m = 1; i < oddTaps.length; i++, m += 2) {
+            acc += oddTaps[i] * (history[center - m] - history[center + m]);
+        }
+        prevRe = re;
+        prevIm = im;
+        re = history[center];
+        im = acc;
+    }
+}
@@ -0,0 +1,260 @@
+package com.hissain.jscipy.signal.filter;
+
+/**
+ * Parks-McClellan equiripple FIR design (Remez exchange) for linear-phase
+ * bandpass-type filters, following the classic algorithm used by
+ * {@code scipy.signal.remez}.
+ * <p>
+ * The dense frequency grid, its desired response and weights are built once
+ * per design, and the exchange iterations reuse the same error, extremal and
+ * interpolation buffers. Frequencies are normalized to a sampling rate of 1.
+ */
+class Remez {
+
+    private final int numtaps;
+    private final int r;
+    private final int gridsize;
+    private final double[] grid;
+    private final double[] desired;
+    private final double[] weight;
+    private final double[] error;
+    private final int[] ext;
+    private final int[] foundExt;
+    private final double[] ad;
+    private final double[] x;
+    private final double[] y;
+
+    /**
+     * @param numtaps     Number of taps.
+     * @param bands       Band edges in [0, 0.5], pairs of (low, high).
+     * @param des         Desired gain per band.
+     * @param wt          Weight per band.
+     * @param gridDensity Grid points per extremal frequency (16 in SciPy).
+     */
+    Remez(int numtaps, double[] bands, double[] des, double[] wt, int gridDensity) {
+        this.numtaps = numtaps;
+        int rr = numtaps / 2;
+        if (numtaps % 2 == 1) {
+            rr++;
+        }
+        this.r = rr;
+        int size = 0;
+        for (int i = 0; i < des.length; i++) {
+            size += (int) (2 * r * gridDensity * (bands[2 * i + 1] - bands[2 * i]) + 0.5);
+        }
+        this.gridsize = size;
+        this.grid = new double[gridsize];
+        this.desired = new double[gridsize];
+        this.weight = new double[gridsize];
+        this.error = new double[gridsize];
+        this.ext = new int[r + 1];
+        this.foundExt = new int[gridsize];
+        this.ad = new double[r + 1];
+        this.x = new double[r + 1];
+        this.y = new double[r + 1];
+        if (gridsize < r + 1) {
+            throw new IllegalArgumentException("Bands are too narrow for " + numtaps + " taps.");
+        }
+        createDenseGrid(bands, des, wt, gridDensity);
+    }
+
+    /**
+     * Runs the exchange and returns the impulse response.
+     *
+     * @param maxIterations Iteration limit.
+     * @return The filter taps.
+     * @throws IllegalArgumentException if the exchange fails to converge.
+     */
+    double[] design(int maxIterations) {
+        for (int i = 0; i <= r; i++) {
+            ext[i] = (int) ((long) i * (gridsize - 1) / r);
+        }
+        // Type II (even length) filters have a forced zero at Nyquist
+        if (numtaps % 2 == 0) {
+            for (int i = 0; i < gridsize; i++) {
+                double c = Math.cos(Math.PI * grid[i]);
+                desired[i] /= c;
+                weight[i] *= c;
+            }
+        }
+
+        boolean converged = false;
+        for (int iter = 0; iter < maxIterations && !converged; iter++) {
+            calcParms();
+            calcError();
+            search();
+            converged = isDone();
+        }
+        if (!converged) {
+            throw new IllegalArgumentException(
+                    "Remez exchange did not converge in " + maxIterations + " iterations.");
+        }
+        calcParms();
+
+        // Sample the optimal amplitude response and invert it by frequency sampling
+        double[] taps = new double[numtaps / 2 + 1];
+        for (int i = 0; i <= numtaps / 2; i++) {
+            double c = numtaps % 2 == 1 ? 1.0 : Math.cos(Math.PI * i / numtaps);
+            taps[i] = computeA((double) i / numtaps) * c;
+        }
+        return freqSample(taps);
+    }
+
+    private void createDenseGrid(double[] bands, double[] des, double[] wt, int gridDensity) {
+        double delf = 0.5 / (gridDensity * r);
+        int j = 0;
+        for (int band = 0; band < des.length; band++) {
+            double lowf = bands[2 * band];
+            double highf = bands[2 * band + 1];
+            int k = (int) ((highf - lowf) / delf + 0.5);
+            for (int i = 0; i < k && j < gridsize; i++) {
+                desired[j] = des[band];
+                weight[j] = wt[band];
+                grid[j] = lowf;
+                lowf += delf;
+                j++;
+            }
+            grid[j - 1] = highf;
+        }
+    }
+
+    /** Lagrange interpolation weights and the equiripple values on the current extremals. */
+    private void calcParms() {
+        for (int i = 0; i <= r; i++) {
+            x[i] = Math.cos(2 * Math.PI * grid[ext[i]]);
+        }
+        // Strided products keep the weights from overflowing for large r
+        int ld = (r - 1) / 15 + 1;
+        for (int i = 0; i <= r; i++) {
+            double denom = 1.0;
+            double xi = x[i];
+            for (int j = 0; j < ld; j++) {
+                for (int k = j; k <= r; k += ld) {
+                    if (k != i) {
+                        denom *= 2.0 * (xi - x[k]);
+                    }
+                }
+            }
+            if (Math.abs(denom) < 0.00001) {
+                denom = 0.00001;
+            }
+            ad[i] = 1.0 / denom;
+        }
+
+        double numer = 0.0;
+        double denom = 0.0;
+        double sign = 1;
+        for (int i = 0; i <= r; i++) {
+            numer += ad[i] * desired[ext[i]];
+            denom += sign * ad[i] / weight[ext[i]];
+            sign = -sign;
+        }
+        double delta = numer / denom;
+        sign = 1;
+        for (int i = 0; i <= r; i++) {
+            y[i] = desired[ext[i]] - sign * delta / weight[ext[i]];
+            sign = -sign;
+        }
+    }
+
+    /** Barycentric evaluation of the amplitude response at {@code freq}. */
+    private double computeA(double freq) {
+        double numer = 0;
+        double denom = 0;
+        double xc = Math.cos(2 * Math.PI * freq);
+        for (int i = 0; i <= r; i++) {
+            double c = xc - x[i];
+            if (Math.abs(c) < 1.0e-7) {
+                return y[i];
+            }
+            c = ad[i] / c;
+            denom += c;
+            numer += c * y[i];
+        }
+        return numer / denom;
+    }
+
+    private void calcError() {
+        for (int i = 0; i < gridsize; i++) {
+            error[i] = weight[i] * (desired[i] - computeA(grid[i]));
+        }
+    }
+
+    /** Moves the extremal set to the local extrema of the weighted error. */
+    private void search() {
+        double[] e = error;
+        int k = 0;
+        if ((e[0] > 0.0 && e[0] > e[1]) || (e[0] < 0.0 && e[0] < e[1])) {
+            foundExt[k++] = 0;
+        }
+        for (int i = 1; i < gridsize - 1; i++) {
+            if ((e[i] >= e[i - 1] && e[i] > e[i + 1] && e[i] > 0.0)
+                    || (e[i] <= e[i - 1] && e[i] < e[i + 1] && e[i] < 0.0)) {
+                foundExt[k++] = i;
+            }
+        }
+        int last = gridsize - 1;
+        if ((e[last] > 0.0 && e[last] > e[last - 1]) || (e[last] < 0.0 && e[last] < e[last - 1])) {
+            foundExt[k++] = last;
+        }
+        if (k < r + 1) {
+            throw new IllegalArgumentException("Remez exchange lost extremal frequencies; check the band edges.");
+        }
+
+        // Drop surplus extrema, preferring non-alternating and small ones
+        int extra = k - (r + 1);
+        while (extra > 0) {
+            boolean up = e[foundExt[0]] > 0.0;
+            int l = 0;
+            boolean alt = true;
+            for (int j = 1; j < k; j++) {
+                if (Math.abs(e[foundExt[j]]) < Math.abs(e[foundExt[l]])) {
+                    l = j;
+                }
+                if (up && e[foundExt[j]] < 0.0) {
+                    up = false;
+                } else if (!up && e[foundExt[j]] > 0.0) {
+                    up = true;
+                } else {
+                    alt = false;
+                    break;
+                }
+            }
+            if (alt && extra == 1) {
+                l = Math.abs(e[foundExt[k - 1]]) < Math.abs(e[foundExt[0]]) ? k - 1 : 0;
+            }
+            System.arraycopy(foundExt, l + 1, foundExt, l, k - 1 - l);
+            k--;
+            extra--;
+        }
+        System.arraycopy(foundExt, 0, ext, 0, r + 1);
+    }
+
+    private boolean isDone() {
+        double min = Math.abs(error[ext[0]]);
+        double max = min;
+        for (int i = 1; i <= r; i++) {
+            double current = Math.abs(error[ext[i]]);
+            min = Math.min(min, current);
+            max = Math.max(max, current);
+        }
+        return (max - min) / max < 0.0001;
+    }
+
+    /** Inverse DFT of a symmetric amplitude response sampled at k / numtaps. */
+    private double[] freqSample(double[] a) {
+        int n = numtaps;
+        double m = (n - 1.0) / 2.0;
+        int upper = n % 2 == 1 ? (int) m : n / 2 - 1;
+        double[] h = new double[n];
+        for (int i = 0; i < n; i++) {
+            double val = a[0];
+            double arg = 2 * Math.PI * (i - m) / n;
+            for (int k = 1; k <= upper; k++) {
+                val += 2.0 * a[k] * Math.cos(arg * k);
+            }
+            h[i] = val / n;
+        }
+        return h;
+    }
+}
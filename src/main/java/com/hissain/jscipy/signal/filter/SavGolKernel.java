@@ -0,0 +1,252 @@
+package com.hissain.jscipy.signal.filter;
+
+import com.hissain.jscipy.signal.util.VectorOps;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.MatrixUtils;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.linear.SingularMatrixException;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed Savitzky-Golay coefficients for one (window length, polynomial
+ * order, derivative, delta) combination.
+ * <p>
+ * The least-squares fit is solved once; from it, one coefficient row is
+ * evaluated for every position in the window. The centre row filters the
+ * interior, the others are the polynomial-fit rows of the {@code interp}
+ * edge mode. Applying the kernel is then a plain sliding dot product that
+ * allocates nothing, and long inputs are split across threads.
+ * <p>
+ * Instances are immutable and thread-safe; {@link #of(int, int, int, double)}
+ * returns shared instances from a bounded cache.
+ */
+public final class SavGolKernel {
+
+    private static final int MAX_CACHED = 128;
+    private static final ConcurrentHashMap<String, SavGolKernel> CACHE = new ConcurrentHashMap<>();
+    /** Inputs at least this long are filtered in parallel. */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int PARALLEL_BLOCK = 1 << 14;
+
+    private final int windowLength;
+    private final int polyOrder;
+    private final int deriv;
+    private final double delta;
+    /** Row {@code pos} (the fit evaluated at window position pos) starts at {@code pos * windowLength}. */
+    private final double[] table;
+
+    /**
+     * Computes the coefficient table.
+     *
+     * @param windowLength The odd window length.
+     * @param polyOrder    The order of the fitted polynomial, less than
+     *                     windowLength.
+     * @param deriv        The derivative order, at most polyOrder.
+     * @param delta        The sample spacing, used when deriv &gt; 0.
+     * @throws IllegalArgumentException if the parameters are inconsistent.
+     */
+    public SavGolKernel(int windowLength, int polyOrder, int deriv, double delta) {
+        if (windowLength % 2 == 0 || windowLength < 1) {
+            throw new IllegalArgumentException("Window length must be an odd positive integer.");
+        }
+        if (windowLength <= polyOrder) {
+            throw new IllegalArgumentException("Polynomial order must be less than window length.");
+        }
+        if (deriv < 0) {
+            throw new IllegalArgumentException("Derivative order must be non-negative.");
+        }
+        if (polyOrder < deriv) {
+            throw new IllegalArgumentException("Polynomial order must be greater than or equal to derivative order.");
+        }
+        if (delta <= 0) {
+            throw new IllegalArgumentException("Delta must be positive.");
+        }
+        this.windowLength = windowLength;
+        this.polyOrder = polyOrder;
+        this.deriv = deriv;
+        this.delta = delta;
+        this.table = computeTable(windowLength, polyOrder, deriv, delta);
+    }
+
+    /**
+     * Returns a shared kernel, computing it on first use.
+     *
+     * @param windowLength The odd window length.
+     * @param polyOrder    The order of the fitted polynomial.
+     * @param deriv        The derivative order.
+     * @param delta        The sample spacing.
+     * @return The kernel.
+     */
+    public static SavGolKernel of(int windowLength, int polyOrder, int deriv, double delta) {
+        String key = windowLength + ":" + polyOrder + ":" + deriv + ":" + delta;
+        SavGolKernel kernel = CACHE.get(key);
+        if (kernel == null) {
+            kernel = new SavGolKernel(windowLength, polyOrder, deriv, delta);
+            if (CACHE.size() < MAX_CACHED) {
+                CACHE.putIfAbsent(key, kernel);
+            }
+        }
+        return kernel;
+    }
+
+    /**
+     * @return The window length.
+     */
+    public int getWindowLength() {
+        return windowLength;
+    }
+
+    /**
+     * @return The polynomial order.
+     */
+    public int getPolyOrder() {
+        return polyOrder;
+    }
+
+    /**
+     * @return The derivative order.
+     */
+    public int getDeriv() {
+        return deriv;
+    }
+
+    /**
+     * @return The sample spacing.
+     */
+    public double getDelta() {
+        return delta;
+    }
+
+    /**
+     * Returns the weights that evaluate the fit (or its derivative) at a
+     * position in the window: {@code y(pos) = sum_i w[i] * x[i]}.
+     *
+     * @param pos The window position, {@code windowLength / 2} for the centre.
+     * @return A copy of the coefficient row.
+     */
+    public double[] coefficients(int pos) {
+        if (pos < 0 || pos >= windowLength) {
+            throw new IllegalArgumentException("Position must be within window bounds");
+        }
+        double[] row = new double[windowLength];
+        System.arraycopy(table, pos * windowLength, row, 0, windowLength);
+        return row;
+    }
+
+    /**
+     * Dot product of {@code windowLength} samples starting at {@code offset}
+     * with row {@code pos}.
+     */
+    double dot(double[] x, int offset, int pos) {
+        return VectorOps.dot(x, offset, table, pos * windowLength, windowLength);
+    }
+
+    /**
+     * Filters an array with {@code interp} edge handling.
+     *
+     * @param x The data, at least windowLength samples.
+     * @return The filtered data.
+     */
+    public double[] apply(double[] x) {
+        double[] out = new double[x.length];
+        apply(x, out);
+        return out;
+    }
+
+    /**
+     * Filters an array into a caller-supplied buffer without allocating.
+     *
+     * @param x   The data, at least windowLength samples.
+     * @param out Receives the filtered data; must not be {@code x}.
+     */
+    public void apply(double[] x, double[] out) {
+        int n = x.length;
+        if (n < windowLength) {
+            throw new IllegalArgumentException("Data length must be greater than or equal to window length.");
+        }
+        if (out.length < n) {
+            throw new IllegalArgumentException("Output array must have length >= " + n);
+        }
+        int half = windowLength / 2;
+
+        for (int i = 0; i < half; i++) {
+            out[i] = dot(x, 0, i);
+        }
+        int end = n - half;
+        if (end - half >= PARALLEL_THRESHOLD) {
+            int blocks = (end - half + PARALLEL_BLOCK - 1) / PARALLEL_BLOCK;
+            IntStream.range(0, blocks).parallel().forEach(b -> {
+                int from = half + b * PARALLEL_BLOCK;
+                interior(x, out, from, Math.min(end, from + PARALLEL_BLOCK));
+            });
+        } else {
+            interior(x, out, half, end);
+        }
+        for (int i = end; i < n; i++) {
+            out[i] = dot(x, n - windowLength, windowLength - (n - i));
+        }
+    }
+
+    private void interior(double[] x, double[] out, int from, int to) {
+        int half = windowLength / 2;
+        int centre = half * windowLength;
+        for (int i = from; i < to; i++) {
+            out[i] = VectorOps.dot(x, i - half, table, centre, windowLength);
+        }
+    }
+
+    /**
+     * Fits {@code p(t) = sum_m c_m t^m} over {@code t = -half..half} once and
+     * evaluates the {@code deriv}-th derivative of the fit at every window
+     * position: {@code w_i = sum_m d^deriv/dt^deriv(t^m)|pos * M_{m,i}},
+     * where {@code M = (V^T V)^-1 V^T} is the pseudo-inverse of the
+     * Vandermonde matrix.
+     */
+    private static double[] computeTable(int windowLength, int polyOrder, int deriv, double delta) {
+        int half = windowLength / 2;
+        double[][] vData = new double[windowLength][polyOrder + 1];
+        for (int r = 0; r < windowLength; r++) {
+            for (int c = 0; c <= polyOrder; c++) {
+                vData[r][c] = Math.pow(r - half, c);
+            }
+        }
+        RealMatrix v = MatrixUtils.createRealMatrix(vData);
+        RealMatrix vT = v.transpose();
+        RealMatrix vTvInv;
+        try {
+            vTvInv = new LUDecomposition(vT.multiply(v)).getSolver().getInverse();
+        } catch (SingularMatrixException e) {
+            throw new IllegalArgumentException(
+                    "Singular matrix encountered. Try reducing polyOrder or increasing windowLength.", e);
+        }
+        double[][] pinv = vTvInv.multiply(vT).getData();
+
+        double scale = Math.pow(delta, deriv);
+        double[] term = new double[polyOrder + 1];
+        double[] table = new double[windowLength * windowLength];
+        for (int pos = 0; pos < windowLength; pos++) {
+            double xPos = pos - half;
+            for (int m = 0; m <= polyOrder; m++) {
+                term[m] = m >= deriv ? factorial(m) / factorial(m - deriv) * Math.pow(xPos, m - deriv) : 0.0;
+            }
+            for (int i = 0; i < windowLength; i++) {
+                double sum = 0.0;
+                for (int m = 0; m <= polyOrder; m++) {
+                    sum += term[m] * pinv[m][i];
+                }
+                table[pos * windowLength + i] = sum / scale;
+            }
+        }
+        return table;
+    }
+
+    private static double factorial(int n) {
+        double result = 1;
+        for (int i = 2; i <= n; i++) {
+            result *= i;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,163 @@
+package com.hissain.jscipy.signal.filter;
+
+import java.util.Arrays;
+
+/**
+ * Streaming Savitzky-Golay smoother/differentiator.
+ * <p>
+ * Samples are kept in a ring buffer of {@code windowLength} samples. Once the
+ * first full window has arrived, the outputs for the leading edge are emitted
+ * with the polynomial-fit rows of the batch {@code interp} mode; afterwards
+ * each new sample completes the window centred half a window earlier, so
+ * output {@code k} is available {@code windowLength / 2} samples after input
+ * {@code k}. {@link #flush()} emits the trailing edge the same way, after
+ * which the concatenated outputs equal
+ * {@link SavitzkyGolay#savgol_filter(double[], int, int, int, double)} on the
+ * whole stream.
+ * <p>
+ * Coefficients come from a shared {@link SavGolKernel}; processing does not
+ * allocate. Blocks may have any length. An instance is not thread-safe.
+ */
+public class SavGolStream {
+
+    private final SavGolKernel kernel;
+    private final int windowLength;
+    private final int half;
+    /**
+     * Last {@code windowLength} inputs, stored twice so that they are always
+     * available contiguously at {@code history[pos + 1 .. pos + windowLength]}.
+     */
+    private final double[] history;
+    private int pos;
+    /** Samples received since the last reset, saturating at windowLength. */
+    private int filled;
+
+    /**
+     * @param windowLength The odd window length.
+     * @param polyOrder    The order of the fitted polynomial.
+     * @param deriv        The derivative order.
+     * @param delta        The sample spacing, used when deriv &gt; 0.
+     */
+    public SavGolStream(int windowLength, int polyOrder, int deriv, double delta) {
+        this(SavGolKernel.of(windowLength, polyOrder, deriv, delta));
+    }
+
+    /**
+     * @param kernel The precomputed coefficients.
+     */
+    public SavGolStream(SavGolKernel kernel) {
+        this.kernel = kernel;
+        this.windowLength = kernel.getWindowLength();
+        this.half = windowLength / 2;
+        this.history = new double[2 * windowLength];
+        reset();
+    }
+
+    /**
+     * @return The output latency in samples, {@code windowLength / 2}.
+     */
+    public int getDelay() {
+        return half;
+    }
+
+    /**
+     * Clears the buffer so the next input starts a new stream.
+     */
+    public void reset() {
+        Arrays.fill(history, 0.0);
+        pos = windowLength - 1;
+        filled = 0;
+    }
+
+    /**
+     * Number of outputs the next {@code inputLength} inputs will produce.
+     *
+     * @param inputLength Number of input samples.
+     * @return Number of output samples.
+     */
+    public int outputSize(int inputLength) {
+        if (filled == windowLength) {
+            return inputLength;
+        }
+        int missing = windowLength - filled;
+        return inputLength >= missing ? inputLength - missing + half + 1 : 0;
+    }
+
+    /**
+     * Processes one block.
+     *
+     * @param block The next input samples.
+     * @return The outputs completed by this block.
+     */
+    public double[] process(double[] block) {
+        double[] out = new double[outputSize(block.length)];
+        process(block, 0, block.length, out, 0);
+        return out;
+    }
+
+    /**
+     * Processes one block without allocating.
+     *
+     * @param in        Input buffer.
+     * @param offset    Start of the block in {@code in}.
+     * @param length    Number of input samples.
+     * @param out       Output buffer with room for {@link #outputSize(int)}
+     *                  samples.
+     * @param outOffset Where to write the first output.
+     * @return Number of outputs written.
+     */
+    public int process(double[] in, int offset, int length, double[] out, int outOffset) {
+        int written = 0;
+        for (int i = 0; i < length; i++) {
+            pos = pos + 1 == windowLength ? 0 : pos + 1;
+            double x = in[offset + i];
+            history[pos] = x;
+            history[pos + windowLength] = x;
+            if (filled == windowLength) {
+                out[outOffset + written++] = kernel.dot(history, pos + 1, half);
+            } else if (++filled == windowLength) {
+                // First full window: leading edge rows, then the centre.
+                for (int p = 0; p <= half; p++) {
+                    out[outOffset + written++] = kernel.dot(history, pos + 1, p);
+                }
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Emits the trailing {@code windowLength / 2} outputs from the last window
+     * and resets the stream.
+     *
+     * @return The trailing outputs.
+     * @throws IllegalStateException if fewer than windowLength samples were
+     *                               received.
+     */
+    public double[] flush() {
+        double[] out = new double[half];
+        flush(out, 0);
+        return out;
+    }
+
+    /**
+     * Emits the trailing outputs into a caller-supplied buffer and resets the
+     * stream.
+     *
+     * @param out       Output buffer with room for {@code windowLength / 2}
+     *                  samples.
+     * @param outOffset Where to write the first output.
+     * @return Number of outputs written.
+     * @throws IllegalStateException if fewer than windowLength samples were
+     *                               received.
+     */
+    public int flush(double[] out, int outOffset) {
+        if (filled < windowLength) {
+            throw new IllegalStateException("Fewer than window length samples have been received.");
+        }
+        for (int p = half + 1; p < windowLength; p++) {
+            out[outOffset + p - half - 1] = kernel.dot(history, pos + 1, p);
+        }
+        reset();
+        return half;
+    }
+}
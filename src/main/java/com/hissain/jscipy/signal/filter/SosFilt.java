@@ -17,12 +17,39 @@
 
 package com.hissain.jscipy.signal.filter;
 
+import java.util.stream.IntStream;
+
 /**
  * Helper class to expose SOS filtering functionality while keeping
  * implementation details (SOSCascade) package-private.
+ * <p>
+ * Besides the single-channel {@link #sosfilt(double[], double[][])}, this class
+ * offers multi-channel overloads for signals that share one set of
+ * coefficients. Channels are processed in lock-step: each section's
+ * coefficients are loaded once per sample and applied to a contiguous run of
+ * channel states, which keeps the inner loop simple enough for the JIT to
+ * vectorize. Channels may be supplied planar ({@code double[channels][n]}) or
+ * interleaved ({@code x[t * channels + c]}).
+ * <p>
+ * The {@code float[]} overloads read and write single-precision samples but
+ * keep coefficients and filter state in double precision, so their output is
+ * the double-precision result rounded once to float. For high-order cascades
+ * whose poles sit close to the unit circle, {@link #sosfilt_lattice} runs each
+ * section as a Gray-Markel lattice-ladder instead of Direct Form II. The
+ * lattice is unnormalized, with reflection coefficients
+ * {@code k1 = a1 / (1 + a2)} and {@code k2 = a2}.
  */
 public class SosFilt {
 
+    /** Number of channels filtered together in one lock-step group. */
+    private static final int CHANNEL_GROUP = 32;
+
+    /** Number of frames gathered per block when filtering planar input. */
+    private static final int BLOCK_FRAMES = 256;
+
+    /** Upper bound for the impulse-response decay search. */
+    private static final int MAX_DECAY_LENGTH = 1 << 24;
+
     /**
      * Filter data using a series of second-order sections (SOS).
      *
@@ -40,4 +67,660 @@ public class SosFilt {
         }
         return output;
     }
+
+    /**
+     * Filter several channels with the same second-order sections.
+     *
+     * @param signals Planar input of shape [channels][n]. All channels must have
+     *                the same length.
+     * @param sos     Array of second-order sections of shape [n_sections][6].
+     * @return The filtered channels, shape [channels][n].
+     */
+    public static double[][] sosfilt(double[][] signals, double[][] sos) {
+        return sosfilt(signals, sos, false);
+    }
+
+    /**
+     * Filter several channels with the same second-order sections.
+     *
+     * @param signals  Planar input of shape [channels][n]. All channels must have
+     *                 the same length.
+     * @param sos      Array of second-order sections of shape [n_sections][6].
+     * @param parallel If true, groups of channels are filtered concurrently on the
+     *                 common fork-join pool.
+     * @return The filtered channels, shape [channels][n].
+     */
+    public static double[][] sosfilt(double[][] signals, double[][] sos, boolean parallel) {
+        final int n = checkPlanar(signals);
+        final double[] coeffs = normalize(sos);
+        final double[][] output = new double[signals.length][n];
+        forEachGroup(signals.length, parallel, (start, width) -> {
+            double[][] v1 = new double[coeffs.length / 5][width];
+            double[][] v2 = new double[coeffs.length / 5][width];
+            double[] block = new double[BLOCK_FRAMES * width];
+            for (int t0 = 0; t0 < n; t0 += BLOCK_FRAMES) {
+                int frames = Math.min(BLOCK_FRAMES, n - t0);
+                for (int c = 0; c < width; c++) {
+                    double[] src = signals[start + c];
+                    for (int t = 0; t < frames; t++) {
+                        block[t * width + c] = src[t0 + t];
+                    }
+                }
+                lockStep(block, 0, frames, width, width, coeffs, v1, v2);
+                for (int c = 0; c < width; c++) {
+                    double[] dst = output[start + c];
+                    for (int t = 0; t < frames; t++) {
+                        dst[t0 + t] = block[t * width + c];
+                    }
+                }
+            }
+        });
+        return output;
+    }
+
+    /**
+     * Filter an interleaved multi-channel buffer with the same second-order
+     * sections.
+     *
+     * @param interleaved Input samples laid out as {@code x[t * channels + c]}.
+     * @param channels    The number of interleaved channels.
+     * @param sos         Array of second-order sections of shape [n_sections][6].
+     * @return The filtered samples in the same interleaved layout.
+     */
+    public static double[] sosfilt(double[] interleaved, int channels, double[][] sos) {
+        return sosfilt(interleaved, channels, sos, false);
+    }
+
+    /**
+     * Filter an interleaved multi-channel buffer with the same second-order
+     * sections.
+     *
+     * @param interleaved Input samples laid out as {@code x[t * channels + c]}.
+     * @param channels    The number of interleaved channels.
+     * @param sos         Array of second-order sections of shape [n_sections][6].
+     * @param parallel    If true, groups of channels are filtered concurrently on
+     *                    the common fork-join pool.
+     * @return The filtered samples in the same interleaved layout.
+     */
+    public static double[] sosfilt(double[] interleaved, int channels, double[][] sos, boolean parallel) {
+        final int n = checkInterleaved(interleaved, channels);
+        final double[] coeffs = normalize(sos);
+        final double[] output = interleaved.clone();
+        forEachGroup(channels, parallel, (start, width) -> {
+            double[][] v1 = new double[coeffs.length / 5][width];
+            double[][] v2 = new double[coeffs.length / 5][width];
+            lockStep(output, start, n, channels, width, coeffs, v1, v2);
+        });
+        return output;
+    }
+
+    /**
+     * Applies second-order sections forward and backward (zero-phase), matching
+     * {@code scipy.signal.sosfiltfilt} with odd padding.
+     *
+     * @param signal The input signal.
+     * @param sos    Array of second-order sections of shape [n_sections][6].
+     * @return The filtered signal.
+     * @throws IllegalArgumentException if the signal is not longer than the
+     *                                  default padding, as in SciPy.
+     */
+    public static double[] sosfiltfilt(double[] signal, double[][] sos) {
+        return sosfiltfilt(new double[][] { signal }, sos, false)[0];
+    }
+
+    /**
+     * Applies second-order sections forward and backward (zero-phase) to
+     * several channels.
+     *
+     * @param signals Planar input of shape [channels][n]. All channels must have
+     *                the same length.
+     * @param sos     Array of second-order sections of shape [n_sections][6].
+     * @return The filtered channels, shape [channels][n].
+     * @throws IllegalArgumentException if the signal is not longer than the
+     *                                  default padding, as in SciPy.
+     */
+    public static double[][] sosfiltfilt(double[][] signals, double[][] sos) {
+        return sosfiltfilt(signals, sos, false);
+    }
+
+    /**
+     * Applies second-order sections forward and backward (zero-phase) to
+     * several channels.
+     *
+     * @param signals  Planar input of shape [channels][n]. All channels must have
+     *                 the same length.
+     * @param sos      Array of second-order sections of shape [n_sections][6].
+     * @param parallel If true, groups of channels are filtered concurrently on the
+     *                 common fork-join pool.
+     * @return The filtered channels, shape [channels][n].
+     * @throws IllegalArgumentException if the signal is not longer than the
+     *                                  default padding, as in SciPy.
+     */
+    public static double[][] sosfiltfilt(double[][] signals, double[][] sos, boolean parallel) {
+        final int n = checkPlanar(signals);
+        final double[] coeffs = normalize(sos);
+        final double[][] output = new double[signals.length][n];
+        if (n == 0) {
+            return output;
+        }
+        final int padlen = padlen(coeffs, n);
+        forEachGroup(signals.length, parallel, (start, width) -> {
+            double[] padded = padGroup(n, width, padlen, (c, t) -> signals[start + c][t]);
+            filtFiltInPlace(padded, width, coeffs);
+            for (int c = 0; c < width; c++) {
+                double[] dst = output[start + c];
+                for (int t = 0; t < n; t++) {
+                    dst[t] = padded[(padlen + t) * width + c];
+                }
+            }
+        });
+        return output;
+    }
+
+    /**
+     * Applies second-order sections forward and backward (zero-phase) to an
+     * interleaved multi-channel buffer.
+     *
+     * @param interleaved Input samples laid out as {@code x[t * channels + c]}.
+     * @param channels    The number of interleaved channels.
+     * @param sos         Array of second-order sections of shape [n_sections][6].
+     * @return The filtered samples in the same interleaved layout.
+     * @throws IllegalArgumentException if the signal is not longer than the
+     *                                  default padding, as in SciPy.
+     */
+    public static double[] sosfiltfilt(double[] interleaved, int channels, double[][] sos) {
+        return sosfiltfilt(interleaved, channels, sos, false);
+    }
+
+    /**
+     * Applies second-order sections forward and backward (zero-phase) to an
+     * interleaved multi-channel buffer.
+     *
+     * @param interleaved Input samples laid out as {@code x[t * channels + c]}.
+     * @param channels    The number of interleaved channels.
+     * @param sos         Array of second-order sections of shape [n_sections][6].
+     * @param parallel    If true, groups of channels are filtered concurrently on
+     *                    the common fork-join pool.
+     * @return The filtered samples in the same interleaved layout.
+     * @throws IllegalArgumentException if the signal is not longer than the
+     *                                  default padding, as in SciPy.
+     */
+    public static double[] sosfiltfilt(double[] interleaved, int channels, double[][] sos, boolean parallel) {
+        final int n = checkInterleaved(interleaved, channels);
+        final double[] coeffs = normalize(sos);
+        final double[] output = new double[interleaved.length];
+        if (n == 0) {
+            return output;
+        }
+        final int padlen = padlen(coeffs, n);
+        forEachGroup(channels, parallel, (start, width) -> {
+            double[] padded = padGroup(n, width, padlen, (c, t) -> interleaved[t * channels + start + c]);
+            filtFiltInPlace(padded, width, coeffs);
+            for (int t = 0; t < n; t++) {
+                System.arraycopy(padded, (padlen + t) * width, output, t * channels + start, width);
+            }
+        });
+        return output;
+    }
+
+    /**
+     * Filter single-precision data along one dimension using cascaded
+     * second-order sections. Filter state is kept in double precision.
+     *
+     * @param signal The input signal.
+     * @param sos    Array of second-order sections of shape [n_sections][6].
+     * @return The filtered signal.
+     */
+    public static float[] sosfilt(float[] signal, double[][] sos) {
+        SOSCascade filter = new SOSCascade();
+        filter.setup(sos);
+        float[] output = new float[signal.length];
+        for (int i = 0; i < signal.length; i++) {
+            output[i] = (float) filter.filter(signal[i]);
+        }
+        return output;
+    }
+
+    /**
+     * Zero-phase filtering of single-precision data with second-order sections.
+     * The padded working copy and filter state are double precision; the result
+     * equals {@link #sosfiltfilt(double[], double[][])} rounded to float.
+     *
+     * @param signal The input signal.
+     * @param sos    Array of second-order sections of shape [n_sections][6].
+     * @return The filtered signal.
+     * @throws IllegalArgumentException if the signal is not longer than the
+     *                                  default padding, as in SciPy.
+     */
+    public static float[] sosfiltfilt(float[] signal, double[][] sos) {
+        double[] coeffs = normalize(sos);
+        int n = signal.length;
+        float[] output = new float[n];
+        if (n == 0) {
+            return output;
+        }
+        int padlen = padlen(coeffs, n);
+        double[] padded = padGroup(n, 1, padlen, (c, t) -> signal[t]);
+        filtFiltInPlace(padded, 1, coeffs);
+        for (int t = 0; t < n; t++) {
+            output[t] = (float) padded[padlen + t];
+        }
+        return output;
+    }
+
+    /**
+     * Filter data with cascaded second-order sections, each realized as a
+     * Gray-Markel lattice-ladder structure.
+     * <p>
+     * The denominator of every section is mapped to two reflection
+     * coefficients and the numerator to three ladder taps. The transfer
+     * function is the same as {@link #sosfilt(double[], double[][])}, but the
+     * lattice is far less sensitive to coefficient rounding when poles lie
+     * close to the unit circle, which makes it the safer choice for high-order
+     * or narrow-band cascades.
+     *
+     * @param signal The input signal.
+     * @param sos    Array of second-order sections of shape [n_sections][6].
+     * @return The filtered signal.
+     * @throws IllegalArgumentException if a section is not stable (a reflection
+     *                                  coefficient has magnitude {@code >= 1}).
+     */
+    public static double[] sosfilt_lattice(double[] signal, double[][] sos) {
+        double[] lattice = toLattice(sos);
+        int nSections = lattice.length / 5;
+        double[] g0 = new double[nSections];
+        double[] g1 = new double[nSections];
+        double[] output = new double[signal.length];
+        for (int i = 0; i < signal.length; i++) {
+            output[i] = latticeStep(signal[i], lattice, g0, g1);
+        }
+        return output;
+    }
+
+    /**
+     * Single-precision variant of {@link #sosfilt_lattice(double[], double[][])}.
+     * Lattice state is kept in double precision.
+     *
+     * @param signal The input signal.
+     * @param sos    Array of second-order sections of shape [n_sections][6].
+     * @return The filtered signal.
+     */
+    public static float[] sosfilt_lattice(float[] signal, double[][] sos) {
+        double[] lattice = toLattice(sos);
+        int nSections = lattice.length / 5;
+        double[] g0 = new double[nSections];
+        double[] g1 = new double[nSections];
+        float[] output = new float[signal.length];
+        for (int i = 0; i < signal.length; i++) {
+            output[i] = (float) latticeStep(signal[i], lattice, g0, g1);
+        }
+        return output;
+    }
+
+    /**
+     * Zero-phase SOS filtering of long signals, split into blocks that are
+     * filtered concurrently.
+     * <p>
+     * Each block is extended on both sides by a warm-up overlap of
+     * {@link #impulseDecayLength(double[][], double)} samples. The forward pass
+     * starts at the left end of the overlap and the backward pass at the right
+     * end, both from steady-state initial conditions, so the start-up
+     * transients have decayed below {@code tolerance} (relative to the
+     * filter's peak internal state) before the block's own samples are reached.
+     * The first block starts from the exact padded signal and the last block
+     * ends on it, and a signal that fits into a single block is filtered
+     * exactly like {@link #sosfiltfilt(double[], double[][])}.
+     * <p>
+     * Error bound: the deviation from {@link #sosfiltfilt(double[], double[][])}
+     * is of the order of {@code tolerance * max|x|} at every sample (in practice
+     * a small multiple of it, depending on the gain of the filter). Memory use
+     * is the output array plus one {@code blockSize + 2 * overlap} scratch
+     * buffer per worker.
+     *
+     * @param signal    The input signal.
+     * @param sos       Array of second-order sections of shape [n_sections][6].
+     * @param blockSize Number of output samples per block.
+     * @param tolerance Relative decay level that sizes the warm-up overlap, e.g.
+     *                  {@code 1e-12}.
+     * @return The filtered signal.
+     * @throws IllegalArgumentException if the filter does not decay (unstable
+     *                                  or marginally stable), the signal is not
+     *                                  longer than the padding or the arguments
+     *                                  are invalid.
+     */
+    public static double[] sosfiltfilt_parallel(double[] signal, double[][] sos, int blockSize, double tolerance) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive.");
+        }
+        final double[] coeffs = normalize(sos);
+        final int n = signal.length;
+        final double[] output = new double[n];
+        if (n == 0) {
+            return output;
+        }
+        final int padlen = padlen(coeffs, n);
+        final int overlap = impulseDecayLength(sos, tolerance);
+        final int paddedLength = n + 2 * padlen;
+        final int nSections = coeffs.length / 5;
+        int blocks = (n + blockSize - 1) / blockSize;
+
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            int start = padlen + b * blockSize;
+            int end = Math.min(padlen + n, start + blockSize);
+            // The first block reaches back to the padded start, the last to the padded end
+            int from = b == 0 ? 0 : Math.max(0, start - overlap);
+            int to = end == padlen + n ? paddedLength : Math.min(paddedLength, end + overlap);
+
+            double[] work = new double[to - from];
+            for (int i = from; i < to; i++) {
+                work[i - from] = paddedSample(signal, padlen, i);
+            }
+            double[][] v1 = new double[nSections][1];
+            double[][] v2 = new double[nSections][1];
+            steadyState(work, 0, 1, coeffs, v1, v2);
+            lockStep(work, 0, work.length, 1, 1, coeffs, v1, v2);
+            steadyState(work, work.length - 1, 1, coeffs, v1, v2);
+            lockStep(work, work.length - 1, work.length, -1, 1, coeffs, v1, v2);
+
+            System.arraycopy(work, start - from, output, start - padlen, end - start);
+        });
+        return output;
+    }
+
+    /**
+     * Zero-phase SOS filtering of long signals in parallel blocks of 65536
+     * samples with a warm-up tolerance of {@code 1e-12}.
+     *
+     * @param signal The input signal.
+     * @param sos    Array of second-order sections of shape [n_sections][6].
+     * @return The filtered signal.
+     * @see #sosfiltfilt_parallel(double[], double[][], int, double)
+     * @throws IllegalArgumentException if the signal is not longer than the
+     *                                  default padding, as in SciPy.
+     */
+    public static double[] sosfiltfilt_parallel(double[] signal, double[][] sos) {
+        return sosfiltfilt_parallel(signal, sos, 1 << 16, 1e-12);
+    }
+
+    /**
+     * Number of samples after which the internal state of the SOS cascade,
+     * excited by a unit impulse, has decayed below {@code tolerance} times its
+     * peak. This is the warm-up length needed for a transient caused by wrong
+     * initial conditions to die out.
+     *
+     * @param sos       Array of second-order sections of shape [n_sections][6].
+     * @param tolerance Relative decay level, {@code 0 < tolerance < 1}.
+     * @return The decay length in samples.
+     * @throws IllegalArgumentException if the response has not decayed within
+     *                                  2^24 samples.
+     */
+    public static int impulseDecayLength(double[][] sos, double tolerance) {
+        if (!(tolerance > 0 && tolerance < 1)) {
+            throw new IllegalArgumentException("Tolerance must be in (0, 1).");
+        }
+        double[] coeffs = normalize(sos);
+        int nSections = coeffs.length / 5;
+        double[][] v1 = new double[nSections][1];
+        double[][] v2 = new double[nSections][1];
+        double[] sample = new double[1];
+        double peak = 0;
+        sample[0] = 1.0;
+        for (int k = 0; k < MAX_DECAY_LENGTH; k++) {
+            lockStep(sample, 0, 1, 1, 1, coeffs, v1, v2);
+            sample[0] = 0.0;
+            double norm = 0;
+            for (int s = 0; s < nSections; s++) {
+                norm += Math.abs(v1[s][0]) + Math.abs(v2[s][0]);
+            }
+            if (Double.isInfinite(norm) || Double.isNaN(norm)) {
+                break;
+            }
+            peak = Math.max(peak, norm);
+            if (norm <= tolerance * peak) {
+                return k + 1;
+            }
+        }
+        throw new IllegalArgumentException("Filter impulse response does not decay; is the filter stable?");
+    }
+
+    // --- Private Implementation ---
+
+    @FunctionalInterface
+    private interface GroupTask {
+        void run(int start, int width);
+    }
+
+    @FunctionalInterface
+    private interface SampleSource {
+        double get(int channel, int t);
+    }
+
+    private static void forEachGroup(int channels, boolean parallel, GroupTask task) {
+        int groups = (channels + CHANNEL_GROUP - 1) / CHANNEL_GROUP;
+        IntStream range = IntStream.range(0, groups);
+        if (parallel) {
+            range = range.parallel();
+        }
+        range.forEach(g -> {
+            int start = g * CHANNEL_GROUP;
+            task.run(start, Math.min(CHANNEL_GROUP, channels - start));
+        });
+    }
+
+    /**
+     * Runs the cascade over {@code frames} frames of {@code width} adjacent
+     * channels, in place. Element {@code c} of frame {@code t} lives at
+     * {@code buf[base + t * frameStep + c]}; a negative {@code frameStep} walks
+     * the buffer backwards.
+     */
+    private static void lockStep(double[] buf, int base, int frames, int frameStep, int width,
+            double[] coeffs, double[][] v1, double[][] v2) {
+        int nSections = v1.length;
+        for (int t = 0, idx = base; t < frames; t++, idx += frameStep) {
+            for (int s = 0; s < nSections; s++) {
+                double b0 = coeffs[5 * s];
+                double b1 = coeffs[5 * s + 1];
+                double b2 = coeffs[5 * s + 2];
+                double a1 = coeffs[5 * s + 3];
+                double a2 = coeffs[5 * s + 4];
+                double[] w1 = v1[s];
+                double[] w2 = v2[s];
+                // Direct Form II, identical operation order to DirectFormII.process1
+                for (int c = 0; c < width; c++) {
+                    double w = buf[idx + c] - a1 * w1[c] - a2 * w2[c];
+                    buf[idx + c] = b0 * w + b1 * w1[c] + b2 * w2[c];
+                    w2[c] = w1[c];
+                    w1[c] = w;
+                }
+            }
+        }
+    }
+
+    /**
+     * Advances every lattice-ladder section by one sample. {@code g0[s]} and
+     * {@code g1[s]} hold the delayed backward signals of section {@code s}.
+     */
+    private static double latticeStep(double x, double[] lattice, double[] g0, double[] g1) {
+        for (int s = 0; s < g0.length; s++) {
+            double k1 = lattice[5 * s];
+            double k2 = lattice[5 * s + 1];
+            double f1 = x - k2 * g1[s];
+            double f0 = f1 - k1 * g0[s];
+            double b2 = k2 * f1 + g1[s];
+            double b1 = k1 * f0 + g0[s];
+            x = lattice[5 * s + 2] * f0 + lattice[5 * s + 3] * b1 + lattice[5 * s + 4] * b2;
+            g1[s] = b1;
+            g0[s] = f0;
+        }
+        return x;
+    }
+
+    /**
+     * Converts sections to [k1, k2, v0, v1, v2] per section: reflection
+     * coefficients of the denominator and ladder taps of the numerator.
+     */
+    private static double[] toLattice(double[][] sos) {
+        double[] coeffs = normalize(sos);
+        double[] lattice = new double[coeffs.length];
+        for (int s = 0; s < coeffs.length / 5; s++) {
+            double b0 = coeffs[5 * s];
+            double b1 = coeffs[5 * s + 1];
+            double b2 = coeffs[5 * s + 2];
+            double a1 = coeffs[5 * s + 3];
+            double a2 = coeffs[5 * s + 4];
+            double k2 = a2;
+            double k1 = a1 / (1.0 + a2);
+            if (!(Math.abs(k1) < 1.0 && Math.abs(k2) < 1.0)) {
+                throw new IllegalArgumentException("Section " + s + " is not stable.");
+            }
+            // Expand the numerator on the reversed lattice polynomials B_m(z)
+            double v2 = b2;
+            double v1 = b1 - v2 * a1;
+            double v0 = b0 - v2 * a2 - v1 * k1;
+            lattice[5 * s] = k1;
+            lattice[5 * s + 1] = k2;
+            lattice[5 * s + 2] = v0;
+            lattice[5 * s + 3] = v1;
+            lattice[5 * s + 4] = v2;
+        }
+        return lattice;
+    }
+
+    /**
+     * Forward-backward pass over a padded interleaved group buffer.
+     */
+    private static void filtFiltInPlace(double[] padded, int width, double[] coeffs) {
+        int frames = padded.length / width;
+        int nSections = coeffs.length / 5;
+        double[][] v1 = new double[nSections][width];
+        double[][] v2 = new double[nSections][width];
+
+        steadyState(padded, 0, width, coeffs, v1, v2);
+        lockStep(padded, 0, frames, width, width, coeffs, v1, v2);
+
+        int last = (frames - 1) * width;
+        steadyState(padded, last, width, coeffs, v1, v2);
+        lockStep(padded, last, frames, -width, width, coeffs, v1, v2);
+    }
+
+    /**
+     * Sets the Direct Form II delays to the step-response steady state for the
+     * frame at {@code base} (the equivalent of {@code sosfilt_zi * x[0]}).
+     */
+    private static void steadyState(double[] buf, int base, int width, double[] coeffs,
+            double[][] v1, double[][] v2) {
+        for (int c = 0; c < width; c++) {
+            double input = buf[base + c];
+            for (int s = 0; s < v1.length; s++) {
+                double wss = input / (1.0 + coeffs[5 * s + 3] + coeffs[5 * s + 4]);
+                v1[s][c] = wss;
+                v2[s][c] = wss;
+                input = wss * (coeffs[5 * s] + coeffs[5 * s + 1] + coeffs[5 * s + 2]);
+            }
+        }
+    }
+
+    /**
+     * SciPy's default sosfiltfilt padding, {@code 3 * ntaps}, where ntaps is
+     * {@code 2 * n_sections + 1} less the number of first-order sections (the
+     * smaller of the counts of zero b2 and zero a2).
+     *
+     * @throws IllegalArgumentException if the signal is not longer than the
+     *                                  padding, as in SciPy.
+     */
+    private static int padlen(double[] coeffs, int n) {
+        int sections = coeffs.length / 5;
+        int zeroB2 = 0;
+        int zeroA2 = 0;
+        for (int s = 0; s < sections; s++) {
+            if (coeffs[5 * s + 2] == 0) {
+                zeroB2++;
+            }
+            if (coeffs[5 * s + 4] == 0) {
+                zeroA2++;
+            }
+        }
+        int padlen = 3 * (2 * sections + 1 - Math.min(zeroB2, zeroA2));
+        if (n <= padlen) {
+            throw new IllegalArgumentException(
+                    "The length of the input must be greater than padlen, which is " + padlen + ".");
+        }
+        return padlen;
+    }
+
+    /**
+     * Sample {@code i} of the odd-extended signal without materializing it.
+     */
+    private static double paddedSample(double[] x, int padlen, int i) {
+        int n = x.length;
+        if (i < padlen) {
+            return 2 * x[0] - x[padlen - i];
+        }
+        if (i >= padlen + n) {
+            return 2 * x[n - 1] - x[n - 2 - (i - padlen - n)];
+        }
+        return x[i - padlen];
+    }
+
+    /**
+     * Builds an interleaved, odd-extended copy of a channel group.
+     */
+    private static double[] padGroup(int n, int width, int padlen, SampleSource x) {
+        int frames = n + 2 * padlen;
+        double[] padded = new double[frames * width];
+        for (int c = 0; c < width; c++) {
+            double first = x.get(c, 0);
+            double last = x.get(c, n - 1);
+            for (int i = 0; i < padlen; i++) {
+                padded[i * width + c] = 2 * first - x.get(c, padlen - i);
+                padded[(padlen + n + i) * width + c] = 2 * last - x.get(c, n - 2 - i);
+            }
+            for (int t = 0; t < n; t++) {
+                padded[(padlen + t) * width + c] = x.get(c, t);
+            }
+        }
+        return padded;
+    }
+
+    /**
+     * Flattens SOS rows into [b0, b1, b2, a1, a2] per section, normalized by a0.
+     */
+    private static double[] normalize(double[][] sos) {
+        double[] coeffs = new double[sos.length * 5];
+        for (int s = 0; s < sos.length; s++) {
+            if (sos[s].length != 6) {
+                throw new IllegalArgumentException("Each SOS section must have 6 coefficients.");
+            }
+            double a0 = sos[s][3];
+            coeffs[5 * s] = sos[s][0] / a0;
+            coeffs[5 * s + 1] = sos[s][1] / a0;
+            coeffs[5 * s + 2] = sos[s][2] / a0;
+            coeffs[5 * s + 3] = sos[s][4] / a0;
+            coeffs[5 * s + 4] = sos[s][5] / a0;
+        }
+        return coeffs;
+    }
+
+    private static int checkPlanar(double[][] signals) {
+        if (signals.length == 0) {
+            return 0;
+        }
+        int n = signals[0].length;
+        for (double[] channel : signals) {
+            if (channel.length != n) {
+                throw new IllegalArgumentException("All channels must have the same length.");
+            }
+        }
+        return n;
+    }
+
+    private static int checkInterleaved(double[] interleaved, int channels) {
+        if (channels <= 0) {
+            throw new IllegalArgumentException("Number of channels must be positive.");
+        }
+        if (interleaved.length % channels != 0) {
+            throw new IllegalArgumentException("Buffer length must be a multiple of the number of channels.");
+        }
+        return interleaved.length / channels;
+    }
 }
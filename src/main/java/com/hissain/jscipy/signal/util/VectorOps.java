@@ -0,0 +1,65 @@
+package com.hissain.jscipy.signal.util;
+
+/**
+ * Array kernels shared by the hot loops of convolution, Savitzky-Golay
+ * filtering and spectral windowing.
+ * <p>
+ * This is the portable scalar implementation. The library jar is
+ * multi-release: on JDK 17 and newer a replacement of this class from
+ * {@code META-INF/versions/17} is loaded instead, which runs the same
+ * kernels on {@code jdk.incubator.vector} when the JVM is started with
+ * {@code --add-modules jdk.incubator.vector}, and otherwise falls back to
+ * these scalar loops. Vectorized dot products accumulate in a different
+ * order, so results may differ from the scalar ones in the last bits.
+ */
+public class VectorOps {
+
+    private VectorOps() {
+    }
+
+    /**
+     * Returns whether the kernels run on the Vector API in this JVM.
+     *
+     * @return {@code true} if vectorized kernels are in use.
+     */
+    public static boolean isVectorized() {
+        return false;
+    }
+
+    /**
+     * Dot product of {@code length} elements of two arrays.
+     *
+     * @param a       First array.
+     * @param aOffset Start index in {@code a}.
+     * @param b       Second array.
+     * @param bOffset Start index in {@code b}.
+     * @param length  Number of elements.
+     * @return {@code sum(a[aOffset + i] * b[bOffset + i])}.
+     */
+    public static double dot(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        double sum = 0.0;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    /**
+     * Elementwise product of {@code length} elements of two arrays, e.g. a
+     * signal segment and a window.
+     *
+     * @param a         First array.
+     * @param aOffset   Start index in {@code a}.
+     * @param b         Second array.
+     * @param bOffset   Start index in {@code b}.
+     * @param out       Destination array.
+     * @param outOffset Start index in {@code out}.
+     * @param length    Number of elements.
+     */
+    public static void multiply(double[] a, int aOffset, double[] b, int bOffset, double[] out, int outOffset,
+            int length) {
+        for (int i = 0; i < length; i++) {
+            out[outOffset + i] = a[aOffset + i] * b[bOffset + i];
+        }
+    }
+}
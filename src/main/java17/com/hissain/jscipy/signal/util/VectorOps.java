@@ -0,0 +1,77 @@
+package com.hissain.jscipy.signal.util;
+
+/**
+ * Array kernels shared by the hot loops of convolution, Savitzky-Golay
+ * filtering and spectral windowing.
+ * <p>
+ * JDK 17+ variant, packaged under {@code META-INF/versions/17}. When the
+ * {@code jdk.incubator.vector} module is resolved (JVM option
+ * {@code --add-modules jdk.incubator.vector}) kernels longer than a few
+ * lanes are delegated to {@link VectorKernels}; otherwise the scalar loops
+ * below are used. Setting the system property
+ * {@code jscipy.vector.disable=true} forces the scalar path.
+ */
+public class VectorOps {
+
+    /** Shorter runs are not worth the vector setup and tail handling. */
+    private static final int MIN_VECTOR_LENGTH = 16;
+
+    private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+            && !Boolean.getBoolean("jscipy.vector.disable");
+
+    private VectorOps() {
+    }
+
+    /**
+     * Returns whether the kernels run on the Vector API in this JVM.
+     *
+     * @return {@code true} if vectorized kernels are in use.
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    /**
+     * Dot product of {@code length} elements of two arrays.
+     *
+     * @param a       First array.
+     * @param aOffset Start index in {@code a}.
+     * @param b       Second array.
+     * @param bOffset Start index in {@code b}.
+     * @param length  Number of elements.
+     * @return {@code sum(a[aOffset + i] * b[bOffset + i])}.
+     */
+    public static double dot(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        if (VECTORIZED && length >= MIN_VECTOR_LENGTH) {
+            return VectorKernels.dot(a, aOffset, b, bOffset, length);
+        }
+        double sum = 0.0;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    /**
+     * Elementwise product of {@code length} elements of two arrays, e.g. a
+     * signal segment and a window.
+     *
+     * @param a         First array.
+     * @param aOffset   Start index in {@code a}.
+     * @param b         Second array.
+     * @param bOffset   Start index in {@code b}.
+     * @param out       Destination array.
+     * @param outOffset Start index in {@code out}.
+     * @param length    Number of elements.
+     */
+    public static void multiply(double[] a, int aOffset, double[] b, int bOffset, double[] out, int outOffset,
+            int length) {
+        if (VECTORIZED && length >= MIN_VECTOR_LENGTH) {
+            VectorKernels.multiply(a, aOffset, b, bOffset, out, outOffset, length);
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            out[outOffset + i] = a[aOffset + i] * b[bOffset + i];
+        }
+    }
+}
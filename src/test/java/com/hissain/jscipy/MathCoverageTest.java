@@ -1,5 +1,8 @@
 package com.hissain.jscipy;
 
+import com.hissain.jscipy.math.GridInterpolationMethod;
+import com.hissain.jscipy.math.InterpolationKind;
+
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -40,6 +43,15 @@ public class MathCoverageTest {
         // BSpline (k=2)
         yi = Math.interp1d_bspline(x, y, xi, 2);
         assertNotNull(yi);
+
+        // Fitted interpolant
+        assertEquals(2.5, Math.interp1d(x, y, InterpolationKind.LINEAR).value(1.5), 1e-12);
+
+        // Regular grid, 2 x 3 values of i + j
+        double[][] grid = { { 0, 1 }, { 0, 1, 2 } };
+        double[] values = { 0, 1, 2, 1, 2, 3 };
+        yi = Math.interpn(grid, values, new double[] { 0.5, 1.5, 1, 2 }, GridInterpolationMethod.LINEAR);
+        assertArrayEquals(new double[] { 2.0, 3.0 }, yi, 1e-12);
     }
 
     @Test
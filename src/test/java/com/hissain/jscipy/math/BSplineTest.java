@@ -0,0 +1,108 @@
+package com.hissain.jscipy.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BSplineTest {
+
+    @Test
+    public void testInterpolatesKnotsForAnyDegree() {
+        Random random = new Random(5);
+        double[] x = new double[12];
+        double[] y = new double[12];
+        for (int i = 1; i < x.length; i++) {
+            x[i] = x[i - 1] + 0.2 + random.nextDouble();
+            y[i] = random.nextGaussian();
+        }
+        for (int k = 0; k <= 5; k++) {
+            BSpline spline = new BSpline(x, y, k);
+            assertEquals(k, spline.getDegree());
+            assertEquals(x.length + k + 1, spline.getKnots().length);
+            if (k > 0) {
+                assertArrayEquals(y, spline.evaluate(x), 1e-10, "k = " + k);
+            }
+        }
+    }
+
+    @Test
+    public void testLargeFitInterpolatesKnots() {
+        // Far beyond what a dense collocation solve could handle
+        Random random = new Random(6);
+        int n = 200_000;
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 1; i < n; i++) {
+            x[i] = x[i - 1] + 0.01 + random.nextDouble();
+            y[i] = Math.sin(0.01 * x[i]) + random.nextGaussian();
+        }
+        for (int k = 1; k <= 5; k++) {
+            assertArrayEquals(y, new BSpline(x, y, k).evaluate(x), 1e-8, "k = " + k);
+        }
+    }
+
+    @Test
+    public void testReproducesPolynomialsOfItsDegree() {
+        double[] x = { 0, 0.7, 1.1, 2, 3.5, 4, 5.2, 6 };
+        double[] y = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            y[i] = 1 - 2 * x[i] + 0.5 * x[i] * x[i] - 0.1 * x[i] * x[i] * x[i];
+        }
+        BSpline spline = new BSpline(x, y, 3);
+        for (double v = 0; v <= 6; v += 0.125) {
+            assertEquals(1 - 2 * v + 0.5 * v * v - 0.1 * v * v * v, spline.value(v), 1e-10);
+            assertEquals(-2 + v - 0.3 * v * v, spline.derivative(v), 1e-10);
+        }
+        // Antiderivative v - v^2 + v^3 / 6 - v^4 / 40
+        assertEquals(6 - 36 + 36 - 1296 / 40.0, spline.integral(0, 6), 1e-10);
+        assertEquals(-spline.integral(1, 4.5), spline.integral(4.5, 1), 1e-12);
+    }
+
+    @Test
+    public void testDerivativeAndIntegralMatchNumericalEstimates() {
+        Random random = new Random(8);
+        double[] x = new double[30];
+        double[] y = new double[30];
+        for (int i = 1; i < x.length; i++) {
+            x[i] = x[i - 1] + 0.1 + random.nextDouble();
+            y[i] = Math.sin(x[i]) + 0.1 * random.nextGaussian();
+        }
+        for (int k = 1; k <= 4; k++) {
+            BSpline spline = new BSpline(x, y, k);
+            double a = x[3] + 0.3;
+            double b = x[25] - 0.2;
+            int steps = 20_000;
+            double h = (b - a) / steps;
+            double sum = 0.5 * (spline.value(a) + spline.value(b));
+            for (int i = 1; i < steps; i++) {
+                sum += spline.value(a + i * h);
+            }
+            assertEquals(sum * h, spline.integral(a, b), k == 1 ? 1e-6 : 1e-4, "k = " + k);
+            if (k >= 2) {
+                // Central differences away from knots, where the derivative is continuous
+                for (int i = 2; i < 28; i++) {
+                    double v = x[i] + 0.37 * (x[i + 1] - x[i]);
+                    double e = 1e-6;
+                    double estimate = (spline.value(v + e) - spline.value(v - e)) / (2 * e);
+                    assertEquals(estimate, spline.derivative(v), 1e-4, "k = " + k);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> new BSpline(new double[] { 0, 1 }, new double[] { 0, 1 }, -1));
+        assertThrows(IllegalArgumentException.class, () -> new BSpline(new double[] { 0, 1 }, new double[] { 0 }, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BSpline(new double[] { 0, 1, 2 }, new double[] { 0, 1, 2 }, 3));
+        assertThrows(IllegalArgumentException.class, () -> new BSpline(new double[] { 0, 1, 1 }, new double[] { 0, 1, 2 }, 2));
+        BSpline spline = new BSpline(new double[] { 0, 1, 2 }, new double[] { 0, 1, 0 }, 2);
+        assertThrows(IllegalArgumentException.class, () -> spline.value(2.5));
+        assertThrows(IllegalArgumentException.class, () -> spline.derivative(-1));
+        assertThrows(IllegalArgumentException.class, () -> spline.integral(0, 3));
+    }
+}
@@ -0,0 +1,113 @@
+package com.hissain.jscipy.math;
+
+import org.apache.commons.math3.analysis.interpolation.SplineInterpolator;
+import org.apache.commons.math3.analysis.polynomials.PolynomialSplineFunction;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CubicSplineTest {
+
+    @Test
+    public void testMatchesCommonsMathExactly() {
+        Random random = new Random(1);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 3 + random.nextInt(200);
+            double[] x = new double[n];
+            double[] y = new double[n];
+            for (int i = 0; i < n; i++) {
+                // Every other trial on a uniform grid
+                x[i] = trial % 2 == 0 ? 0.5 * i : (i == 0 ? 0 : x[i - 1] + 0.01 + random.nextDouble());
+                y[i] = Math.sin(x[i]) + random.nextGaussian();
+            }
+            PolynomialSplineFunction reference = new SplineInterpolator().interpolate(x, y);
+            CubicSpline spline = new CubicSpline(x, y);
+
+            double[] queries = new double[1000];
+            for (int i = 0; i < queries.length; i++) {
+                queries[i] = i % 10 == 0 ? x[random.nextInt(n)] : x[0] + random.nextDouble() * (x[n - 1] - x[0]);
+            }
+            queries[0] = x[0];
+            queries[1] = x[n - 1];
+            double[] sorted = queries.clone();
+            Arrays.sort(sorted);
+
+            for (double[] q : new double[][] { queries, sorted }) {
+                double[] actual = spline.evaluate(q);
+                for (int i = 0; i < q.length; i++) {
+                    assertEquals(reference.value(q[i]), actual[i], 0.0, "trial " + trial);
+                    assertEquals(actual[i], spline.value(q[i]), 0.0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParallelEvaluationMatchesPointwise() {
+        double[] x = { 0, 1, 2.5, 3, 4.5, 6, 8 };
+        double[] y = { 1, -1, 2, 0, 3, 1, 2 };
+        CubicSpline spline = new CubicSpline(x, y);
+        int n = 200_000;
+        double[] queries = new double[n];
+        for (int i = 0; i < n; i++) {
+            queries[i] = 8.0 * i / (n - 1);
+        }
+        double[] out = new double[n];
+        spline.evaluate(queries, out);
+        for (int i = 0; i < n; i += 997) {
+            assertEquals(spline.value(queries[i]), out[i], 0.0);
+        }
+        assertEquals(2.0, out[n - 1], 1e-12);
+    }
+
+    @Test
+    public void testDerivativeAndIntegralMatchCommonsMath() {
+        Random random = new Random(2);
+        double[] x = new double[40];
+        double[] y = new double[40];
+        for (int i = 1; i < x.length; i++) {
+            x[i] = x[i - 1] + 0.05 + random.nextDouble();
+            y[i] = random.nextGaussian();
+        }
+        PolynomialSplineFunction reference = new SplineInterpolator().interpolate(x, y);
+        CubicSpline spline = new CubicSpline(x, y);
+        double a = x[0];
+        double b = x[39];
+        for (int i = 0; i < 200; i++) {
+            double v = a + random.nextDouble() * (b - a);
+            assertEquals(reference.derivative().value(v), spline.derivative(v), 1e-9);
+        }
+        int steps = 100_000;
+        double h = (b - a) / steps;
+        double sum = 0.5 * (spline.value(a) + spline.value(b));
+        for (int i = 1; i < steps; i++) {
+            sum += spline.value(a + i * h);
+        }
+        assertEquals(sum * h, spline.integral(a, b), 1e-6);
+        double c = x[7] + 0.3;
+        assertEquals(spline.integral(a, b), spline.integral(a, c) + spline.integral(c, b), 1e-12);
+        assertEquals(-spline.integral(c, b), spline.integral(b, c), 1e-12);
+    }
+
+    @Test
+    public void testInterpolatesKnots() {
+        double[] x = { 0, 1, 2, 3, 4 };
+        double[] y = { 0, 1, 0, -1, 0 };
+        assertArrayEquals(y, new CubicSpline(x, y).evaluate(x), 1e-12);
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> new CubicSpline(new double[] { 0, 1 }, new double[] { 0, 1 }));
+        assertThrows(IllegalArgumentException.class,
+                () -> new CubicSpline(new double[] { 0, 2, 1 }, new double[] { 0, 1, 2 }));
+        CubicSpline spline = new CubicSpline(new double[] { 0, 1, 2 }, new double[] { 0, 1, 0 });
+        assertThrows(IllegalArgumentException.class, () -> spline.value(2.5));
+        assertThrows(IllegalArgumentException.class, () -> spline.evaluate(new double[] { 1, -0.1 }));
+    }
+}
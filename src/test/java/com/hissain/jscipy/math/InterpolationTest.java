@@ -7,8 +7,17 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class InterpolationTest {
@@ -65,6 +74,81 @@ public class InterpolationTest {
         assertArrayEquals(expectedY, actualY, TOLERANCE);
     }
 
+    @Test
+    public void testLinearMatchesBinarySearchForAnyQueryOrder() {
+        Random random = new Random(3);
+        double[] x = new double[50];
+        double[] y = new double[50];
+        for (int i = 1; i < x.length; i++) {
+            x[i] = x[i - 1] + 0.1 + random.nextDouble();
+            y[i] = random.nextGaussian();
+        }
+        double[] newX = new double[500];
+        for (int i = 0; i < newX.length; i++) {
+            newX[i] = i % 5 == 0 ? x[random.nextInt(x.length)] : -2 + random.nextDouble() * (x[49] + 4);
+        }
+        double[] actual = interpolation.linear(x, y, newX);
+        for (int q = 0; q < newX.length; q++) {
+            int i = Arrays.binarySearch(x, newX[q]);
+            i = i < 0 ? -i - 1 : i;
+            double expected = i == 0 ? y[0]
+                    : i == x.length ? y[x.length - 1]
+                            : y[i - 1] + (y[i] - y[i - 1]) * (newX[q] - x[i - 1]) / (x[i] - x[i - 1]);
+            assertEquals(expected, actual[q], 0.0);
+        }
+    }
+
+    @Test
+    public void testLinearAcceptsRepeatedX() {
+        // A step table: y jumps from 1 to 5 at x = 1 and from 6 to 0 at x = 2
+        double[] x = { 0, 1, 1, 2, 2 };
+        double[] y = { 0, 1, 5, 6, 0 };
+        double[] actual = interpolation.linear(x, y, new double[] { -1, 0.5, 1, 1.5, 2, 3 });
+        assertArrayEquals(new double[] { 0, 0.5, 1, 5.5, 6, 0 }, actual, 0.0);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> interpolation.linear(new double[] { 0, 2, 1 }, new double[3], new double[1]));
+        assertThrows(IllegalArgumentException.class, () -> Interpolation.fit(x, y, InterpolationKind.LINEAR));
+    }
+
+    @Test
+    public void testFitMatchesOneShotInterpolation() throws Exception {
+        double[] x = { 0, 0.5, 1.5, 2, 3.5, 4, 5 };
+        double[] y = { 1, 2, 0, -1, 2, 3, 1 };
+        double[] newX = new double[1000];
+        for (int i = 0; i < newX.length; i++) {
+            newX[i] = 5.0 * i / (newX.length - 1);
+        }
+        assertArrayEquals(interpolation.linear(x, y, newX),
+                Interpolation.fit(x, y, InterpolationKind.LINEAR).evaluate(newX), 0.0);
+        assertArrayEquals(interpolation.quadratic(x, y, newX),
+                Interpolation.fit(x, y, InterpolationKind.QUADRATIC).evaluate(newX), 0.0);
+        assertArrayEquals(interpolation.cubic(x, y, newX),
+                Interpolation.fit(x, y, InterpolationKind.CUBIC).evaluate(newX), 0.0);
+
+        // One fitted instance shared by several threads
+        Interpolator shared = Interpolation.fit(x, y, InterpolationKind.CUBIC);
+        double[] expected = shared.evaluate(newX);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<double[]>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(pool.submit(() -> {
+                    double[] out = new double[newX.length];
+                    for (int i = 0; i < newX.length; i++) {
+                        out[i] = shared.value(newX[i]);
+                    }
+                    return out;
+                }));
+            }
+            for (Future<double[]> result : results) {
+                assertArrayEquals(expected, result.get(), 0.0);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     public void testCubicInterpolationData1() throws IOException {
         double[] x = readData("datasets/interpolation/interpolation_input_x_1.txt");
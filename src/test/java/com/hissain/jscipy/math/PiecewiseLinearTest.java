@@ -0,0 +1,50 @@
+package com.hissain.jscipy.math;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PiecewiseLinearTest {
+
+    private final PiecewiseLinear line = new PiecewiseLinear(new double[] { 0, 1, 3, 4 }, new double[] { 1, 3, -1, 0 });
+
+    @Test
+    public void testValueAndConstantExtension() {
+        assertArrayEquals(new double[] { 1, 1, 2, 3, 1, -1, -0.5, 0, 0 },
+                line.evaluate(new double[] { -5, 0, 0.5, 1, 2, 3, 3.5, 4, 9 }), 1e-15);
+        assertTrue(Double.isNaN(line.derivative(Double.NaN)));
+    }
+
+    @Test
+    public void testDerivative() {
+        assertEquals(0.0, line.derivative(-1), 0.0);
+        assertEquals(2.0, line.derivative(0.5), 0.0);
+        // A breakpoint takes the slope of the interval ending there
+        assertEquals(2.0, line.derivative(1), 0.0);
+        assertEquals(-2.0, line.derivative(2), 0.0);
+        assertEquals(1.0, line.derivative(4), 0.0);
+        assertEquals(0.0, line.derivative(4.5), 0.0);
+    }
+
+    @Test
+    public void testIntegral() {
+        // Trapezoids 2, 2 and -0.5
+        assertEquals(3.5, line.integral(0, 4), 1e-15);
+        assertEquals(-3.5, line.integral(4, 0), 1e-15);
+        // Beyond the ends the constant extensions count too
+        assertEquals(2.75, line.integral(-2, 0.5), 1e-15);
+        assertEquals(1.25, line.integral(-0.5, 0.5), 1e-15);
+        assertEquals(3.5, line.integral(0, 10), 1e-15);
+        assertEquals(3.5, line.integral(0.5, 2.5), 1e-15);
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> new PiecewiseLinear(new double[] { 0 }, new double[] { 0 }));
+        assertThrows(IllegalArgumentException.class, () -> new PiecewiseLinear(new double[] { 0, 1 }, new double[] { 0 }));
+        assertThrows(IllegalArgumentException.class, () -> new PiecewiseLinear(new double[] { 0, 0 }, new double[] { 0, 1 }));
+    }
+}
@@ -0,0 +1,92 @@
+package com.hissain.jscipy.math;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RK45SolverTest {
+
+    @Test
+    public void testSolveStepsToEnd() {
+        RK45Solver solver = new RK45Solver(1e-8, 1e-10);
+        // dy/dt = y, y(0)=1 -> y(t) = e^t
+        RK45Solver.Solution sol = solver.solve((t, y) -> y, 1.0, 0.0, 2.0);
+        int n = sol.t.length;
+        assertEquals(sol.steps + 1, n);
+        assertEquals(0.0, sol.t[0], 0.0);
+        assertEquals(2.0, sol.t[n - 1], 0.0);
+        for (int i = 0; i < n; i++) {
+            assertEquals(Math.exp(sol.t[i]), sol.y[i], 1e-7 * Math.exp(sol.t[i]));
+        }
+        // First Same As Last: 6 evaluations per step attempt, plus 2 to start
+        assertEquals(2, sol.evaluations % 6);
+    }
+
+    @Test
+    public void testDenseOutputAtRequestedTimes() {
+        RK45Solver solver = new RK45Solver(1e-6, 1e-9);
+        // Logistic growth y' = y (1 - y), y(0) = 0.1
+        RK4Solver.DifferentialEquation eq = (t, y) -> y * (1 - y);
+        double[] tEval = new double[201];
+        for (int i = 0; i < tEval.length; i++) {
+            tEval[i] = 0.05 * i;
+        }
+        RK45Solver.Solution sol = solver.solve(eq, 0.1, tEval);
+        assertArrayEquals(tEval, sol.t, 0.0);
+        for (int i = 0; i < tEval.length; i++) {
+            double expected = 1 / (1 + 9 * Math.exp(-tEval[i]));
+            assertEquals(expected, sol.y[i], 1e-5);
+        }
+        // Far fewer steps than requested points, and far fewer evaluations
+        // than fixed-step RK4 with its default sub-stepping
+        assertTrue(sol.steps < 50, "steps " + sol.steps);
+        assertTrue(sol.evaluations < 400 * 200 / 20, "evaluations " + sol.evaluations);
+        RK45Solver.Solution ends = solver.solve(eq, 0.1, new double[] { 0, 10 });
+        assertEquals(sol.evaluations, ends.evaluations);
+        assertEquals(sol.y[200], ends.y[1], 0.0);
+    }
+
+    @Test
+    public void testAdaptsToStiffnessOfSegments() {
+        RK45Solver solver = new RK45Solver(1e-6, 1e-9);
+        // Smooth decay, then a fast oscillation from t = 5 on
+        RK4Solver.DifferentialEquation eq = (t, y) -> t < 5 ? -y : 50 * Math.cos(50 * t);
+        RK45Solver.Solution sol = solver.solve(eq, 1.0, 0.0, 10.0);
+        int smooth = 0;
+        for (int i = 1; i < sol.t.length && sol.t[i] <= 5; i++) {
+            smooth++;
+        }
+        assertTrue(sol.steps - smooth > 10 * smooth, sol.steps + " steps, " + smooth + " before t = 5");
+        assertEquals(Math.exp(-5) + Math.sin(500) - Math.sin(250), sol.y[sol.y.length - 1], 1e-4);
+    }
+
+    @Test
+    public void testBackwardIntegration() {
+        RK45Solver solver = new RK45Solver(1e-9, 1e-12);
+        RK45Solver.Solution sol = solver.solve((t, y) -> -2 * t * y, Math.exp(-4), new double[] { 2, 1, 0.5, 0 });
+        for (int i = 0; i < 4; i++) {
+            assertEquals(Math.exp(-sol.t[i] * sol.t[i]), sol.y[i], 1e-9);
+        }
+    }
+
+    @Test
+    public void testMaxStep() {
+        RK45Solver.Solution sol = new RK45Solver(1e-3, 1e-6, 0.1).solve((t, y) -> 0, 1.0, 0.0, 1.0);
+        assertTrue(sol.steps >= 10);
+        for (int i = 1; i < sol.t.length; i++) {
+            assertTrue(sol.t[i] - sol.t[i - 1] <= 0.1 + 1e-15);
+        }
+    }
+
+    @Test
+    public void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> new RK45Solver(-1, 1e-6));
+        assertThrows(IllegalArgumentException.class, () -> new RK45Solver(1e-3, 1e-6, 0));
+        RK45Solver solver = new RK45Solver();
+        assertThrows(IllegalArgumentException.class, () -> solver.solve((t, y) -> y, 1, new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> solver.solve((t, y) -> y, 1, new double[] { 0, 2, 1 }));
+        assertThrows(IllegalArgumentException.class, () -> solver.solve((t, y) -> y, 1, new double[] { 0, 1, 0 }));
+        assertThrows(ArithmeticException.class, () -> solver.solve((t, y) -> Double.NaN, 1, 0, 1));
+        assertThrows(ArithmeticException.class,
+                () -> solver.solve((t, y) -> Double.NaN, 1, new double[] { 0, 0.5, 1 }));
+    }
+}
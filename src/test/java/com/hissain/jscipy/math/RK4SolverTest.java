@@ -1,6 +1,13 @@
 package com.hissain.jscipy.math;
 
 import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class RK4SolverTest {
@@ -31,4 +38,132 @@ public class RK4SolverTest {
         assertEquals(3, sol.t.length);
         assertEquals(Math.exp(-1.0), sol.y[2], 1e-3);
     }
+
+    @Test
+    public void testSystemMatchesScalarComponentwise() {
+        RK4Solver solver = new RK4Solver();
+        // Two decoupled equations: y0' = -y0, y1' = t * y1
+        RK4Solver.DifferentialSystem system = (t, y, dydt) -> {
+            dydt[0] = -y[0];
+            dydt[1] = t * y[1];
+        };
+        RK4Solver.SystemSolution sol = solver.solve(system, new double[] { 1.0, 2.0 }, 0.0, 1.0, 0.1);
+        RK4Solver.Solution first = solver.solve((t, y) -> -y, 1.0, 0.0, 1.0, 0.1);
+        RK4Solver.Solution second = solver.solve((t, y) -> t * y, 2.0, 0.0, 1.0, 0.1);
+
+        assertEquals(2, sol.dimension);
+        assertArrayEquals(first.t, sol.t, 0.0);
+        assertEquals(2 * sol.t.length, sol.y.length);
+        for (int i = 0; i < sol.t.length; i++) {
+            assertEquals(first.y[i], sol.get(i, 0), 0.0);
+            assertEquals(second.y[i], sol.get(i, 1), 0.0);
+        }
+
+        double[] tSpan = { 0.0, 0.5, 1.0 };
+        sol = solver.solve(system, new double[] { 1.0, 2.0 }, tSpan);
+        first = solver.solve((t, y) -> -y, 1.0, tSpan);
+        second = solver.solve((t, y) -> t * y, 2.0, tSpan);
+        for (int i = 0; i < tSpan.length; i++) {
+            assertArrayEquals(new double[] { first.y[i], second.y[i] }, sol.state(i), 0.0);
+        }
+    }
+
+    @Test
+    public void testLargeSystemReusesStateArrays() {
+        RK4Solver solver = new RK4Solver();
+        // 1000 harmonic oscillators x'' = -w^2 x, as (x, v) pairs
+        int oscillators = 1000;
+        double[] y0 = new double[2 * oscillators];
+        for (int j = 0; j < oscillators; j++) {
+            y0[2 * j] = 1.0;
+        }
+        Set<double[]> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        RK4Solver.DifferentialSystem system = (t, y, dydt) -> {
+            seen.add(y);
+            seen.add(dydt);
+            for (int j = 0; j < oscillators; j++) {
+                double w = 1.0 + j * 0.001;
+                dydt[2 * j] = y[2 * j + 1];
+                dydt[2 * j + 1] = -w * w * y[2 * j];
+            }
+        };
+        RK4Solver.SystemSolution sol = solver.solve(system, y0, new double[] { 0.0, 1.0, 2.0 }, 200);
+
+        // State, stage and the four derivative arrays, whatever the step count
+        assertEquals(6, seen.size());
+        for (int j = 0; j < oscillators; j += 97) {
+            double w = 1.0 + j * 0.001;
+            assertEquals(Math.cos(2 * w), sol.get(2, 2 * j), 1e-9);
+            assertEquals(-w * Math.sin(2 * w), sol.get(2, 2 * j + 1), 1e-9);
+        }
+        assertEquals(1.0, y0[0], 0.0);
+    }
+
+    @Test
+    public void testEnsembleMatchesSeparateSolves() {
+        RK4Solver solver = new RK4Solver();
+        // Damped oscillators x'' = -k x - 0.1 x', one stiffness per member
+        int members = 2500;
+        double[] stiffness = new double[members];
+        double[] y0 = new double[2 * members];
+        Random random = new Random(7);
+        for (int m = 0; m < members; m++) {
+            stiffness[m] = 0.5 + random.nextDouble();
+            y0[m] = random.nextGaussian();
+            y0[members + m] = random.nextGaussian();
+        }
+        RK4Solver.EnsembleSystem ensemble = (t, y, dydt, first, n) -> {
+            for (int m = 0; m < n; m++) {
+                dydt[m] = y[n + m];
+                dydt[n + m] = -stiffness[first + m] * y[m] - 0.1 * y[n + m];
+            }
+        };
+        double[] tSpan = { 0.0, 0.5, 1.0, 2.0 };
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            RK4Solver.EnsembleSolution all = solver.solveEnsemble(ensemble, 2, y0, tSpan, 20, false, pool);
+            RK4Solver.EnsembleSolution last = solver.solveEnsemble(ensemble, 2, y0, tSpan, 20, true);
+            assertEquals(members, all.members);
+            assertArrayEquals(tSpan, all.t, 0.0);
+            assertArrayEquals(new double[] { 2.0 }, last.t, 0.0);
+            assertEquals(2 * members, last.y.length);
+
+            for (int m = 0; m < members; m += 37) {
+                double k = stiffness[m];
+                RK4Solver.SystemSolution single = solver.solve((t, y, dydt) -> {
+                    dydt[0] = y[1];
+                    dydt[1] = -k * y[0] - 0.1 * y[1];
+                }, new double[] { y0[m], y0[members + m] }, tSpan, 20);
+                for (int i = 0; i < tSpan.length; i++) {
+                    for (int j = 0; j < 2; j++) {
+                        assertEquals(single.get(i, j), all.get(i, m, j), 0.0);
+                    }
+                }
+                assertEquals(single.get(3, 0), last.get(0, m, 0), 0.0);
+                assertEquals(single.get(3, 1), last.get(0, m, 1), 0.0);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testEnsembleInvalidInput() {
+        RK4Solver solver = new RK4Solver();
+        RK4Solver.EnsembleSystem decay = (t, y, dydt, first, n) -> {
+            for (int m = 0; m < y.length; m++) {
+                dydt[m] = -y[m];
+            }
+        };
+        double[] tSpan = { 0.0, 1.0 };
+        assertThrows(IllegalArgumentException.class,
+                () -> solver.solveEnsemble(decay, 0, new double[4], tSpan, 10, true));
+        assertThrows(IllegalArgumentException.class,
+                () -> solver.solveEnsemble(decay, 3, new double[4], tSpan, 10, true));
+        assertThrows(IllegalArgumentException.class,
+                () -> solver.solveEnsemble(decay, 1, new double[4], new double[0], 10, true));
+        RK4Solver.EnsembleSolution sol = solver.solveEnsemble(decay, 1, new double[] { 1, 2 }, new double[] { 0.0 }, 10,
+                true);
+        assertArrayEquals(new double[] { 1, 2 }, sol.y, 0.0);
+    }
 }
@@ -0,0 +1,162 @@
+package com.hissain.jscipy.math;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RegularGridInterpolatorTest {
+
+    private static double[] axis(Random random, int n) {
+        double[] axis = new double[n];
+        for (int i = 1; i < n; i++) {
+            axis[i] = axis[i - 1] + 0.2 + random.nextDouble();
+        }
+        return axis;
+    }
+
+    /** Row-major values of f over the grid. */
+    private static double[] tabulate(double[][] grid, ToDoubleFunction<double[]> f) {
+        int size = 1;
+        for (double[] axis : grid) {
+            size *= axis.length;
+        }
+        double[] values = new double[size];
+        double[] point = new double[grid.length];
+        for (int flat = 0; flat < size; flat++) {
+            int rest = flat;
+            for (int d = grid.length - 1; d >= 0; d--) {
+                point[d] = grid[d][rest % grid[d].length];
+                rest /= grid[d].length;
+            }
+            values[flat] = f.applyAsDouble(point);
+        }
+        return values;
+    }
+
+    private static double[] randomPoints(Random random, double[][] grid, int n) {
+        double[] points = new double[n * grid.length];
+        for (int i = 0; i < points.length; i++) {
+            double[] axis = grid[i % grid.length];
+            points[i] = axis[0] + random.nextDouble() * (axis[axis.length - 1] - axis[0]);
+        }
+        return points;
+    }
+
+    @Test
+    public void testLinearIsExactForMultilinearFunctions() {
+        Random random = new Random(1);
+        double[][] grid = { axis(random, 7), axis(random, 5), axis(random, 9) };
+        double[] values = tabulate(grid, p -> 1 + 2 * p[0] - p[1] + 0.5 * p[2] + p[0] * p[1] * p[2] - 3 * p[1] * p[2]);
+        RegularGridInterpolator interpolator = new RegularGridInterpolator(grid, values, GridInterpolationMethod.LINEAR);
+        double[] points = randomPoints(random, grid, 2000);
+        double[] actual = interpolator.evaluate(points);
+        for (int i = 0; i < actual.length; i++) {
+            double x = points[3 * i];
+            double y = points[3 * i + 1];
+            double z = points[3 * i + 2];
+            assertEquals(1 + 2 * x - y + 0.5 * z + x * y * z - 3 * y * z, actual[i], 1e-9);
+        }
+        // Grid points themselves
+        assertEquals(values[values.length - 1], interpolator.value(grid[0][6], grid[1][4], grid[2][8]), 0.0);
+        assertEquals(values[9 + 2], interpolator.value(grid[0][0], grid[1][1], grid[2][2]), 0.0);
+    }
+
+    @Test
+    public void testLinearMatchesOneDimensionalInterpolation() {
+        Random random = new Random(2);
+        double[] x = axis(random, 30);
+        double[] y = new double[30];
+        for (int i = 0; i < y.length; i++) {
+            y[i] = random.nextGaussian();
+        }
+        double[] points = randomPoints(random, new double[][] { x }, 500);
+        assertArrayEquals(new PiecewiseLinear(x, y).evaluate(points),
+                new RegularGridInterpolator(new double[][] { x }, y, GridInterpolationMethod.LINEAR).evaluate(points),
+                1e-12);
+    }
+
+    @Test
+    public void testNearest() {
+        double[][] grid = { { 0, 1, 3 }, { 0, 2 } };
+        double[] values = { 1, 2, 3, 4, 5, 6 };
+        RegularGridInterpolator interpolator = new RegularGridInterpolator(grid, values, GridInterpolationMethod.NEAREST);
+        assertEquals(1, interpolator.value(0.4, 0.9), 0.0);
+        // Halfway takes the lower grid point
+        assertEquals(1, interpolator.value(0.5, 1.0), 0.0);
+        assertEquals(4, interpolator.value(0.6, 1.1), 0.0);
+        assertEquals(5, interpolator.value(2.01, 0), 0.0);
+        assertEquals(6, interpolator.value(3, 2), 0.0);
+    }
+
+    @Test
+    public void testCubicIsExactForTensorCubics() {
+        Random random = new Random(3);
+        double[][] grid = { axis(random, 8), axis(random, 6) };
+        double[] values = tabulate(grid, p -> (1 - p[0] + 0.3 * p[0] * p[0] * p[0]) * (2 + p[1] * p[1] - 0.1 * p[1] * p[1] * p[1]));
+        RegularGridInterpolator interpolator = new RegularGridInterpolator(grid, values, GridInterpolationMethod.CUBIC);
+        double[] points = randomPoints(random, grid, 1000);
+        double[] actual = interpolator.evaluate(points);
+        for (int i = 0; i < actual.length; i++) {
+            double x = points[2 * i];
+            double y = points[2 * i + 1];
+            double expected = (1 - x + 0.3 * x * x * x) * (2 + y * y - 0.1 * y * y * y);
+            assertEquals(expected, actual[i], 1e-8 * (1 + Math.abs(expected)));
+        }
+    }
+
+    @Test
+    public void testCubicMatchesNotAKnotSplineAlongOneAxis() {
+        Random random = new Random(4);
+        double[] x = axis(random, 12);
+        double[] y = new double[12];
+        for (int i = 0; i < y.length; i++) {
+            y[i] = random.nextGaussian();
+        }
+        double[] points = randomPoints(random, new double[][] { x }, 500);
+        assertArrayEquals(new BSpline(x, y, 3).evaluate(points),
+                new RegularGridInterpolator(new double[][] { x }, y, GridInterpolationMethod.CUBIC).evaluate(points),
+                1e-12);
+    }
+
+    @Test
+    public void testParallelEvaluationMatchesPointwise() {
+        Random random = new Random(5);
+        double[][] grid = { axis(random, 40), axis(random, 30) };
+        double[] values = new double[40 * 30];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian();
+        }
+        double[] points = randomPoints(random, grid, 150_000);
+        for (GridInterpolationMethod method : GridInterpolationMethod.values()) {
+            RegularGridInterpolator interpolator = new RegularGridInterpolator(grid, values, method);
+            double[] out = interpolator.evaluate(points);
+            for (int i = 0; i < out.length; i += 613) {
+                assertEquals(interpolator.value(points[2 * i], points[2 * i + 1]), out[i], 0.0, method.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidInput() {
+        double[][] grid = { { 0, 1, 2 }, { 0, 1 } };
+        double[] values = { 0, 1, 2, 3, 4, 5 };
+        assertThrows(IllegalArgumentException.class,
+                () -> new RegularGridInterpolator(new double[0][], values, GridInterpolationMethod.LINEAR));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RegularGridInterpolator(grid, new double[5], GridInterpolationMethod.LINEAR));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RegularGridInterpolator(grid, values, GridInterpolationMethod.CUBIC));
+        assertThrows(IllegalArgumentException.class, () -> new RegularGridInterpolator(
+                new double[][] { { 0, 1, 1 }, { 0, 1 } }, values, GridInterpolationMethod.NEAREST));
+        RegularGridInterpolator interpolator = new RegularGridInterpolator(grid, values, GridInterpolationMethod.LINEAR);
+        assertThrows(IllegalArgumentException.class, () -> interpolator.value(1));
+        assertThrows(IllegalArgumentException.class, () -> interpolator.value(2.5, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> interpolator.value(1, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> interpolator.evaluate(new double[] { 1, 0.5, 1 }));
+    }
+}
@@ -3,6 +3,7 @@ package com.hissain.jscipy.signal;
 import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.hissain.jscipy.signal.util.LoadTxt;
 
@@ -28,6 +29,32 @@ public class ConvolveTest {
         assertArrayEquals(expected, actual, TOLERANCE);
     }
 
+    @Test
+    void testConvolveFloat() throws IOException {
+        double[] signal = LoadTxt.read("datasets/convolve/convolve_input_signal.txt");
+        double[] window = LoadTxt.read("datasets/convolve/convolve_input_window.txt");
+        double[] expected = LoadTxt.read("datasets/convolve/convolve_output.txt");
+
+        float[] actual = new Convolve().convolve(toFloat(signal), toFloat(window), ConvolutionMode.SAME);
+
+        assertEquals(expected.length, actual.length);
+        double peak = 0;
+        for (double v : expected) {
+            peak = Math.max(peak, Math.abs(v));
+        }
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i], 1e-6 * peak);
+        }
+    }
+
+    private float[] toFloat(double[] x) {
+        float[] out = new float[x.length];
+        for (int i = 0; i < x.length; i++) {
+            out[i] = (float) x[i];
+        }
+        return out;
+    }
+
     private double calculateRMSE(double[] expected, double[] actual) {
         double sumSquareError = 0;
         for (int i = 0; i < expected.length; i++) {
@@ -4,9 +4,14 @@ import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class DetrendTest {
@@ -71,4 +76,125 @@ public class DetrendTest {
     public void testConstantDetrend2() throws IOException {
         runTest("detrend_input_2.txt", "detrend_output_constant_2.txt", DetrendType.CONSTANT);
     }
+
+    @Test
+    public void testDetrendIntoMatchesDetrendOnSubrange() {
+        Random rnd = new Random(1);
+        double[] x = new double[120];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = 0.3 * i + rnd.nextGaussian();
+        }
+        Detrend detrender = new Detrend();
+        for (DetrendType type : DetrendType.values()) {
+            double[] expected = detrender.detrend(Arrays.copyOfRange(x, 20, 84), type);
+            double[] buffer = x.clone();
+            detrender.detrendInto(buffer, 20, 64, type);
+            assertArrayEquals(expected, Arrays.copyOfRange(buffer, 20, 84), 0.0);
+            assertEquals(x[19], buffer[19], 0.0);
+            assertEquals(x[84], buffer[84], 0.0);
+        }
+    }
+
+    @Test
+    public void testLinearDetrendOfLongSignal() {
+        // n * (n - 1) overflows an int above ~46k samples
+        int n = 100_000;
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = 3.0 + 0.002 * i;
+        }
+        Detrend detrender = new Detrend();
+        double[] buffer = x.clone();
+        detrender.detrendInto(buffer, 0, n, DetrendType.LINEAR);
+        assertArrayEquals(new double[n], buffer, 1e-9);
+
+        Detrend.Sliding sliding = new Detrend.Sliding(n, DetrendType.LINEAR);
+        sliding.fit(x, 0);
+        assertEquals(0.002, sliding.slope(), 1e-15);
+        assertEquals(3.0, sliding.intercept(), 1e-9);
+        double[] out = new double[n];
+        sliding.subtract(out, 0, n);
+        assertArrayEquals(new double[n], out, 1e-9);
+    }
+
+    @Test
+    public void testSlidingMatchesPerSegmentDetrend() {
+        Random rnd = new Random(2);
+        int n = 5000;
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = 100.0 + 0.01 * i + Math.sin(i * 0.05) + rnd.nextGaussian();
+        }
+        int length = 256;
+        int hop = 64;
+        Detrend detrender = new Detrend();
+        for (DetrendType type : DetrendType.values()) {
+            Detrend.Sliding sliding = new Detrend.Sliding(length, type);
+            double[] out = new double[length];
+            // The last window runs past the end and is zero-padded.
+            for (int start = 0; start < n; start += hop) {
+                double[] segment = new double[length];
+                System.arraycopy(x, start, segment, 0, Math.min(length, n - start));
+                double[] expected = detrender.detrend(segment, type);
+
+                sliding.fit(x, start);
+                sliding.subtract(out, 0, length);
+                assertArrayEquals(expected, out, 1e-9, "type=" + type + " start=" + start);
+            }
+        }
+    }
+
+    @Test
+    public void testBreakpointsDetrendEachSegmentSeparately() {
+        Random rnd = new Random(3);
+        Detrend detrender = new Detrend();
+        int[] sizes = { 500, 200_000 }; // the second takes the parallel path
+        for (int n : sizes) {
+            double[] x = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = (i < n / 3 ? 0.02 * i : -0.01 * i + 5) + rnd.nextGaussian();
+            }
+            int[] bp = { n / 2, n / 3, n / 3, 3 * n / 4 };
+            int[] edges = { 0, n / 3, n / 2, 3 * n / 4, n };
+
+            double[] actual = detrender.detrend(x, DetrendType.LINEAR, bp);
+            for (int s = 0; s + 1 < edges.length; s++) {
+                double[] expected = detrender.detrend(Arrays.copyOfRange(x, edges[s], edges[s + 1]),
+                        DetrendType.LINEAR);
+                for (int i = 0; i < expected.length; i++) {
+                    assertEquals(expected[i], actual[edges[s] + i], 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPolynomialOrders() {
+        int n = 400;
+        double[] x = new double[n];
+        double[] noise = new double[n];
+        Random rnd = new Random(4);
+        for (int i = 0; i < n; i++) {
+            double t = i / 100.0;
+            noise[i] = 0.01 * rnd.nextGaussian();
+            x[i] = 3.0 - 2.0 * t + 1.5 * t * t - 0.2 * t * t * t;
+        }
+        Detrend detrender = new Detrend();
+        // A cubic is removed exactly by orders >= 3, in every segment.
+        assertArrayEquals(new double[n], detrender.detrend(x, 3, null), 1e-9);
+        assertArrayEquals(new double[n], detrender.detrend(x, 5, new int[] { 100, 250 }), 1e-9);
+
+        // Order 1 and 0 agree with LINEAR and CONSTANT.
+        assertArrayEquals(detrender.detrend(noise, DetrendType.LINEAR), detrender.detrend(noise, 1, null), 1e-14);
+        assertArrayEquals(detrender.detrend(noise, DetrendType.CONSTANT), detrender.detrend(noise, 0, null), 1e-14);
+        // CONSTANT ignores breakpoints, as in SciPy.
+        assertArrayEquals(detrender.detrend(noise, DetrendType.CONSTANT),
+                detrender.detrend(noise, DetrendType.CONSTANT, new int[] { 10 }), 0.0);
+
+        // Segments shorter than order + 1 are fitted exactly.
+        assertArrayEquals(new double[3], detrender.detrend(new double[] { 1, 5, -2 }, 4, null), 1e-12);
+
+        assertThrows(IllegalArgumentException.class, () -> detrender.detrend(noise, 1, new int[] { n + 1 }));
+        assertThrows(IllegalArgumentException.class, () -> detrender.detrend(noise, -1, null));
+    }
 }
@@ -5,10 +5,15 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class FindPeaksTest {
 
@@ -110,4 +115,202 @@ public class FindPeaksTest {
         params.prominence = 0.7;
         runTest("findpeaks_input8.txt", "findpeaks_output8.txt", params);
     }
+
+    @Test
+    public void testPlateausAreReportedAtTheirMiddle() {
+        double[] x = { 0, 1, 1, 0, 2, 2, 2, 1, 3, 3, 4, 0, 5, 5, 5, 5 };
+        FindPeaks.PeakParams params = new FindPeaks.PeakParams();
+        params.plateauSize = 1;
+        FindPeaks.PeakResult result = new FindPeaks().findPeaks(x, params);
+        // The rising run 8..9 is no peak, nor is the run reaching the end
+        assertArrayEquals(new int[] { 1, 5, 10 }, result.peaks);
+        assertArrayEquals(new double[] { 2, 3, 1 }, result.properties.get("plateau_sizes"), 0.0);
+        assertArrayEquals(new double[] { 1, 4, 10 }, result.properties.get("left_edges"), 0.0);
+        assertArrayEquals(new double[] { 2, 6, 10 }, result.properties.get("right_edges"), 0.0);
+
+        params.plateauSize = 2;
+        assertArrayEquals(new int[] { 1, 5 }, new FindPeaks().findPeaks(x, params).peaks);
+    }
+
+    @Test
+    public void testThresholdComparesBothNeighbours() {
+        double[] x = { 0, 3, 2, 0, 1, 0, 5, 5, 5, 4, 0 };
+        FindPeaks.PeakParams params = new FindPeaks.PeakParams();
+        params.threshold = 1.0;
+        FindPeaks.PeakResult result = new FindPeaks().findPeaks(x, params);
+        // Peak 1 drops by 1 on the right; inside the plateau at 7 both neighbours are equal
+        assertArrayEquals(new int[] { 1, 4 }, result.peaks);
+        assertArrayEquals(new double[] { 3, 1 }, result.properties.get("left_thresholds"), 0.0);
+        assertArrayEquals(new double[] { 1, 1 }, result.properties.get("right_thresholds"), 0.0);
+        assertTrue(new FindPeaks().findPeaks(x, null).properties.isEmpty());
+    }
+
+    @Test
+    public void testAllFiltersMatchStepwiseReference() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 60; trial++) {
+            int n = 50 + random.nextInt(2000);
+            double[] x = new double[n];
+            for (int i = 0; i < n; i++) {
+                double v = Math.sin(i * 0.07) + 0.4 * random.nextGaussian();
+                // Quantise every other trial so plateaus and equal heights occur
+                x[i] = trial % 2 == 0 ? Math.round(v * 4) / 4.0 : v;
+            }
+            FindPeaks.PeakParams params = new FindPeaks.PeakParams();
+            params.height = random.nextBoolean() ? Double.NaN : random.nextGaussian() * 0.5;
+            params.threshold = random.nextBoolean() ? Double.NaN : random.nextDouble() * 0.3;
+            params.plateauSize = random.nextBoolean() ? -1 : random.nextInt(3);
+            params.distance = random.nextBoolean() ? -1 : 1 + random.nextInt(30);
+            params.prominence = random.nextBoolean() ? Double.NaN : random.nextDouble();
+            params.width = random.nextBoolean() ? Double.NaN : random.nextDouble() * 6;
+            params.wlen = random.nextBoolean() ? -1 : 3 + random.nextInt(100);
+            params.relHeight = random.nextDouble();
+
+            FindPeaks.PeakResult result = new FindPeaks().findPeaks(x, params);
+            assertReference(x, params, result, "trial " + trial);
+        }
+    }
+
+    @Test
+    public void testParallelMatchesSerial() {
+        Random random = new Random(11);
+        for (int trial = 0; trial < 40; trial++) {
+            int n = 2000 + random.nextInt(20000);
+            double[] x = new double[n];
+            int shape = trial % 4;
+            for (int i = 0; i < n; i++) {
+                double v = Math.sin(i * 0.013) + 0.3 * random.nextGaussian();
+                if (shape == 1) {
+                    v = Math.round(v * 3) / 3.0; // plateaus and equal heights
+                } else if (shape == 2) {
+                    v = i % 7 == 0 ? i * 1e-3 : 0; // staircase: no cut can be found
+                } else if (shape == 3 && (i / 500) % 2 == 1) {
+                    v = 2.0; // plateaus spanning blocks
+                }
+                x[i] = v;
+            }
+            FindPeaks.PeakParams params = new FindPeaks.PeakParams();
+            params.height = random.nextBoolean() ? Double.NaN : -0.5;
+            params.distance = random.nextInt(4) == 0 ? -1 : 1 + random.nextInt(40);
+            params.prominence = random.nextBoolean() ? Double.NaN : random.nextDouble() * 0.5;
+            params.width = random.nextInt(3) > 0 ? Double.NaN : random.nextDouble() * 3;
+            params.plateauSize = random.nextBoolean() ? -1 : 1;
+            params.wlen = random.nextInt(4) == 0 ? -1 : 3 + random.nextInt(300);
+            int blockSize = 1 + random.nextInt(700);
+
+            FindPeaks.PeakResult serial = new FindPeaks().findPeaks(x, params);
+            FindPeaks.PeakResult parallel = new FindPeaks().findPeaksParallel(x, params, blockSize);
+            String message = "trial " + trial + ", block " + blockSize;
+            assertArrayEquals(serial.peaks, parallel.peaks, message);
+            assertEquals(serial.properties.keySet(), parallel.properties.keySet(), message);
+            for (String key : serial.properties.keySet()) {
+                assertArrayEquals(serial.properties.get(key), parallel.properties.get(key), 0.0, message + " " + key);
+            }
+        }
+    }
+
+    /** The filters one at a time, with boxed collections and the public property methods. */
+    private static void assertReference(double[] x, FindPeaks.PeakParams p, FindPeaks.PeakResult result,
+            String message) {
+        List<int[]> peaks = new ArrayList<>(); // { index, leftEdge, rightEdge }
+        for (int l = 0; l < x.length;) {
+            int r = l;
+            while (r + 1 < x.length && x[r + 1] == x[l]) {
+                r++;
+            }
+            if (l >= 1 && r <= x.length - 2 && x[l - 1] < x[l] && x[r + 1] < x[l]) {
+                peaks.add(new int[] { (l + r) / 2, l, r });
+            }
+            l = r + 1;
+        }
+        if (p.plateauSize >= 0) {
+            peaks.removeIf(q -> q[2] - q[1] + 1 < p.plateauSize);
+        }
+        if (!Double.isNaN(p.height)) {
+            peaks.removeIf(q -> x[q[0]] < p.height);
+        }
+        if (!Double.isNaN(p.threshold)) {
+            peaks.removeIf(q -> Math.min(x[q[0]] - x[q[0] - 1], x[q[0]] - x[q[0] + 1]) < p.threshold);
+        }
+        if (p.distance > 0) {
+            List<int[]> byHeight = new ArrayList<>(peaks);
+            byHeight.sort((a, b) -> Double.compare(x[b[0]], x[a[0]]));
+            List<int[]> kept = new ArrayList<>();
+            for (int[] q : byHeight) {
+                if (kept.stream().allMatch(k -> Math.abs(k[0] - q[0]) >= p.distance)) {
+                    kept.add(q);
+                }
+            }
+            kept.sort(Comparator.comparingInt(q -> q[0]));
+            peaks = kept;
+        }
+        if (!Double.isNaN(p.prominence)) {
+            double[] prominences = FindPeaks.peakProminences(x, indices(peaks), p.wlen).prominences;
+            List<int[]> kept = new ArrayList<>();
+            for (int i = 0; i < prominences.length; i++) {
+                if (prominences[i] >= p.prominence) {
+                    kept.add(peaks.get(i));
+                }
+            }
+            peaks = kept;
+        }
+        if (!Double.isNaN(p.width)) {
+            int[] idx = indices(peaks);
+            FindPeaks.ProminenceResult pr = FindPeaks.peakProminences(x, idx, p.wlen);
+            double[] widths = FindPeaks.peakWidths(x, idx, p.relHeight, pr.prominences, pr.leftBases, pr.rightBases,
+                    p.wlen).widths;
+            List<int[]> kept = new ArrayList<>();
+            for (int i = 0; i < widths.length; i++) {
+                if (widths[i] >= p.width) {
+                    kept.add(peaks.get(i));
+                }
+            }
+            peaks = kept;
+        }
+
+        int[] expected = indices(peaks);
+        assertArrayEquals(expected, result.peaks, message);
+
+        Map<String, double[]> props = result.properties;
+        if (p.plateauSize >= 0) {
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(peaks.get(i)[1], props.get("left_edges")[i], 0.0, message);
+                assertEquals(peaks.get(i)[2], props.get("right_edges")[i], 0.0, message);
+                assertEquals(peaks.get(i)[2] - peaks.get(i)[1] + 1, props.get("plateau_sizes")[i], 0.0, message);
+            }
+        }
+        if (!Double.isNaN(p.height)) {
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(x[expected[i]], props.get("peak_heights")[i], 0.0, message);
+            }
+        }
+        if (!Double.isNaN(p.threshold)) {
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(x[expected[i]] - x[expected[i] - 1], props.get("left_thresholds")[i], 0.0, message);
+                assertEquals(x[expected[i]] - x[expected[i] + 1], props.get("right_thresholds")[i], 0.0, message);
+            }
+        }
+        boolean prominent = !Double.isNaN(p.prominence) || !Double.isNaN(p.width);
+        assertEquals(prominent, props.containsKey("prominences"), message);
+        if (prominent) {
+            FindPeaks.ProminenceResult pr = FindPeaks.peakProminences(x, expected, p.wlen);
+            assertArrayEquals(pr.prominences, props.get("prominences"), 0.0, message);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(pr.leftBases[i], props.get("left_bases")[i], 0.0, message);
+                assertEquals(pr.rightBases[i], props.get("right_bases")[i], 0.0, message);
+            }
+            if (!Double.isNaN(p.width)) {
+                FindPeaks.WidthResult wr = FindPeaks.peakWidths(x, expected, p.relHeight, pr.prominences,
+                        pr.leftBases, pr.rightBases, p.wlen);
+                assertArrayEquals(wr.widths, props.get("widths"), 0.0, message);
+                assertArrayEquals(wr.widthHeights, props.get("width_heights"), 0.0, message);
+                assertArrayEquals(wr.leftIps, props.get("left_ips"), 0.0, message);
+                assertArrayEquals(wr.rightIps, props.get("right_ips"), 0.0, message);
+            }
+        }
+    }
+
+    private static int[] indices(List<int[]> peaks) {
+        return peaks.stream().mapToInt(q -> q[0]).toArray();
+    }
 }
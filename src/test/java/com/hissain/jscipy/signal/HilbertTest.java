@@ -8,8 +8,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.hissain.jscipy.signal.fft.FFT;
 import com.hissain.jscipy.signal.fft.Hilbert;
 
 public class HilbertTest {
@@ -89,4 +91,84 @@ public class HilbertTest {
     public void testHilbert2() throws IOException {
         runTest("hilbert_input_2.txt", "hilbert_output_2_real.txt", "hilbert_output_2_imag.txt");
     }
+
+    /** Reference analytic signal through the complex FFT/IFFT path. */
+    private JComplex[] referenceAnalytic(double[] x) {
+        FFT fft = new FFT();
+        int n = x.length;
+        JComplex[] spectrum = fft.fft(x);
+        JComplex[] weighted = new JComplex[n];
+        for (int k = 0; k < n; k++) {
+            double h;
+            if (k == 0 || (n % 2 == 0 && k == n / 2)) {
+                h = 1;
+            } else if (k < (n + 1) / 2) {
+                h = 2;
+            } else {
+                h = 0;
+            }
+            weighted[k] = spectrum[k].multiply(h);
+        }
+        return fft.ifft(weighted);
+    }
+
+    @Test
+    public void testAnalyticMatchesReferenceForAllLengths() {
+        Hilbert hilbert = new Hilbert();
+        java.util.Random rnd = new java.util.Random(7);
+        int[] lengths = { 1, 2, 3, 4, 5, 8, 12, 33, 48, 64, 100, 127, 256, 250 };
+        for (int n : lengths) {
+            double[] x = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = rnd.nextGaussian();
+            }
+            JComplex[] expected = referenceAnalytic(x);
+            double[] re = new double[n];
+            double[] im = new double[n];
+            hilbert.analytic(x, re, im);
+            for (int i = 0; i < n; i++) {
+                assertEquals(expected[i].getReal(), re[i], 1e-10, "re n=" + n + " i=" + i);
+                assertEquals(expected[i].getImaginary(), im[i], 1e-10, "im n=" + n + " i=" + i);
+                assertEquals(x[i], re[i], 1e-10, "real part must equal input, n=" + n);
+            }
+        }
+    }
+
+    @Test
+    public void testEnvelopeOfAmplitudeModulatedTone() {
+        int n = 1000;
+        double fs = 1000.0;
+        double[] x = new double[n];
+        double[] am = new double[n];
+        for (int i = 0; i < n; i++) {
+            double t = i / fs;
+            am[i] = 1.0 + 0.5 * Math.cos(2 * Math.PI * 5 * t);
+            x[i] = am[i] * Math.cos(2 * Math.PI * 100 * t);
+        }
+        double[] env = new Hilbert().envelope(x);
+        assertEquals(n, env.length);
+        for (int i = 0; i < n; i++) {
+            assertEquals(am[i], env[i], 1e-9);
+        }
+    }
+
+    @Test
+    public void testInstantaneousFrequencyOfTone() {
+        int n = 600;
+        double fs = 600.0;
+        double f0 = 50.0;
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = Math.cos(2 * Math.PI * f0 * i / fs + 0.3);
+        }
+        Hilbert hilbert = new Hilbert();
+        double[] phase = hilbert.instantaneousPhase(x);
+        double[] freq = hilbert.instantaneousFrequency(x, fs);
+        assertEquals(n, phase.length);
+        assertEquals(n - 1, freq.length);
+        assertEquals(0.3, phase[0], 1e-9);
+        for (double f : freq) {
+            assertEquals(f0, f, 1e-6);
+        }
+    }
 }
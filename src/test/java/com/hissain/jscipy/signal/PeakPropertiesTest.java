@@ -6,6 +6,7 @@ import com.hissain.jscipy.signal.util.LoadTxt;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -129,4 +130,36 @@ public class PeakPropertiesTest {
         }
         return Math.sqrt(sumSq / expected.length);
     }
+
+    @Test
+    public void testProminencesMatchLinearScan() {
+        Random random = new Random(17);
+        for (int trial = 0; trial < 30; trial++) {
+            int n = 50 + random.nextInt(5000);
+            double[] x = new double[n];
+            for (int i = 0; i < n; i++) {
+                double v = Math.sin(i * 0.02) * 3 + random.nextGaussian();
+                // Quantise every other trial to create plateaus and equal minima
+                x[i] = trial % 2 == 0 ? Math.round(v * 2) / 2.0 : v;
+            }
+            // Unsorted, repeated indices; not necessarily local maxima
+            int[] peaks = new int[1 + random.nextInt(400)];
+            for (int i = 0; i < peaks.length; i++) {
+                peaks[i] = random.nextInt(n);
+            }
+            int wlen = trial % 3 == 0 ? -1 : 2 + random.nextInt(300);
+
+            FindPeaks.ProminenceResult result = FindPeaks.peakProminences(x, peaks, wlen);
+            int[] bases = new int[2];
+            for (int i = 0; i < peaks.length; i++) {
+                int p = peaks[i];
+                int iMin = wlen > 1 ? Math.max(0, p - wlen / 2) : 0;
+                int iMax = wlen > 1 ? Math.min(n - 1, p + wlen / 2) : n - 1;
+                double expected = FindPeaks.prominence(x, 0, p, iMin, iMax, bases);
+                assertEquals(expected, result.prominences[i], 0.0);
+                assertEquals(bases[0], result.leftBases[i]);
+                assertEquals(bases[1], result.rightBases[i]);
+            }
+        }
+    }
 }
@@ -0,0 +1,153 @@
+package com.hissain.jscipy.signal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PeakStreamTest {
+
+    @Test
+    public void testMatchesBatchForRandomBlockSplits() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 40; trial++) {
+            int n = 200 + random.nextInt(3000);
+            // Coarse quantisation produces equal peak heights, exercising tie-breaking
+            double quantum = trial % 2 == 0 ? 0.25 : 0.0;
+            double[] x = signal(n, random, quantum);
+
+            FindPeaks.PeakParams params = new FindPeaks.PeakParams();
+            params.wlen = 2 + random.nextInt(200);
+            params.distance = random.nextInt(4) == 0 ? -1 : 1 + random.nextInt(60);
+            params.height = random.nextBoolean() ? Double.NaN : random.nextGaussian() * 0.5;
+            params.prominence = random.nextBoolean() ? Double.NaN : random.nextDouble();
+            params.threshold = random.nextInt(3) > 0 ? Double.NaN : random.nextDouble() * 0.2;
+            params.plateauSize = random.nextInt(3) > 0 ? -1 : random.nextInt(3);
+            params.width = random.nextInt(3) > 0 ? Double.NaN : random.nextDouble() * 4;
+            params.relHeight = random.nextDouble();
+
+            List<PeakStream.Peak> streamed = new ArrayList<>();
+            PeakStream stream = new PeakStream(params);
+            for (int start = 0; start < n;) {
+                int len = Math.min(n - start, random.nextInt(50));
+                streamed.addAll(stream.process(x, start, len));
+                start += len;
+            }
+            streamed.addAll(stream.flush());
+
+            assertMatchesBatch(x, params, streamed, "trial " + trial);
+        }
+    }
+
+    @Test
+    public void testPeaksAreReportedAfterHalfWindow() {
+        FindPeaks.PeakParams params = new FindPeaks.PeakParams();
+        params.wlen = 21;
+        PeakStream stream = new PeakStream(params);
+
+        double[] x = new double[100];
+        x[30] = 1.0;
+        assertTrue(stream.process(x, 0, 40).isEmpty());
+        List<PeakStream.Peak> peaks = stream.process(x, 40, 1);
+        assertEquals(1, peaks.size());
+        assertEquals(30, peaks.get(0).index);
+        assertEquals(1.0, peaks.get(0).prominence, 0.0);
+        assertTrue(stream.process(x, 41, 59).isEmpty());
+        assertTrue(stream.flush().isEmpty());
+    }
+
+    @Test
+    public void testDistanceStaircaseIsResolvedExactly() {
+        // Each peak is suppressed by the next, taller one: decisions wait for the top.
+        int n = 2000;
+        double[] x = new double[n];
+        for (int i = 5; i < n - 5; i += 5) {
+            x[i] = i;
+        }
+        FindPeaks.PeakParams params = new FindPeaks.PeakParams();
+        params.wlen = 11;
+        params.distance = 8;
+        PeakStream stream = new PeakStream(params);
+        List<PeakStream.Peak> streamed = new ArrayList<>(stream.process(x));
+        streamed.addAll(stream.flush());
+        assertMatchesBatch(x, params, streamed, "staircase");
+    }
+
+    @Test
+    public void testLongPlateauDefersDistanceDecisions() {
+        // A plateau's peak lies at its middle, known only once the plateau ends
+        double[] x = new double[400];
+        x[50] = 2.0;
+        for (int i = 60; i < 200; i++) {
+            x[i] = 3.0;
+        }
+        x[260] = 1.0;
+        FindPeaks.PeakParams params = new FindPeaks.PeakParams();
+        params.wlen = 9;
+        params.distance = 90;
+        PeakStream stream = new PeakStream(params);
+        List<PeakStream.Peak> streamed = new ArrayList<>(stream.process(x));
+        streamed.addAll(stream.flush());
+        assertMatchesBatch(x, params, streamed, "plateau");
+        assertEquals(129, streamed.get(0).index);
+        assertEquals(60, streamed.get(0).leftEdge);
+        assertEquals(199, streamed.get(0).rightEdge);
+    }
+
+    @Test
+    public void testRequiresFiniteWindow() {
+        assertThrows(IllegalArgumentException.class, () -> new PeakStream(new FindPeaks.PeakParams()));
+    }
+
+    private static void assertMatchesBatch(double[] x, FindPeaks.PeakParams params, List<PeakStream.Peak> streamed,
+            String message) {
+        int[] expected = new FindPeaks().findPeaks(x, params).peaks;
+        int[] actual = new int[streamed.size()];
+        for (int i = 0; i < actual.length; i++) {
+            actual[i] = streamed.get(i).index;
+        }
+        assertArrayEquals(expected, actual, message);
+
+        FindPeaks.ProminenceResult pr = FindPeaks.peakProminences(x, expected, params.wlen);
+        FindPeaks.WidthResult wr = FindPeaks.peakWidths(x, expected, params.relHeight, pr.prominences, pr.leftBases,
+                pr.rightBases, params.wlen);
+        for (int i = 0; i < expected.length; i++) {
+            PeakStream.Peak p = streamed.get(i);
+            assertEquals(x[expected[i]], p.height, 0.0, message);
+            int left = expected[i];
+            while (x[left - 1] == x[expected[i]]) {
+                left--;
+            }
+            int right = expected[i];
+            while (x[right + 1] == x[expected[i]]) {
+                right++;
+            }
+            assertEquals(left, p.leftEdge, message);
+            assertEquals(right, p.rightEdge, message);
+            assertEquals(x[expected[i]] - x[expected[i] - 1], p.leftThreshold, 0.0, message);
+            assertEquals(x[expected[i]] - x[expected[i] + 1], p.rightThreshold, 0.0, message);
+            assertEquals(pr.prominences[i], p.prominence, 0.0, message);
+            assertEquals(pr.leftBases[i], p.leftBase, message);
+            assertEquals(pr.rightBases[i], p.rightBase, message);
+            assertEquals(wr.widths[i], p.width, 0.0, message);
+            assertEquals(wr.widthHeights[i], p.widthHeight, 0.0, message);
+            assertEquals(wr.leftIps[i], p.leftIp, 0.0, message);
+            assertEquals(wr.rightIps[i], p.rightIp, 0.0, message);
+        }
+    }
+
+    private static double[] signal(int n, Random random, double quantum) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            double v = Math.sin(i * 0.05) + 0.5 * Math.sin(i * 0.31) + 0.3 * random.nextGaussian();
+            x[i] = quantum > 0 ? Math.round(v / quantum) * quantum : v;
+        }
+        return x;
+    }
+}
@@ -64,4 +64,36 @@ public class WindowsTest {
             Windows.get_window("unknown", M);
         });
     }
+
+    @Test
+    public void testCachedWindows() {
+        Window hann = Windows.cached("Hann", 64, false);
+        assertSame(hann, Windows.cached("hann", 64, false));
+        assertNotSame(hann, Windows.cached("hann", 64, true));
+
+        double[] expected = Windows.hanning(64, false);
+        assertArrayEquals(expected, hann.toArray(), 0.0);
+        double sum = 0;
+        double sumSq = 0;
+        for (double v : expected) {
+            sum += v;
+            sumSq += v * v;
+        }
+        assertEquals(sum, hann.sum(), 1e-12);
+        assertEquals(sumSq, hann.sumOfSquares(), 1e-12);
+
+        // Copies handed out never alias the shared coefficients
+        hann.toArray()[0] = 42.0;
+        assertEquals(expected[0], hann.get(0), 0.0);
+
+        Window kaiser = Windows.cachedKaiser(33, 8.6, true);
+        assertSame(kaiser, Windows.cachedKaiser(33, 8.6, true));
+        assertArrayEquals(Windows.kaiser(33, 8.6, true), kaiser.toArray(), 0.0);
+
+        double[] custom = { 1.0, 2.0, 3.0 };
+        Window wrapped = Window.of(custom);
+        custom[0] = 10.0;
+        assertEquals(1.0, wrapped.get(0), 0.0);
+        assertEquals(6.0, wrapped.sum(), 0.0);
+    }
 }
@@ -73,6 +73,19 @@ public class FFTTest {
         assertEquals(4, recon.length);
     }
 
+    @Test
+    public void testRFFTFloat() {
+        FFT fftObject = new FFT();
+        float[] input = { 1, 2, 3, 4, 5, 6 };
+        JComplex[] expected = fftObject.rfft(new double[] { 1, 2, 3, 4, 5, 6 });
+        JComplex[] actual = fftObject.rfft(input);
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].real, actual[i].real, 0.0);
+            assertEquals(expected[i].imag, actual[i].imag, 0.0);
+        }
+    }
+
     @Test
     public void testSTFT() {
         FFT fftObject = new FFT();
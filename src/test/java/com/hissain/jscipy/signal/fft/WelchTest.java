@@ -8,6 +8,7 @@ import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.hissain.jscipy.TestMetrics;
 
@@ -69,4 +70,21 @@ public class WelchTest {
     public void testWelch1() throws IOException {
         runTest("welch_input1.txt", "welch_output_freq1.txt", "welch_output_psd1.txt", 1000.0, 256);
     }
+
+    @Test
+    public void testWelchFloatMatchesWidenedDouble() throws IOException {
+        double[] signal = readDataFile("welch_input1.txt");
+        float[] single = new float[signal.length];
+        double[] widened = new double[signal.length];
+        for (int i = 0; i < signal.length; i++) {
+            single[i] = (float) signal[i];
+            widened[i] = single[i];
+        }
+
+        Welch.WelchResult expected = new Welch().welch(widened, 1000.0, 256);
+        Welch.WelchResult actual = new Welch().welch(single, 1000.0, 256);
+
+        assertArrayEquals(expected.f, actual.f, 0.0);
+        assertArrayEquals(expected.Pxx, actual.Pxx, 0.0);
+    }
 }
@@ -5,7 +5,11 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class FIRTest {
 
@@ -57,6 +61,92 @@ public class FIRTest {
         assertCoeffs(expected, actual, "Lowpass 32 (Even)");
     }
 
+    @Test
+    public void testRemezIsEquiripple() {
+        double fs = 1000.0;
+        double[] bands = { 0, 100, 200, 500 };
+        for (int numtaps : new int[] { 31, 32 }) {
+            double[] h = FIR.remez(numtaps, bands, new double[] { 1, 0 }, null, fs);
+            assertSymmetric(h);
+
+            double passDev = maxDeviation(h, 0, 100, 1.0, fs);
+            double stopDev = maxDeviation(h, 200, 500, 0.0, fs);
+            // Equal weights give equal ripple in both bands
+            assertEquals(passDev, stopDev, 0.05 * passDev, "Ripple of " + numtaps + " taps");
+        }
+    }
+
+    @Test
+    public void testRemezNeedsFewerTapsThanKaiserWindow() {
+        // 60 dB stopband, 1% passband ripple, 0.1 * Nyquist transition.
+        // The window method must meet the tighter of the two ripples in both bands.
+        FIR.KaiserOrder order = FIR.kaiserord(60, 0.1);
+        int numtaps = (int) (0.75 * order.numtaps) | 1;
+
+        double[] h = FIR.remez(numtaps, new double[] { 0, 0.3, 0.4, 1.0 }, new double[] { 1, 0 },
+                new double[] { 1, 10 }, 2.0);
+        assertTrue(maxDeviation(h, 0, 0.3, 1.0, 2.0) < 0.01, "Passband ripple within 1%");
+        assertTrue(maxDeviation(h, 0.4, 1.0, 0.0, 2.0) < 1e-3, "Stopband attenuation beyond 60 dB");
+    }
+
+    @Test
+    public void testRemezDesignsAreCachedCopies() {
+        double[] bands = { 0, 0.1, 0.2, 0.5 };
+        double[] first = FIR.remez(25, bands, new double[] { 1, 0 }, new double[] { 1, 10 }, 1.0);
+        double[] second = FIR.remez(25, bands, new double[] { 1, 0 }, new double[] { 1, 10 }, 1.0);
+        assertNotSame(first, second);
+        assertArrayEquals(first, second, 0.0);
+        first[0] = 42;
+        assertArrayEquals(second, FIR.remez(25, bands, new double[] { 1, 0 }, new double[] { 1, 10 }, 1.0), 0.0);
+    }
+
+    @Test
+    public void testFirls() {
+        // An all-pass target is met exactly by a delayed impulse
+        double[] allPass = FIR.firls(3, new double[] { 0, 500 }, new double[] { 1, 1 }, null, 1000.0);
+        assertArrayEquals(new double[] { 0, 1, 0 }, allPass, 1e-12);
+
+        double[] h = FIR.firls(31, new double[] { 0, 100, 200, 500 }, new double[] { 1, 1, 0, 0 }, null, 1000.0);
+        assertSymmetric(h);
+        assertTrue(maxDeviation(h, 0, 100, 1.0, 1000.0) < 0.01, "Passband deviation");
+        assertTrue(maxDeviation(h, 200, 500, 0.0, 1000.0) < 0.01, "Stopband deviation");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> FIR.firls(30, new double[] { 0, 100, 200, 500 }, new double[] { 1, 1, 0, 0 }, null, 1000.0));
+    }
+
+    @Test
+    public void testKaiserord() {
+        // scipy.signal.kaiserord(65, 24 / 500) == (167, 6.20426)
+        FIR.KaiserOrder order = FIR.kaiserord(65, 24 / 500.0);
+        assertEquals(167, order.numtaps);
+        assertEquals(6.20426, order.beta, 1e-12);
+        assertEquals(0.0, FIR.kaiser_beta(20), 0.0);
+        assertEquals(65.0, FIR.kaiser_atten(order.numtaps, 24 / 500.0), 0.5);
+    }
+
+    private static void assertSymmetric(double[] h) {
+        for (int i = 0; i < h.length; i++) {
+            assertEquals(h[i], h[h.length - 1 - i], 1e-12, "Tap " + i);
+        }
+    }
+
+    /** Largest |H(f)| - target over a band, evaluated on a dense grid. */
+    private static double maxDeviation(double[] h, double lo, double hi, double target, double fs) {
+        double max = 0;
+        for (int k = 0; k <= 500; k++) {
+            double f = lo + (hi - lo) * k / 500.0;
+            double re = 0;
+            double im = 0;
+            for (int i = 0; i < h.length; i++) {
+                re += h[i] * Math.cos(2 * Math.PI * f / fs * i);
+                im -= h[i] * Math.sin(2 * Math.PI * f / fs * i);
+            }
+            max = Math.max(max, Math.abs(Math.hypot(re, im) - target));
+        }
+        return max;
+    }
+
     private void assertCoeffs(double[] expected, double[] actual, String msg) {
         assertEquals(expected.length, actual.length, "Length mismatch: " + msg);
         double rmse = calculateRMSE(expected, actual);
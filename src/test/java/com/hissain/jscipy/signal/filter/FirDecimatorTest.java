@@ -0,0 +1,94 @@
+package com.hissain.jscipy.signal.filter;
+
+import com.hissain.jscipy.signal.ConvolutionMode;
+import com.hissain.jscipy.signal.Convolve;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FirDecimatorTest {
+
+    private static final double TOLERANCE = 1e-12;
+
+    @Test
+    public void testMatchesConvolveThenDownsample() {
+        double[] x = randomSignal(1000, 3);
+        double[] taps = FIR.firwin_lowpass(31, 0.2, 2.0);
+        int factor = 5;
+
+        double[] expected = decimateByConvolution(x, taps, factor);
+        double[] actual = new FirDecimator(taps, factor).process(x);
+
+        assertArrayEquals(expected, actual, TOLERANCE);
+    }
+
+    @Test
+    public void testBlockSplittingIsTransparent() {
+        double[] x = randomSignal(997, 5);
+        FirDecimator whole = FirDecimator.lowpass(41, 4);
+        double[] expected = whole.process(x);
+
+        FirDecimator streaming = FirDecimator.lowpass(41, 4);
+        Random random = new Random(11);
+        double[] out = new double[expected.length];
+        int written = 0;
+        for (int start = 0; start < x.length;) {
+            int len = Math.min(x.length - start, random.nextInt(20));
+            written += streaming.process(x, start, len, out, written);
+            start += len;
+        }
+
+        assertEquals(expected.length, written);
+        assertArrayEquals(expected, out, 0.0);
+    }
+
+    @Test
+    public void testChainEqualsNestedStages() {
+        double[] x = randomSignal(4000, 9);
+        double[] taps1 = FIR.firwin_lowpass(21, 0.25, 2.0);
+        double[] taps2 = FIR.firwin_lowpass(31, 0.2, 2.0);
+
+        double[] expected = decimateByConvolution(decimateByConvolution(x, taps1, 4), taps2, 5);
+
+        FirDecimator.Chain chain = new FirDecimator.Chain(new FirDecimator(taps1, 4), new FirDecimator(taps2, 5));
+        assertEquals(20, chain.getFactor());
+        double[] first = chain.process(Arrays.copyOfRange(x, 0, 1234));
+        double[] second = chain.process(Arrays.copyOfRange(x, 1234, x.length));
+        double[] actual = new double[first.length + second.length];
+        System.arraycopy(first, 0, actual, 0, first.length);
+        System.arraycopy(second, 0, actual, first.length, second.length);
+
+        assertArrayEquals(expected, actual, TOLERANCE);
+    }
+
+    @Test
+    public void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new FirDecimator(new double[0], 2));
+        assertThrows(IllegalArgumentException.class, () -> new FirDecimator(new double[] { 1.0 }, 0));
+        assertThrows(IllegalArgumentException.class, () -> new FirDecimator.Chain());
+    }
+
+    /** Full convolution sampled at multiples of the factor, limited to the input span. */
+    private double[] decimateByConvolution(double[] x, double[] taps, int factor) {
+        double[] full = new Convolve().convolve(x, taps, ConvolutionMode.FULL);
+        double[] out = new double[(x.length + factor - 1) / factor];
+        for (int k = 0; k < out.length; k++) {
+            out[k] = full[k * factor];
+        }
+        return out;
+    }
+
+    private double[] randomSignal(int n, long seed) {
+        Random random = new Random(seed);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = Math.sin(0.01 * i) + random.nextGaussian();
+        }
+        return x;
+    }
+}
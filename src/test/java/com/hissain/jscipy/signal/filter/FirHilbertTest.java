@@ -0,0 +1,114 @@
+package com.hissain.jscipy.signal.filter;
+
+import com.hissain.jscipy.signal.ConvolutionMode;
+import com.hissain.jscipy.signal.Convolve;
+import com.hissain.jscipy.signal.fft.Hilbert;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FirHilbertTest {
+
+    @Test
+    public void testTapsAreAntisymmetricWithZeroEvenOffsets() {
+        double[] taps = FirHilbert.design(31, "hamming");
+        int d = 15;
+        for (int m = 0; m <= d; m++) {
+            assertEquals(-taps[d - m], taps[d + m], 1e-15);
+            if (m % 2 == 0) {
+                assertEquals(0.0, taps[d + m], 0.0);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> FirHilbert.design(30, "hamming"));
+        assertThrows(IllegalArgumentException.class, () -> new FirHilbert(1));
+    }
+
+    @Test
+    public void testImaginaryBranchEqualsConvolutionWithTaps() {
+        double[] x = TestSignals.randomSignal(500, 1);
+        FirHilbert hilbert = new FirHilbert(41);
+        double[] taps = FirHilbert.design(41, "blackman");
+        double[] expected = new Convolve().convolve(x, taps, ConvolutionMode.FULL);
+
+        double[] re = new double[x.length];
+        double[] im = new double[x.length];
+        hilbert.process(x, 0, x.length, re, im, 0);
+
+        for (int n = 0; n < x.length; n++) {
+            assertEquals(expected[n], im[n], 1e-12);
+            assertEquals(n >= hilbert.getDelay() ? x[n - hilbert.getDelay()] : 0.0, re[n], 0.0);
+        }
+    }
+
+    @Test
+    public void testBlockSplittingIsTransparent() {
+        double[] x = TestSignals.randomSignal(1000, 2);
+        FirHilbert whole = new FirHilbert(63);
+        double[] expected = new double[x.length];
+        whole.envelope(x, 0, x.length, expected, 0);
+
+        FirHilbert streaming = new FirHilbert(63);
+        double[] out = new double[x.length];
+        Random random = new Random(5);
+        for (int start = 0; start < x.length;) {
+            int len = Math.min(x.length - start, random.nextInt(17));
+            streaming.envelope(x, start, len, out, start);
+            start += len;
+        }
+        assertArrayEquals(expected, out, 0.0);
+    }
+
+    @Test
+    public void testSteadyStateMatchesFftHilbert() {
+        int n = 2048;
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = Math.cos(2 * Math.PI * 225 * i / n) + 0.5 * Math.sin(2 * Math.PI * 553 * i / n + 1.0);
+        }
+        FirHilbert hilbert = new FirHilbert(127);
+        int d = hilbert.getDelay();
+        double[] re = new double[n];
+        double[] im = new double[n];
+        hilbert.process(x, 0, n, re, im, 0);
+
+        double[] refRe = new double[n];
+        double[] refIm = new double[n];
+        new Hilbert().analytic(x, refRe, refIm);
+
+        // Whole-period tones, so the FFT reference has no edge effects.
+        for (int i = 2 * d; i < n; i++) {
+            assertEquals(refRe[i - d], re[i], 1e-12);
+            assertEquals(refIm[i - d], im[i], 1e-3);
+        }
+    }
+
+    @Test
+    public void testEnvelopeAndFrequencyOfModulatedTone() {
+        int n = 4000;
+        double fs = 1000.0;
+        double fc = 150.0;
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            double t = i / fs;
+            x[i] = (1.0 + 0.3 * Math.cos(2 * Math.PI * 2 * t)) * Math.cos(2 * Math.PI * fc * t);
+        }
+        FirHilbert hilbert = new FirHilbert(101);
+        int d = hilbert.getDelay();
+        double[] env = new double[n];
+        hilbert.envelope(x, 0, n, env, 0);
+
+        hilbert.reset();
+        double[] freq = new double[n];
+        hilbert.instantaneousFrequency(x, 0, n, fs, freq, 0);
+
+        for (int i = 2 * d; i < n; i++) {
+            double t = (i - d) / fs;
+            assertEquals(1.0 + 0.3 * Math.cos(2 * Math.PI * 2 * t), env[i], 1e-3);
+            assertEquals(fc, freq[i], 0.1);
+        }
+    }
+}
@@ -7,7 +7,10 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import com.hissain.jscipy.TestMetrics;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class SOSFilterTest {
 
@@ -46,6 +49,191 @@ public class SOSFilterTest {
         assertEquals(0.0, rmse, 1e-14, "SOS Filter output mismatch");
     }
 
+    @Test
+    public void testMultiChannelSosfiltMatchesSingleChannel() throws IOException {
+        double[][] sos = loadSos();
+        double[][] signals = makeChannels(40, 500);
+
+        double[][] planar = SosFilt.sosfilt(signals, sos);
+        double[][] planarParallel = SosFilt.sosfilt(signals, sos, true);
+        double[] interleaved = SosFilt.sosfilt(interleave(signals), signals.length, sos, true);
+
+        for (int c = 0; c < signals.length; c++) {
+            double[] expected = SosFilt.sosfilt(signals[c], sos);
+            assertArrayEquals(expected, planar[c], 0.0, "Planar channel " + c);
+            assertArrayEquals(expected, planarParallel[c], 0.0, "Parallel channel " + c);
+            for (int t = 0; t < expected.length; t++) {
+                assertEquals(expected[t], interleaved[t * signals.length + c], 0.0, "Interleaved channel " + c);
+            }
+        }
+    }
+
+    @Test
+    public void testSosfiltfiltMatchesBesselFiltfilt() throws IOException {
+        double[] input = LoadTxt.read(STFT_DIR + "stft_input.txt");
+        Biquad[] biquads = Bessel.lowPass(1000.0, 50.0, 4);
+        double[][] sos = new double[biquads.length][];
+        for (int i = 0; i < biquads.length; i++) {
+            double[] b = biquads[i].getBCoefficients();
+            double[] a = biquads[i].getACoefficients();
+            sos[i] = new double[] { b[0], b[1], b[2], a[0], a[1], a[2] };
+        }
+
+        double[] expected = Bessel.filtfilt(input, 1000.0, 50.0, 4);
+        double[] actual = Signal.sosfiltfilt(input, sos);
+
+        assertEquals(0.0, calculateRMSE(expected, actual), 1e-12, "sosfiltfilt mismatch against Bessel filtfilt");
+    }
+
+    @Test
+    public void testMultiChannelSosfiltfiltMatchesSingleChannel() throws IOException {
+        double[][] sos = loadSos();
+        double[][] signals = makeChannels(37, 300);
+
+        double[][] planar = Signal.sosfiltfilt(signals, sos);
+        double[] interleaved = SosFilt.sosfiltfilt(interleave(signals), signals.length, sos, true);
+
+        for (int c = 0; c < signals.length; c++) {
+            double[] expected = SosFilt.sosfiltfilt(signals[c], sos);
+            assertArrayEquals(expected, planar[c], 0.0, "Planar channel " + c);
+            for (int t = 0; t < expected.length; t++) {
+                assertEquals(expected[t], interleaved[t * signals.length + c], 0.0, "Interleaved channel " + c);
+            }
+        }
+    }
+
+    @Test
+    public void testMultiChannelValidation() throws IOException {
+        double[][] sos = loadSos();
+        assertThrows(IllegalArgumentException.class,
+                () -> SosFilt.sosfilt(new double[][] { new double[10], new double[11] }, sos));
+        assertThrows(IllegalArgumentException.class, () -> SosFilt.sosfilt(new double[10], 3, sos));
+        assertThrows(IllegalArgumentException.class, () -> SosFilt.sosfilt(new double[10], 0, sos));
+    }
+
+    @Test
+    public void testSosfiltfiltDefaultPadlen() {
+        // One first-order section drops a tap: padlen = 3 * (2 * 2 + 1 - 1) = 12
+        double[][] oddOrder = {
+                { 0.2, 0.2, 0.0, 1.0, -0.6, 0.0 },
+                { 0.1, 0.2, 0.1, 1.0, -0.5, 0.2 } };
+        assertThrows(IllegalArgumentException.class, () -> SosFilt.sosfiltfilt(new double[12], oddOrder));
+        assertEquals(13, SosFilt.sosfiltfilt(new double[13], oddOrder).length);
+
+        double[][] evenOrder = { oddOrder[1], oddOrder[1] };
+        assertThrows(IllegalArgumentException.class, () -> SosFilt.sosfiltfilt(new double[15], evenOrder));
+        assertThrows(IllegalArgumentException.class, () -> SosFilt.sosfiltfilt(new float[15], evenOrder));
+        assertThrows(IllegalArgumentException.class, () -> SosFilt.sosfiltfilt(new double[30], 2, evenOrder));
+        assertThrows(IllegalArgumentException.class, () -> SosFilt.sosfiltfilt_parallel(new double[15], evenOrder));
+        assertEquals(16, SosFilt.sosfiltfilt(new double[16], evenOrder).length);
+    }
+
+    @Test
+    public void testParallelSosfiltfiltMatchesSerial() throws IOException {
+        double[][] sos = loadSos();
+        double[] signal = makeChannels(1, 20000)[0];
+        double[] expected = SosFilt.sosfiltfilt(signal, sos);
+
+        double tolerance = 1e-12;
+        double peak = 0;
+        for (double v : signal) {
+            peak = Math.max(peak, Math.abs(v));
+        }
+        for (int blockSize : new int[] { 777, 4096, 50000 }) {
+            double[] actual = SosFilt.sosfiltfilt_parallel(signal, sos, blockSize, tolerance);
+            assertArrayEquals(expected, actual, 100 * tolerance * peak, "Block size " + blockSize);
+        }
+        // A single block is the exact serial computation
+        assertArrayEquals(expected, SosFilt.sosfiltfilt_parallel(signal, sos, signal.length, tolerance), 0.0);
+    }
+
+    @Test
+    public void testImpulseDecayLength() throws IOException {
+        double[][] sos = loadSos();
+        int loose = SosFilt.impulseDecayLength(sos, 1e-6);
+        int tight = SosFilt.impulseDecayLength(sos, 1e-12);
+        assertTrue(loose > 0 && tight > loose, "Tighter tolerance needs a longer warm-up");
+
+        double[][] unstable = { { 1, 0, 0, 1, -1.5, 0.0 } };
+        assertThrows(IllegalArgumentException.class, () -> SosFilt.impulseDecayLength(unstable, 1e-6));
+        assertThrows(IllegalArgumentException.class, () -> SosFilt.impulseDecayLength(sos, 0.0));
+    }
+
+    @Test
+    public void testFloatOverloadsMatchDouble() throws IOException {
+        double[][] sos = loadSos();
+        double[] signal = makeChannels(1, 500)[0];
+        float[] single = new float[signal.length];
+        double[] widened = new double[signal.length];
+        for (int i = 0; i < signal.length; i++) {
+            single[i] = (float) signal[i];
+            widened[i] = single[i];
+        }
+
+        double[] filtered = SosFilt.sosfilt(widened, sos);
+        double[] zeroPhase = SosFilt.sosfiltfilt(widened, sos);
+        float[] actualFiltered = Signal.sosfilt(single, sos);
+        float[] actualZeroPhase = Signal.sosfiltfilt(single, sos);
+        for (int i = 0; i < signal.length; i++) {
+            assertEquals((float) filtered[i], actualFiltered[i], 0.0f, "sosfilt sample " + i);
+            assertEquals((float) zeroPhase[i], actualZeroPhase[i], 0.0f, "sosfiltfilt sample " + i);
+        }
+    }
+
+    @Test
+    public void testLatticeMatchesDirectForm() throws IOException {
+        double[][] sos = loadSos();
+        double[] signal = makeChannels(1, 2000)[0];
+
+        double[] expected = SosFilt.sosfilt(signal, sos);
+        double[] actual = Signal.sosfilt_lattice(signal, sos);
+        assertArrayEquals(expected, actual, 1e-10);
+
+        float[] single = new float[signal.length];
+        for (int i = 0; i < signal.length; i++) {
+            single[i] = (float) signal[i];
+        }
+        float[] actualSingle = SosFilt.sosfilt_lattice(single, sos);
+        for (int i = 0; i < signal.length; i++) {
+            assertEquals(expected[i], actualSingle[i], 1e-5);
+        }
+
+        double[][] unstable = { { 1, 0, 0, 1, -2.0, 1.0 } };
+        assertThrows(IllegalArgumentException.class, () -> SosFilt.sosfilt_lattice(signal, unstable));
+    }
+
+    private double[][] loadSos() throws IOException {
+        double[] sosFlat = LoadTxt.read(SOS_DIR + "sos_coeffs.txt");
+        double[] dims = LoadTxt.read(SOS_DIR + "sos_dims.txt");
+        double[][] sos = new double[(int) dims[0]][6];
+        for (int i = 0; i < sos.length; i++) {
+            System.arraycopy(sosFlat, i * 6, sos[i], 0, 6);
+        }
+        return sos;
+    }
+
+    private double[][] makeChannels(int channels, int n) {
+        java.util.Random random = new java.util.Random(42);
+        double[][] signals = new double[channels][n];
+        for (int c = 0; c < channels; c++) {
+            for (int t = 0; t < n; t++) {
+                signals[c][t] = Math.sin(2 * Math.PI * (c + 1) * t / n) + 0.3 * random.nextGaussian();
+            }
+        }
+        return signals;
+    }
+
+    private double[] interleave(double[][] signals) {
+        int channels = signals.length;
+        double[] out = new double[channels * signals[0].length];
+        for (int c = 0; c < channels; c++) {
+            for (int t = 0; t < signals[c].length; t++) {
+                out[t * channels + c] = signals[c][t];
+            }
+        }
+        return out;
+    }
+
     private double calculateRMSE(double[] expected, double[] actual) {
         if (expected.length != actual.length) {
             throw new IllegalArgumentException("Arrays differ in length");
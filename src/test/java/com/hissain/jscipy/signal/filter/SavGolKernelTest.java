@@ -0,0 +1,85 @@
+package com.hissain.jscipy.signal.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SavGolKernelTest {
+
+    @Test
+    public void testClassicSmoothingCoefficients() {
+        SavGolKernel kernel = new SavGolKernel(5, 2, 0, 1.0);
+        double[] expected = { -3 / 35.0, 12 / 35.0, 17 / 35.0, 12 / 35.0, -3 / 35.0 };
+        assertArrayEquals(expected, kernel.coefficients(2), 1e-14);
+    }
+
+    @Test
+    public void testReproducesPolynomialsIncludingEdges() {
+        int n = 60;
+        double delta = 0.1;
+        double[] x = new double[n];
+        double[] d1 = new double[n];
+        double[] d2 = new double[n];
+        for (int i = 0; i < n; i++) {
+            double t = i * delta;
+            x[i] = 1.0 - 2.0 * t + 0.5 * t * t - 0.25 * t * t * t;
+            d1[i] = -2.0 + t - 0.75 * t * t;
+            d2[i] = 1.0 - 1.5 * t;
+        }
+        assertArrayEquals(x, new SavGolKernel(11, 3, 0, delta).apply(x), 1e-9);
+        assertArrayEquals(d1, new SavGolKernel(11, 3, 1, delta).apply(x), 1e-8);
+        assertArrayEquals(d2, new SavGolKernel(11, 4, 2, delta).apply(x), 1e-6);
+    }
+
+    @Test
+    public void testMatchesSavgolFilterAndIsCached() {
+        double[] x = TestSignals.randomSignal(300, 3);
+        SavGolKernel kernel = SavGolKernel.of(9, 3, 1, 0.5);
+        assertSame(kernel, SavGolKernel.of(9, 3, 1, 0.5));
+
+        double[] out = new double[x.length];
+        kernel.apply(x, out);
+        assertArrayEquals(new SavitzkyGolay().savgol_filter(x, 9, 3, 1, 0.5), out, 0.0);
+    }
+
+    @Test
+    public void testParallelPathMatchesRowByRow() {
+        double[] x = TestSignals.randomSignal((1 << 17) + 123, 4);
+        SavGolKernel kernel = SavGolKernel.of(15, 4, 0, 1.0);
+        double[] out = kernel.apply(x);
+
+        int w = kernel.getWindowLength();
+        int half = w / 2;
+        double[] centre = kernel.coefficients(half);
+        Random random = new Random(8);
+        for (int k = 0; k < 2000; k++) {
+            int i = half + random.nextInt(x.length - 2 * half);
+            double expected = 0.0;
+            for (int j = 0; j < w; j++) {
+                expected += centre[j] * x[i - half + j];
+            }
+            assertEquals(expected, out[i], 1e-12);
+        }
+        double[] last = kernel.coefficients(w - 1);
+        double expectedLast = 0.0;
+        for (int j = 0; j < w; j++) {
+            expectedLast += last[j] * x[x.length - w + j];
+        }
+        assertEquals(expectedLast, out[x.length - 1], 1e-12);
+    }
+
+    @Test
+    public void testInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> new SavGolKernel(4, 2, 0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new SavGolKernel(5, 5, 0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new SavGolKernel(5, 2, 3, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new SavGolKernel(5, 2, 0, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new SavGolKernel(5, 2, 0, 1.0).apply(new double[3]));
+        assertThrows(IllegalArgumentException.class, () -> new SavGolKernel(5, 2, 0, 1.0).coefficients(5));
+    }
+}
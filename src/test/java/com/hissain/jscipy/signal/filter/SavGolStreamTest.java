@@ -0,0 +1,75 @@
+package com.hissain.jscipy.signal.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SavGolStreamTest {
+
+    @Test
+    public void testStreamPlusFlushEqualsBatch() {
+        double[] x = TestSignals.randomSignal(400, 1);
+        int[][] params = { { 5, 2, 0 }, { 11, 3, 1 }, { 21, 4, 2 } };
+        for (int[] p : params) {
+            double[] expected = new SavitzkyGolay().savgol_filter(x, p[0], p[1], p[2], 0.01);
+
+            SavGolStream stream = new SavGolStream(p[0], p[1], p[2], 0.01);
+            double[] head = stream.process(x);
+            double[] tail = stream.flush();
+            assertEquals(x.length - p[0] / 2, head.length);
+            assertEquals(p[0] / 2, tail.length);
+
+            double[] actual = new double[x.length];
+            System.arraycopy(head, 0, actual, 0, head.length);
+            System.arraycopy(tail, 0, actual, head.length, tail.length);
+            assertArrayEquals(expected, actual, 1e-12);
+        }
+    }
+
+    @Test
+    public void testBlockSplittingIsTransparent() {
+        double[] x = TestSignals.randomSignal(777, 2);
+        SavGolStream whole = new SavGolStream(15, 3, 1, 1.0);
+        double[] expected = whole.process(x);
+
+        SavGolStream streaming = new SavGolStream(15, 3, 1, 1.0);
+        Random random = new Random(3);
+        double[] out = new double[expected.length];
+        int written = 0;
+        for (int start = 0; start < x.length;) {
+            int len = Math.min(x.length - start, random.nextInt(12));
+            int expectedCount = streaming.outputSize(len);
+            int count = streaming.process(x, start, len, out, written);
+            assertEquals(expectedCount, count);
+            written += count;
+            start += len;
+        }
+        assertEquals(expected.length, written);
+        assertArrayEquals(expected, out, 0.0);
+    }
+
+    @Test
+    public void testLatencyIsHalfWindow() {
+        SavGolStream stream = new SavGolStream(9, 2, 0, 1.0);
+        assertEquals(4, stream.getDelay());
+        assertEquals(0, stream.process(new double[8]).length);
+        // The ninth sample completes the first window: outputs 0..4.
+        assertEquals(5, stream.process(new double[1]).length);
+        assertEquals(1, stream.process(new double[1]).length);
+    }
+
+    @Test
+    public void testFlushRequiresFullWindowAndResets() {
+        SavGolStream stream = new SavGolStream(7, 2, 0, 1.0);
+        stream.process(new double[6]);
+        assertThrows(IllegalStateException.class, stream::flush);
+
+        stream.process(new double[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+        assertEquals(3, stream.flush().length);
+        assertEquals(0, stream.outputSize(6));
+    }
+}
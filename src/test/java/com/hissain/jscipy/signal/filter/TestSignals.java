@@ -0,0 +1,21 @@
+package com.hissain.jscipy.signal.filter;
+
+import java.util.Random;
+
+class TestSignals {
+
+    private TestSignals() {
+    }
+
+    /**
+     * White Gaussian noise of length n from a fixed seed.
+     */
+    static double[] randomSignal(int n, long seed) {
+        Random random = new Random(seed);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextGaussian();
+        }
+        return x;
+    }
+}
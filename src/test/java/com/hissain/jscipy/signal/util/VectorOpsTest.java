@@ -0,0 +1,49 @@
+package com.hissain.jscipy.signal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class VectorOpsTest {
+
+    @Test
+    public void testDotMatchesScalarLoop() {
+        Random random = new Random(7);
+        double[] a = new double[103];
+        double[] b = new double[103];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = random.nextGaussian();
+            b[i] = random.nextGaussian();
+        }
+        for (int length : new int[] { 0, 1, 15, 16, 17, 64, 90 }) {
+            double expected = 0;
+            for (int i = 0; i < length; i++) {
+                expected += a[3 + i] * b[10 + i];
+            }
+            assertEquals(expected, VectorOps.dot(a, 3, b, 10, length), 1e-12, "Length " + length);
+        }
+    }
+
+    @Test
+    public void testMultiplyWithOffsets() {
+        double[] a = new double[50];
+        double[] b = new double[40];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = i;
+        }
+        for (int i = 0; i < b.length; i++) {
+            b[i] = 0.5 * i;
+        }
+        double[] out = new double[45];
+        VectorOps.multiply(a, 5, b, 2, out, 3, 37);
+
+        double[] expected = new double[45];
+        for (int i = 0; i < 37; i++) {
+            expected[3 + i] = a[5 + i] * b[2 + i];
+        }
+        assertArrayEquals(expected, out, 0.0);
+    }
+}